@@ -13,6 +13,11 @@
  */
 package mb.rxui;
 
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
 /**
  * Helper class for Callbacks 
  */
@@ -25,18 +30,7 @@ public enum Callbacks {
      * @return a {@link Runnable} that is guaranteed not to throw any exceptions.
      */
     public static Runnable createSafeCallback(Runnable runnable) {
-        return () -> {
-            try {
-                runnable.run();
-            } catch (Throwable throwable) {
-                // TODO: clearly not the right solution, perhaps we need to have
-                // the exception relayed to some contextual handler. Some
-                // component that is
-                // capable of displaying an error dialog if need be.
-                System.err.println("An exception was caught during a callback");
-                throwable.printStackTrace();
-            }
-        };
+        return () -> runSafeCallback(runnable);
     } 
 
     /**
@@ -44,6 +38,81 @@ public enum Callbacks {
      * @param runnable some {@link Runnable} to execute safely.
      */
     public static void runSafeCallback(Runnable runnable) {
-        createSafeCallback(runnable).run();
+        try {
+            runnable.run();
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+    }
+    
+    /**
+     * Safely calls the provided consumer with the provided value, see
+     * {@link #createSafeCallback(Runnable)}. Unlike
+     * {@link #runSafeCallback(Runnable)} this does not require a capturing
+     * lambda, so nothing is allocated.
+     * 
+     * @param consumer some {@link Consumer} to call safely.
+     * @param value the value to pass to the consumer.
+     */
+    public static <T> void runSafeCallback(Consumer<T> consumer, T value) {
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+    }
+    
+    /**
+     * Safely calls the provided consumer with the provided int, see
+     * {@link #runSafeCallback(Consumer, Object)}. The int is not boxed.
+     * 
+     * @param consumer some {@link IntConsumer} to call safely.
+     * @param value the value to pass to the consumer.
+     */
+    public static void runSafeIntCallback(IntConsumer consumer, int value) {
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+    }
+    
+    /**
+     * Safely calls the provided consumer with the provided long, see
+     * {@link #runSafeCallback(Consumer, Object)}. The long is not boxed.
+     * 
+     * @param consumer some {@link LongConsumer} to call safely.
+     * @param value the value to pass to the consumer.
+     */
+    public static void runSafeLongCallback(LongConsumer consumer, long value) {
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+    }
+    
+    /**
+     * Safely calls the provided consumer with the provided double, see
+     * {@link #runSafeCallback(Consumer, Object)}. The double is not boxed.
+     * 
+     * @param consumer some {@link DoubleConsumer} to call safely.
+     * @param value the value to pass to the consumer.
+     */
+    public static void runSafeDoubleCallback(DoubleConsumer consumer, double value) {
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+    }
+    
+    private static void handleCallbackException(Throwable throwable) {
+        // TODO: clearly not the right solution, perhaps we need to have
+        // the exception relayed to some contextual handler. Some
+        // component that is
+        // capable of displaying an error dialog if need be.
+        System.err.println("An exception was caught during a callback");
+        throwable.printStackTrace();
     }
 }
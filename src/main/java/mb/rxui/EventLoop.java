@@ -17,9 +17,11 @@ import static javafx.application.Platform.isFxApplicationThread;
 import static javax.swing.SwingUtilities.isEventDispatchThread;
 import static mb.rxui.Preconditions.checkState;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
+import mb.rxui.dispatcher.Dispatchers;
 import mb.rxui.disposables.Disposable;
 
 /**
@@ -56,7 +58,8 @@ public interface EventLoop {
     boolean isInEventLoop();
     
     /**
-     * Invokes the provided runnable now.
+     * Invokes the provided runnable now. To measure how long runnables hold
+     * the event loop thread see {@link InstrumentedEventLoop}.
      * 
      * @param runnable
      *            some runnable to run.
@@ -66,10 +69,6 @@ public interface EventLoop {
      */
     default void invokeNow(Runnable runnable) {
         checkInEventLoop();
-        /*
-         * TODO: consider tracking how long it takes to run the runnable and
-         * logging a message if it take too long.
-         */
         runnable.run();
     }
 
@@ -124,6 +123,19 @@ public interface EventLoop {
      */
     Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit);
     
+    /**
+     * Gets the current time of the clock used by
+     * {@link #schedule(Runnable, long, TimeUnit)}. The time has no relation to
+     * the wall clock, it is only meant to measure elapsed time.
+     * 
+     * @param timeUnit
+     *            the time unit in which to return the current time
+     * @return the current time of this event loop's clock.
+     */
+    default long now(TimeUnit timeUnit) {
+        return timeUnit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+    
     /**
      * Gets the name of the event loop thread
      * 
@@ -131,16 +143,42 @@ public interface EventLoop {
      *         "JavaFx Platform" or "Event Disptach"
      */
     String getThreadName();
+    
+    /**
+     * Gets the dispatchers of this event loop. Every dispatcher created on this
+     * event loop's thread belongs to them, so that the dispatchers of
+     * different event loops never interfere with one another.
+     * 
+     * @return the {@link Dispatchers} of this event loop
+     */
+    Dispatchers getDispatchers();
 
     static EventLoop createEventLoop() {
+        return findEventLoop().orElseThrow(() -> new IllegalStateException(
+                "Thread: [" + Thread.currentThread() + "] cannot be used to back a event loop."));
+    }
+    
+    /**
+     * Finds the event loop backed by the current thread. The event loops
+     * registered with the {@link EventLoopRegistry} are considered first, then
+     * the Swing and JavaFx event loops.
+     * 
+     * @return the event loop backed by the current thread, or empty if the
+     *         current thread does not back an event loop.
+     */
+    static Optional<EventLoop> findEventLoop() {
+        Optional<EventLoop> registeredEventLoop = EventLoopRegistry.getRegisteredEventLoop();
+        
+        if (registeredEventLoop.isPresent())
+            return registeredEventLoop;
+        
         if (isEventDispatchThread())
-            return SWING_EVENT_LOOP;
+            return Optional.of(SWING_EVENT_LOOP);
 
         if (isFxApplicationThread())
-            return JAVAFX_EVENT_LOOP;
+            return Optional.of(JAVAFX_EVENT_LOOP);
 
-        throw new IllegalStateException(
-                "Thread: [" + Thread.currentThread() + "] cannot be used to back a event loop.");
+        return Optional.empty();
     }
 
     static final EventLoop SWING_EVENT_LOOP = new SwingEventLoop();
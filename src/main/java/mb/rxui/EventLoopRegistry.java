@@ -0,0 +1,71 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkState;
+
+import java.util.Optional;
+
+import mb.rxui.dispatcher.Dispatchers;
+
+/**
+ * Keeps track of the event loops that are backed by threads other than the
+ * Swing Event Dispatch thread and the JavaFx Platform thread, i.e.
+ * {@link HeadlessEventLoop}. An event loop registers itself from its own
+ * thread, {@link EventLoop#createEventLoop()} consults this registry before
+ * falling back to the UI toolkits.
+ */
+public enum EventLoopRegistry {
+    ; // no instances, helper class
+
+    private static final ThreadLocal<EventLoop> currentEventLoop = new ThreadLocal<>();
+
+    /**
+     * Registers the provided event loop as the event loop backed by the
+     * current thread.
+     * 
+     * @param eventLoop
+     *            some event loop that is backed by the current thread
+     * @throws IllegalStateException
+     *             if another event loop is already registered for the current
+     *             thread
+     */
+    public static void register(EventLoop eventLoop) {
+        requireNonNull(eventLoop);
+        
+        EventLoop registeredEventLoop = currentEventLoop.get();
+        checkState(registeredEventLoop == null || registeredEventLoop == eventLoop,
+                   "Thread: [" + Thread.currentThread() + "] already backs the event loop: " + registeredEventLoop);
+        
+        currentEventLoop.set(eventLoop);
+        Dispatchers.setInstance(eventLoop.getDispatchers());
+    }
+
+    /**
+     * Removes the event loop registered for the current thread, if any.
+     */
+    public static void unregister() {
+        currentEventLoop.remove();
+        Dispatchers.removeInstance();
+    }
+
+    /**
+     * @return the event loop registered for the current thread, or empty if
+     *         none is registered.
+     */
+    public static Optional<EventLoop> getRegisteredEventLoop() {
+        return Optional.ofNullable(currentEventLoop.get());
+    }
+}
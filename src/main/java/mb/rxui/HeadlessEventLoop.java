@@ -0,0 +1,169 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.disposables.DisposableRunnable;
+
+/**
+ * An event loop that is backed by a single thread executor, it does not
+ * require any UI toolkit. This can be used to run properties and event streams
+ * on a server, in batch jobs or in benchmarks.
+ * <p>
+ * The thread of this event loop registers itself with the
+ * {@link EventLoopRegistry}, therefore {@link EventLoop#createEventLoop()}
+ * returns this event loop when called from a runnable executing on it.
+ * <p>
+ * NOTE: Once disposed, the thread of this event loop is shutdown and no more
+ * runnables will be executed, the pending runnables are dropped and the
+ * runnables invoked or scheduled afterwards are ignored.
+ */
+public final class HeadlessEventLoop implements EventLoop, Disposable {
+    
+    private final Dispatchers dispatchers = Dispatchers.create();
+    private final String threadName;
+    private final ScheduledThreadPoolExecutor executor;
+    
+    private volatile Thread thread;
+
+    private HeadlessEventLoop(String threadName) {
+        this.threadName = requireNonNull(threadName);
+        this.executor = new ScheduledThreadPoolExecutor(1, this::createThread);
+        
+        // cancelled runnables are released right away rather than when they are due
+        executor.setRemoveOnCancelPolicy(true);
+    }
+    
+    @Override
+    public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
+        
+        if (isInEventLoop())
+            runnable = dispatchers.wrapRunnableWithCurrentDispatchState(runnable);
+        
+        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        
+        ScheduledFuture<?> future;
+        try {
+            future = executor.schedule(Callbacks.createSafeCallback(disposableRunnable), time, timeUnit);
+        } catch (RejectedExecutionException exception) {
+            // this event loop is disposed
+            return () -> {};
+        }
+        
+        return () -> {
+            disposableRunnable.dispose();
+            future.cancel(false);
+        };
+    }
+
+    @Override
+    public Dispatchers getDispatchers() {
+        return dispatchers;
+    }
+
+    @Override
+    public boolean isInEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public Disposable invokeLater(Runnable runnable) {
+        
+        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        
+        try {
+            executor.execute(Callbacks.createSafeCallback(disposableRunnable));
+        } catch (RejectedExecutionException exception) {
+            // this event loop is disposed
+            return () -> {};
+        }
+        
+        return disposableRunnable;
+    }
+
+    @Override
+    public String getThreadName() {
+        return threadName;
+    }
+    
+    @Override
+    public void dispose() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * @return true if this event loop has been disposed, false otherwise.
+     */
+    public boolean isDisposed() {
+        return executor.isShutdown();
+    }
+    
+    /**
+     * Waits for the thread of this event loop to terminate, once disposed.
+     * 
+     * @param timeout
+     *            the maximum time to wait
+     * @param timeUnit
+     *            the time unit of the timeout
+     * @return true if the thread has terminated, false if the timeout elapsed
+     *         first.
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return executor.awaitTermination(timeout, timeUnit);
+    }
+    
+    private Thread createThread(Runnable runnable) {
+        Thread newThread = new Thread(() -> {
+            EventLoopRegistry.register(this);
+            runnable.run();
+        }, threadName);
+        
+        newThread.setDaemon(true);
+        thread = newThread;
+        
+        return newThread;
+    }
+    
+    /**
+     * Creates a new headless event loop whose thread is named "Headless".
+     * 
+     * @return a new {@link HeadlessEventLoop}
+     */
+    public static HeadlessEventLoop create() {
+        return create("Headless");
+    }
+
+    /**
+     * Creates a new headless event loop.
+     * 
+     * @param threadName
+     *            the name of the thread backing the event loop
+     * @return a new {@link HeadlessEventLoop}
+     */
+    public static HeadlessEventLoop create(String threadName) {
+        return new HeadlessEventLoop(threadName);
+    }
+}
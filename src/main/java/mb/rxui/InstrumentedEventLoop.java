@@ -0,0 +1,281 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+import static mb.rxui.Preconditions.checkState;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.disposables.Disposable;
+
+/**
+ * A event loop that decorates another event loop in order to measure how long
+ * runnables wait in its queue and how long they hold its thread. The
+ * measurements are kept in {@link LatencyHistogram}s, a snapshot of which can
+ * be taken from any thread with {@link #getSnapshot()}.
+ * <p>
+ * Runnables that hold the thread for longer than the stall threshold are
+ * counted as stalls and reported to the {@link StallListener}, if any, with
+ * the runnable that caused them.
+ * <p>
+ * Only the runnables that go through this event loop are measured. Calling
+ * {@link #install()} from the decorated event loop's thread registers this
+ * event loop with the {@link EventLoopRegistry}, so that properties and event
+ * streams created on this thread, which use
+ * {@link EventLoop#createEventLoop()}, are measured as well.
+ */
+public final class InstrumentedEventLoop implements EventLoop {
+
+    private final EventLoop eventLoop;
+    private final long stallThreshold;
+    private final LongSupplier nanoClock;
+    private final LatencyHistogram queueWaitTimes = new LatencyHistogram();
+    private final LatencyHistogram runTimes = new LatencyHistogram();
+    private final AtomicLong stallCount = new AtomicLong();
+
+    private volatile StallListener stallListener;
+    private Optional<EventLoop> uninstalledEventLoop = Optional.empty();
+    private boolean isInstalled = false;
+
+    InstrumentedEventLoop(EventLoop eventLoop, long stallThreshold, TimeUnit timeUnit, LongSupplier nanoClock) {
+        checkArgument(stallThreshold > 0, "The stall threshold must be positive [" + stallThreshold + "]");
+
+        this.eventLoop = requireNonNull(eventLoop);
+        this.stallThreshold = timeUnit.toNanos(stallThreshold);
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    @Override
+    public boolean isInEventLoop() {
+        return eventLoop.isInEventLoop();
+    }
+
+    @Override
+    public void invokeNow(Runnable runnable) {
+        checkInEventLoop();
+        measureRun(runnable);
+    }
+
+    @Override
+    public Disposable invokeNowOrLater(Runnable runnable) {
+        if (isInEventLoop()) {
+            measureRun(runnable);
+            return () -> {};
+        }
+
+        return invokeLater(runnable);
+    }
+
+    @Override
+    public Disposable invokeLater(Runnable runnable) {
+        requireNonNull(runnable);
+        long enqueueTime = nanoClock.getAsLong();
+
+        return eventLoop.invokeLater(() -> measureWaitAndRun(runnable, enqueueTime));
+    }
+
+    @Override
+    public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        requireNonNull(runnable);
+        long dueTime = nanoClock.getAsLong() + timeUnit.toNanos(time);
+
+        return eventLoop.schedule(() -> measureWaitAndRun(runnable, dueTime), time, timeUnit);
+    }
+
+    @Override
+    public long now(TimeUnit timeUnit) {
+        return eventLoop.now(timeUnit);
+    }
+
+    @Override
+    public String getThreadName() {
+        return eventLoop.getThreadName();
+    }
+
+    @Override
+    public Dispatchers getDispatchers() {
+        return eventLoop.getDispatchers();
+    }
+
+    /**
+     * Registers this event loop with the {@link EventLoopRegistry} in place of
+     * the event loop that is registered for the current thread, if any. Must
+     * be called from the decorated event loop's thread.
+     */
+    public void install() {
+        checkInEventLoop();
+        checkState(!isInstalled, "This event loop is already installed");
+
+        uninstalledEventLoop = EventLoopRegistry.getRegisteredEventLoop();
+        EventLoopRegistry.unregister();
+        EventLoopRegistry.register(this);
+        isInstalled = true;
+    }
+
+    /**
+     * Restores the event loop that was registered with the
+     * {@link EventLoopRegistry} before {@link #install()} was called. Must be
+     * called from the decorated event loop's thread.
+     */
+    public void uninstall() {
+        checkInEventLoop();
+
+        if (!isInstalled)
+            return;
+
+        EventLoopRegistry.unregister();
+        uninstalledEventLoop.ifPresent(EventLoopRegistry::register);
+        uninstalledEventLoop = Optional.empty();
+        isInstalled = false;
+    }
+
+    /**
+     * @param stallListener
+     *            some listener to notify of stalls, or null to stop notifying
+     *            stalls. Called on the event loop thread.
+     */
+    public void setStallListener(StallListener stallListener) {
+        this.stallListener = stallListener;
+    }
+
+    /**
+     * @return a snapshot of the measurements taken so far, can be called from
+     *         any thread.
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(queueWaitTimes.getSnapshot(), runTimes.getSnapshot(), stallCount.get());
+    }
+
+    /**
+     * Forgets the measurements taken so far.
+     */
+    public void reset() {
+        queueWaitTimes.reset();
+        runTimes.reset();
+        stallCount.set(0);
+    }
+
+    private void measureWaitAndRun(Runnable runnable, long dueTime) {
+        queueWaitTimes.record(nanoClock.getAsLong() - dueTime);
+        measureRun(runnable);
+    }
+
+    private void measureRun(Runnable runnable) {
+        long startTime = nanoClock.getAsLong();
+
+        try {
+            runnable.run();
+        } finally {
+            long runTime = nanoClock.getAsLong() - startTime;
+            runTimes.record(runTime);
+
+            if (runTime >= stallThreshold)
+                onStall(runnable, runTime);
+        }
+    }
+
+    private void onStall(Runnable runnable, long runTime) {
+        stallCount.incrementAndGet();
+
+        StallListener listener = stallListener;
+        if (listener != null)
+            Callbacks.runSafeCallback(() -> listener.onStall(runnable, runTime, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Creates an instrumented event loop.
+     *
+     * @param eventLoop
+     *            the event loop to instrument
+     * @param stallThreshold
+     *            the run time from which a runnable is considered to stall the
+     *            event loop
+     * @param timeUnit
+     *            the time unit of the stall threshold
+     * @return a new {@link InstrumentedEventLoop}
+     */
+    public static InstrumentedEventLoop instrument(EventLoop eventLoop, long stallThreshold, TimeUnit timeUnit) {
+        return new InstrumentedEventLoop(eventLoop, stallThreshold, timeUnit, System::nanoTime);
+    }
+
+    /**
+     * A listener of event loop stalls.
+     */
+    @FunctionalInterface
+    public interface StallListener {
+        /**
+         * Called after a runnable held the event loop thread for longer than
+         * the stall threshold.
+         *
+         * @param runnable
+         *            the runnable that stalled the event loop
+         * @param runTime
+         *            how long the runnable held the event loop thread
+         * @param timeUnit
+         *            the time unit of the run time
+         */
+        void onStall(Runnable runnable, long runTime, TimeUnit timeUnit);
+    }
+
+    /**
+     * A snapshot of the measurements of an {@link InstrumentedEventLoop}.
+     */
+    public static final class Snapshot {
+        private final LatencyHistogram.Snapshot queueWaitTimes;
+        private final LatencyHistogram.Snapshot runTimes;
+        private final long stallCount;
+
+        private Snapshot(LatencyHistogram.Snapshot queueWaitTimes, LatencyHistogram.Snapshot runTimes, long stallCount) {
+            this.queueWaitTimes = queueWaitTimes;
+            this.runTimes = runTimes;
+            this.stallCount = stallCount;
+        }
+
+        /**
+         * @return how long runnables waited between being due and starting to
+         *         run, runnables that were invoked immediately are not counted.
+         */
+        public LatencyHistogram.Snapshot getQueueWaitTimes() {
+            return queueWaitTimes;
+        }
+
+        /**
+         * @return how long runnables held the event loop thread
+         */
+        public LatencyHistogram.Snapshot getRunTimes() {
+            return runTimes;
+        }
+
+        /**
+         * @return the number of runnables that ran for longer than the stall
+         *         threshold
+         */
+        public long getStallCount() {
+            return stallCount;
+        }
+
+        @Override
+        public String toString() {
+            return "EventLoop Snapshot [queueWaitTimes=" + queueWaitTimes +
+                   ", runTimes=" + runTimes +
+                   ", stallCount=" + stallCount + "]";
+        }
+    }
+}
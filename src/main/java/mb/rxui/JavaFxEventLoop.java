@@ -17,19 +17,29 @@ import static mb.rxui.Preconditions.checkArgument;
 
 import java.util.concurrent.TimeUnit;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.util.Duration;
 import mb.rxui.dispatcher.Dispatchers;
 import mb.rxui.disposables.Disposable;
-import mb.rxui.disposables.DisposableRunnable;
 
 /**
  * A event loop that can be used for JavaFx applications.
+ * <p>
+ * Scheduled runnables are kept in a single {@link PulseScheduler} that is
+ * driven by an {@link AnimationTimer}, rather than playing a
+ * {@link javafx.animation.Timeline} per scheduled runnable. The animation
+ * timer only runs while runnables are scheduled, since a running animation
+ * timer requests a pulse for every frame.
  */
 public class JavaFxEventLoop implements EventLoop {
 
+    private final Dispatchers dispatchers = Dispatchers.create();
+    private final MicroTaskQueue microTasks = new MicroTaskQueue(Platform::runLater);
+    private final PulseScheduler scheduler = new PulseScheduler(this::startPulse, this::stopPulse);
+    
+    // created lazily on the Platform thread, since it requires the JavaFx toolkit
+    private AnimationTimer pulse;
+
     @Override
     public String getThreadName() {
         return "JavaFx Platform";
@@ -39,15 +49,14 @@ public class JavaFxEventLoop implements EventLoop {
     public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
         checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
         
-        runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
-        
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        runnable = dispatchers.wrapRunnableWithCurrentDispatchState(runnable);
         
-        Timeline timeLine = new Timeline(new KeyFrame(Duration.millis(timeUnit.toMillis(time)), 
-                                                      event -> disposableRunnable.run()));
-        timeLine.play();
-        
-        return disposableRunnable;
+        return scheduler.schedule(runnable, time, timeUnit);
+    }
+
+    @Override
+    public Dispatchers getDispatchers() {
+        return dispatchers;
     }
 
     @Override
@@ -57,11 +66,37 @@ public class JavaFxEventLoop implements EventLoop {
 
     @Override
     public Disposable invokeLater(Runnable runnable) {
+        return microTasks.enqueue(runnable);
+    }
+
+    private void startPulse() {
+        if (isInEventLoop())
+            getPulse().start();
+        else
+            Platform.runLater(() -> getPulse().start());
+    }
+
+    private void stopPulse() {
+        if (isInEventLoop())
+            getPulse().stop();
+        else
+            // a runnable may have been scheduled in the meantime
+            Platform.runLater(() -> {
+                if (scheduler.getTaskCount() == 0)
+                    getPulse().stop();
+            });
+    }
+
+    private AnimationTimer getPulse() {
+        if (pulse == null) {
+            pulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    scheduler.runDueTasks();
+                }
+            };
+        }
         
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
-        
-        Platform.runLater(disposableRunnable);
-        
-        return disposableRunnable;
+        return pulse;
     }
 }
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies, in nanoseconds, in the style of an HDR
+ * histogram. Values are counted in log-linear buckets, every power of two is
+ * split into 16 linear sub-buckets, so that recorded values are kept with a
+ * relative precision of about 6% over the whole range of a long, in a fixed
+ * amount of memory.
+ * <p>
+ * Recording a value is wait free and does not allocate, therefore values can
+ * be recorded from any thread, i.e. the event loop thread, while another
+ * thread takes snapshots.
+ * <p>
+ * NOTE: A {@link Snapshot} is not atomic with respect to concurrent
+ * recordings, a value recorded while a snapshot is taken may or may not be
+ * part of it.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos
+     *            some latency in nanoseconds, negative latencies are recorded
+     *            as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts.incrementAndGet(bucketIndex(value));
+        sum.addAndGet(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value));
+    }
+
+    /**
+     * @return a snapshot of the values recorded so far.
+     */
+    public Snapshot getSnapshot() {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        for (int index = 0; index < BUCKET_COUNT; index++)
+            bucketCounts[index] = counts.get(index);
+
+        return new Snapshot(bucketCounts, sum.get(), max.get());
+    }
+
+    /**
+     * Forgets all the values recorded so far.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++)
+            counts.set(index, 0);
+
+        sum.set(0);
+        max.set(0);
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKET_COUNT)
+            return (int) value;
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the highest value that is counted in the provided bucket
+     */
+    private static long highestValue(int bucketIndex) {
+        if (bucketIndex < LINEAR_BUCKET_COUNT)
+            return bucketIndex;
+
+        // the upper bound of the top bucket overflows
+        if (bucketIndex == BUCKET_COUNT - 1)
+            return Long.MAX_VALUE;
+
+        int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        long subBucket = bucketIndex % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable snapshot of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] bucketCounts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] bucketCounts, long sum, long max) {
+            this.bucketCounts = bucketCounts;
+            this.sum = sum;
+            this.max = max;
+
+            long count = 0;
+            for (long bucketCount : bucketCounts)
+                count += bucketCount;
+            this.count = count;
+        }
+
+        /**
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @param timeUnit
+         *            the time unit in which to return the value
+         * @return the highest recorded value, or zero if no values were
+         *         recorded.
+         */
+        public long getMax(TimeUnit timeUnit) {
+            return timeUnit.convert(max, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param timeUnit
+         *            the time unit in which to return the value
+         * @return the mean of the recorded values, or zero if no values were
+         *         recorded.
+         */
+        public double getMean(TimeUnit timeUnit) {
+            if (count == 0)
+                return 0;
+
+            return (double) sum / count / TimeUnit.NANOSECONDS.convert(1, timeUnit);
+        }
+
+        /**
+         * Gets the value below which the provided percentage of the recorded
+         * values fall, within the precision of the histogram.
+         *
+         * @param percentile
+         *            some percentile between 0 and 100, i.e. 99.9
+         * @param timeUnit
+         *            the time unit in which to return the value
+         * @return the value at the provided percentile, or zero if no values
+         *         were recorded.
+         * @throws IllegalArgumentException
+         *             if the percentile is not between 0 and 100
+         */
+        public long getValueAtPercentile(double percentile, TimeUnit timeUnit) {
+            checkArgument(percentile >= 0 && percentile <= 100, "Invalid percentile [" + percentile + "]");
+
+            long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long cumulativeCount = 0;
+
+            for (int index = 0; index < bucketCounts.length; index++) {
+                cumulativeCount += bucketCounts[index];
+
+                if (cumulativeCount >= countAtPercentile)
+                    return timeUnit.convert(Math.min(highestValue(index), max), TimeUnit.NANOSECONDS);
+            }
+
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "[count=" + count +
+                   ", mean=" + getMean(TimeUnit.MICROSECONDS) + "us" +
+                   ", p50=" + getValueAtPercentile(50, TimeUnit.MICROSECONDS) + "us" +
+                   ", p99=" + getValueAtPercentile(99, TimeUnit.MICROSECONDS) + "us" +
+                   ", p99.9=" + getValueAtPercentile(99.9, TimeUnit.MICROSECONDS) + "us" +
+                   ", max=" + getMax(TimeUnit.MICROSECONDS) + "us]";
+        }
+    }
+}
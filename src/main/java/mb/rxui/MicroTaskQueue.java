@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import mb.rxui.disposables.Disposable;
+import mb.rxui.disposables.DisposableRunnable;
+
+/**
+ * A queue of tasks that are executed in batches by a single task posted to a
+ * toolkit's event queue, i.e. {@code SwingUtilities.invokeLater}. Instead of
+ * posting one toolkit task per call to {@link EventLoop#invokeLater(Runnable)},
+ * a toolkit task is only posted when the first task of a batch is enqueued.
+ * All the tasks enqueued until it runs are executed by it, in the order they
+ * were enqueued.
+ * <p>
+ * Producers push tasks onto a lock-free stack with a single compare and set,
+ * the toolkit task takes the whole stack at once. Tasks enqueued while a batch
+ * is executing are executed by the next toolkit task, so that a task that
+ * keeps enqueuing tasks cannot starve the toolkit's event queue.
+ * <p>
+ * NOTE: A batch runs as a single toolkit task. Therefore tasks enqueued
+ * through this queue can run ahead of toolkit tasks that were posted directly
+ * to the toolkit after the first task of the batch was enqueued.
+ */
+public final class MicroTaskQueue {
+    
+    private final Executor toolkitExecutor;
+    private final AtomicReference<Node> pendingTasks = new AtomicReference<>();
+    private final Runnable drainTask = this::drain;
+    
+    /**
+     * @param toolkitExecutor
+     *            executor that posts a task to the toolkit's event queue
+     */
+    public MicroTaskQueue(Executor toolkitExecutor) {
+        this.toolkitExecutor = requireNonNull(toolkitExecutor);
+    }
+    
+    /**
+     * Adds a task to this queue. Can be called from any thread.
+     * 
+     * @param task
+     *            some task to execute
+     * @return a {@link Disposable} that can be used to cancel the execution of
+     *         the task should it not have already been executed.
+     */
+    public Disposable enqueue(Runnable task) {
+        DisposableRunnable disposableTask = new DisposableRunnable(task);
+        Node node = new Node(disposableTask);
+        
+        Node head;
+        do {
+            head = pendingTasks.get();
+            node.next = head;
+        } while (!pendingTasks.compareAndSet(head, node));
+        
+        // only the first task of a batch posts a toolkit task
+        if (head == null)
+            toolkitExecutor.execute(drainTask);
+        
+        return disposableTask;
+    }
+    
+    private void drain() {
+        Node node = reverse(pendingTasks.getAndSet(null));
+        
+        while (node != null) {
+            runSafeCallback(node.task);
+            node = node.next;
+        }
+    }
+    
+    /**
+     * Reverses the stack of tasks so that they are executed in the order they
+     * were enqueued.
+     */
+    private static Node reverse(Node head) {
+        Node reversed = null;
+        
+        while (head != null) {
+            Node next = head.next;
+            head.next = reversed;
+            reversed = head;
+            head = next;
+        }
+        
+        return reversed;
+    }
+    
+    private static final class Node {
+        private final Runnable task;
+        private Node next;
+        
+        private Node(Runnable task) {
+            this.task = task;
+        }
+    }
+}
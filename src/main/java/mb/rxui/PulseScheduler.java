@@ -0,0 +1,194 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import mb.rxui.disposables.Disposable;
+
+/**
+ * A scheduler that keeps its tasks in a heap ordered by deadline and executes
+ * them on the pulses of some ticker, i.e. a JavaFx
+ * {@link javafx.animation.AnimationTimer}. Every call to {@link #runDueTasks()}
+ * executes all the tasks that are due in one go, in the order they are due,
+ * tasks that are due at the same time are executed in the order they were
+ * scheduled.
+ * <p>
+ * The ticker is started when the first task is scheduled and stopped once no
+ * tasks are left, so that an idle scheduler does not request any pulses.
+ * <p>
+ * Cancelling a task only marks it as cancelled, cancelled tasks are skipped
+ * when they are due. Once cancelled tasks make up more than half of the heap
+ * they are purged, which keeps the heap small when the same task keeps being
+ * re-scheduled, i.e. by a debounce.
+ * <p>
+ * NOTE: Tasks can be scheduled and cancelled from any thread, they are always
+ * executed by the thread that calls {@link #runDueTasks()}. Tasks are never
+ * executed early, but can be executed up to one pulse late.
+ */
+public final class PulseScheduler {
+
+    private static final int MIN_PURGE_SIZE = 64;
+
+    private static final Comparator<ScheduledTask> DEADLINE_COMPARATOR =
+            Comparator.<ScheduledTask>comparingLong(task -> task.deadline)
+                      .thenComparingLong(task -> task.sequence);
+
+    private final PriorityQueue<ScheduledTask> deadlineHeap = new PriorityQueue<>(DEADLINE_COMPARATOR);
+    private final List<ScheduledTask> dueTasks = new ArrayList<>();
+    private final Runnable startTicker;
+    private final Runnable stopTicker;
+    private final LongSupplier nanoClock;
+
+    private long sequence = 0;
+    private int cancelledCount = 0;
+
+    /**
+     * @param startTicker
+     *            called when the scheduler needs to be pulsed
+     * @param stopTicker
+     *            called when the scheduler no longer needs to be pulsed
+     */
+    public PulseScheduler(Runnable startTicker, Runnable stopTicker) {
+        this(startTicker, stopTicker, System::nanoTime);
+    }
+
+    PulseScheduler(Runnable startTicker, Runnable stopTicker, LongSupplier nanoClock) {
+        this.startTicker = requireNonNull(startTicker);
+        this.stopTicker = requireNonNull(stopTicker);
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param runnable
+     *            some runnable to execute once the delay has elapsed
+     * @param delay
+     *            the delay after which to execute the runnable
+     * @param timeUnit
+     *            the time unit of the delay
+     * @return a {@link Disposable} that cancels the task, should it not have
+     *         already been executed.
+     */
+    public Disposable schedule(Runnable runnable, long delay, TimeUnit timeUnit) {
+        checkArgument(delay >= 0, "Cannot schedule a runnable with a negative delay [" + delay + "]");
+
+        long deadline = nanoClock.getAsLong() + timeUnit.toNanos(delay);
+        ScheduledTask task = new ScheduledTask(requireNonNull(runnable), deadline);
+
+        synchronized (this) {
+            task.sequence = sequence++;
+            deadlineHeap.add(task);
+
+            if (deadlineHeap.size() == 1)
+                startTicker.run();
+        }
+
+        return task;
+    }
+
+    /**
+     * Executes all the tasks that are due, should be called on every pulse of
+     * the ticker. Tasks scheduled while the due tasks are executing are
+     * executed on a later pulse.
+     */
+    public void runDueTasks() {
+        long now = nanoClock.getAsLong();
+
+        synchronized (this) {
+            while (!deadlineHeap.isEmpty() && deadlineHeap.peek().deadline <= now) {
+                ScheduledTask task = deadlineHeap.poll();
+
+                if (task.isCancelled)
+                    cancelledCount--;
+                else
+                    dueTasks.add(task);
+
+                task.isDone = true;
+            }
+
+            if (deadlineHeap.isEmpty())
+                stopTicker.run();
+        }
+
+        try {
+            // executed outside of the lock, in the order they are due.
+            for (int index = 0; index < dueTasks.size(); index++) {
+                ScheduledTask task = dueTasks.get(index);
+                if (!task.isCancelled)
+                    runSafeCallback(task.runnable);
+            }
+        } finally {
+            dueTasks.clear();
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting to be executed, including the
+     *         cancelled tasks that have not been purged yet.
+     */
+    public synchronized int getTaskCount() {
+        return deadlineHeap.size();
+    }
+
+    private synchronized void cancel(ScheduledTask task) {
+        if (task.isCancelled)
+            return;
+
+        task.isCancelled = true;
+
+        // a task that is done is no longer in the heap
+        if (task.isDone)
+            return;
+
+        cancelledCount++;
+
+        if (deadlineHeap.size() >= MIN_PURGE_SIZE && cancelledCount > deadlineHeap.size() / 2) {
+            deadlineHeap.removeIf(scheduledTask -> scheduledTask.isCancelled);
+            cancelledCount = 0;
+
+            if (deadlineHeap.isEmpty())
+                stopTicker.run();
+        }
+    }
+
+    private final class ScheduledTask implements Disposable {
+        private final Runnable runnable;
+        private final long deadline;
+
+        private long sequence;
+        private volatile boolean isCancelled;
+        private boolean isDone;
+
+        private ScheduledTask(Runnable runnable, long deadline) {
+            this.runnable = runnable;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void dispose() {
+            cancel(this);
+        }
+    }
+}
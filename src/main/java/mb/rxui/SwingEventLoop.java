@@ -22,26 +22,37 @@ import javax.swing.Timer;
 
 import mb.rxui.dispatcher.Dispatchers;
 import mb.rxui.disposables.Disposable;
-import mb.rxui.disposables.DisposableRunnable;
 
 /**
  * A event loop that should be used for Swing/AWT applications.
+ * <p>
+ * Scheduled runnables are kept in a single {@link TimerWheel} that is ticked
+ * on the event dispatch thread by one repeating {@link Timer}, rather than
+ * creating a {@link Timer} per scheduled runnable.
  */
 public final class SwingEventLoop implements EventLoop {
+    
+    private static final int TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Dispatchers dispatchers = Dispatchers.create();
+    private final MicroTaskQueue microTasks = new MicroTaskQueue(SwingUtilities::invokeLater);
+    private final Timer ticker = new Timer(TICK_MILLIS, event -> expireTimeouts());
+    private final TimerWheel timerWheel = 
+            new TimerWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE, ticker::start, ticker::stop);
 
     @Override
     public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
         checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
         
-        runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
-        
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
-        
-        Timer timer = new Timer((int)timeUnit.toMillis(time), event -> disposableRunnable.run());
-        timer.setRepeats(false);
-        timer.start();
+        runnable = dispatchers.wrapRunnableWithCurrentDispatchState(runnable);
         
-        return disposableRunnable;
+        return timerWheel.schedule(runnable, time, timeUnit);
+    }
+
+    @Override
+    public Dispatchers getDispatchers() {
+        return dispatchers;
     }
 
     @Override
@@ -51,15 +62,14 @@ public final class SwingEventLoop implements EventLoop {
 
     @Override
     public Disposable invokeLater(Runnable runnable) {
-        
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
-        
-        SwingUtilities.invokeLater(disposableRunnable);
-        
-        return disposableRunnable;
+        return microTasks.enqueue(runnable);
     }
 
     public String getThreadName() {
         return "Event Dispatch";
     }
+    
+    private void expireTimeouts() {
+        timerWheel.expireTimeouts();
+    }
 }
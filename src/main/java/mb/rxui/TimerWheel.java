@@ -0,0 +1,257 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import mb.rxui.disposables.Disposable;
+
+/**
+ * A hashed timer wheel, that executes timeouts with a resolution of one tick.
+ * <p>
+ * Timeouts are kept in a ring of buckets, one bucket per tick, each bucket is
+ * a doubly linked list. Therefore scheduling and cancelling a timeout are O(1)
+ * and all the timeouts that are due within the same tick are executed
+ * together by a single call to {@link #expireTimeouts()}. Timeouts that are
+ * due further than one revolution of the wheel away wait in their bucket for
+ * the remaining number of revolutions.
+ * <p>
+ * The wheel does not keep a thread of its own, it is driven by some ticker
+ * that calls {@link #expireTimeouts()} on the event loop once per tick, i.e.
+ * a repeating {@link javax.swing.Timer}. The ticker is started when the first
+ * timeout is scheduled and stopped once no timeouts are left, so that an idle
+ * wheel costs nothing.
+ * <p>
+ * NOTE: Timeouts can be scheduled and cancelled from any thread, they are
+ * always executed by the thread that calls {@link #expireTimeouts()}.
+ * Timeouts are never executed early, but can be executed up to one tick late.
+ */
+public final class TimerWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] buckets;
+    private final LongSupplier nanoClock;
+    private final Runnable startTicker;
+    private final Runnable stopTicker;
+    private final long startTime;
+
+    private long currentTick = 0;
+    private int timeoutCount = 0;
+    private Timeout expiredHead;
+    private Timeout expiredTail;
+
+    /**
+     * @param tickDuration
+     *            the duration of one tick of the wheel
+     * @param timeUnit
+     *            the time unit of the tick duration
+     * @param wheelSize
+     *            the number of buckets in the wheel, rounded up to the next
+     *            power of two
+     * @param startTicker
+     *            called when the wheel needs to be ticked
+     * @param stopTicker
+     *            called when the wheel no longer needs to be ticked
+     */
+    public TimerWheel(long tickDuration, TimeUnit timeUnit, int wheelSize, Runnable startTicker, Runnable stopTicker) {
+        this(tickDuration, timeUnit, wheelSize, startTicker, stopTicker, System::nanoTime);
+    }
+
+    TimerWheel(long tickDuration, TimeUnit timeUnit, int wheelSize, Runnable startTicker, Runnable stopTicker, LongSupplier nanoClock) {
+        checkArgument(tickDuration > 0, "The tick duration must be positive [" + tickDuration + "]");
+        checkArgument(wheelSize > 0 && wheelSize <= 1 << 30, "Invalid wheel size [" + wheelSize + "]");
+
+        this.tickNanos = timeUnit.toNanos(tickDuration);
+        this.buckets = new Bucket[roundToPowerOfTwo(wheelSize)];
+        this.mask = buckets.length - 1;
+        this.startTicker = requireNonNull(startTicker);
+        this.stopTicker = requireNonNull(stopTicker);
+        this.nanoClock = requireNonNull(nanoClock);
+        this.startTime = nanoClock.getAsLong();
+
+        for (int index = 0; index < buckets.length; index++)
+            buckets[index] = new Bucket();
+    }
+
+    /**
+     * Schedules a timeout.
+     *
+     * @param runnable
+     *            some runnable to execute once the delay has elapsed
+     * @param delay
+     *            the delay after which to execute the runnable
+     * @param timeUnit
+     *            the time unit of the delay
+     * @return a {@link Disposable} that cancels the timeout, should it not
+     *         have already been executed.
+     */
+    public Disposable schedule(Runnable runnable, long delay, TimeUnit timeUnit) {
+        checkArgument(delay >= 0, "Cannot schedule a runnable with a negative delay [" + delay + "]");
+
+        Timeout timeout = new Timeout(requireNonNull(runnable));
+        long elapsed = nanoClock.getAsLong() - startTime;
+
+        synchronized (this) {
+            if (timeoutCount == 0) {
+                // the ticks of an idle wheel are not processed, skip them
+                currentTick = Math.max(currentTick, elapsed / tickNanos);
+                startTicker.run();
+            }
+
+            // round up, so that the timeout is never executed early
+            long deadline = elapsed + timeUnit.toNanos(delay);
+            long deadlineTick = Math.max(currentTick, (deadline + tickNanos - 1) / tickNanos);
+
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+            timeoutCount++;
+        }
+
+        return timeout;
+    }
+
+    /**
+     * Executes all the timeouts that are due, should be called once per tick
+     * by the ticker.
+     */
+    public void expireTimeouts() {
+        long tick = (nanoClock.getAsLong() - startTime) / tickNanos;
+        Timeout expired;
+
+        synchronized (this) {
+            while (currentTick <= tick && timeoutCount > 0) {
+                buckets[(int) (currentTick & mask)].expire();
+                currentTick++;
+            }
+
+            if (timeoutCount == 0)
+                stopTicker.run();
+
+            expired = expiredHead;
+            expiredHead = null;
+            expiredTail = null;
+        }
+
+        // executed outside of the lock, in the order they expired.
+        for (Timeout timeout = expired; timeout != null; timeout = timeout.next) {
+            if (!timeout.isDisposed)
+                runSafeCallback(timeout.runnable);
+        }
+    }
+
+    /**
+     * @return the number of timeouts waiting to be executed.
+     */
+    public synchronized int getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        int powerOfTwo = 1;
+        while (powerOfTwo < value)
+            powerOfTwo <<= 1;
+        return powerOfTwo;
+    }
+
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+
+            if (tail == null)
+                head = timeout;
+            else
+                tail.next = timeout;
+
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null)
+                head = timeout.next;
+            else
+                timeout.previous.next = timeout.next;
+
+            if (timeout.next == null)
+                tail = timeout.previous;
+            else
+                timeout.next.previous = timeout.previous;
+
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+            timeoutCount--;
+        }
+
+        /**
+         * Moves the timeouts of this bucket that are due in this revolution of
+         * the wheel to the list of expired timeouts.
+         */
+        private void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                } else {
+                    remove(timeout);
+
+                    if (expiredTail == null)
+                        expiredHead = timeout;
+                    else
+                        expiredTail.next = timeout;
+
+                    expiredTail = timeout;
+                }
+
+                timeout = next;
+            }
+        }
+    }
+
+    private final class Timeout implements Disposable {
+        private final Runnable runnable;
+
+        private volatile boolean isDisposed;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void dispose() {
+            isDisposed = true;
+
+            synchronized (TimerWheel.this) {
+                // an expired timeout is no longer in a bucket
+                if (bucket != null)
+                    bucket.remove(this);
+            }
+        }
+    }
+}
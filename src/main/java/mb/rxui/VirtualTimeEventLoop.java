@@ -0,0 +1,214 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.disposables.DisposableRunnable;
+
+/**
+ * A event loop whose clock only moves when told to, see
+ * {@link #advanceTimeBy(long, TimeUnit)} and
+ * {@link #advanceTimeTo(long, TimeUnit)}. Runnables are kept in a timer queue
+ * and executed deterministically on the thread that advances the time, in the
+ * order they are due, runnables that are due at the same time are executed in
+ * the order they were scheduled.
+ * <p>
+ * This makes it possible to test and benchmark time based pipelines, i.e.
+ * {@link mb.rxui.event.EventStream#debounce(long, TimeUnit)}, at CPU speed.
+ * <p>
+ * NOTE: A virtual time event loop is backed by the thread that created it, it
+ * registers itself with the {@link EventLoopRegistry} for this thread until it
+ * is disposed. All of its methods must be called from this thread.
+ */
+public final class VirtualTimeEventLoop implements EventLoop, Disposable {
+    
+    private static final Comparator<ScheduledRunnable> DUE_TIME_COMPARATOR = 
+            Comparator.<ScheduledRunnable>comparingLong(runnable -> runnable.dueTime)
+                      .thenComparingLong(runnable -> runnable.sequence);
+    
+    private final Dispatchers dispatchers = Dispatchers.create();
+    private final PriorityQueue<ScheduledRunnable> timerQueue = new PriorityQueue<>(DUE_TIME_COMPARATOR);
+    private final Thread thread;
+    
+    private long now = 0;
+    private long sequence = 0;
+    private boolean isDisposed = false;
+    
+    private VirtualTimeEventLoop() {
+        this.thread = Thread.currentThread();
+        EventLoopRegistry.register(this);
+    }
+
+    @Override
+    public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        checkInEventLoop();
+        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
+        
+        runnable = dispatchers.wrapRunnableWithCurrentDispatchState(runnable);
+        
+        return enqueue(runnable, now + timeUnit.toNanos(time));
+    }
+
+    @Override
+    public Disposable invokeLater(Runnable runnable) {
+        checkInEventLoop();
+        
+        return enqueue(runnable, now);
+    }
+
+    @Override
+    public boolean isInEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public String getThreadName() {
+        return thread.getName();
+    }
+
+    @Override
+    public Dispatchers getDispatchers() {
+        return dispatchers;
+    }
+    
+    /**
+     * Moves the clock forward by the provided amount of time, executing all
+     * the runnables that are due along the way.
+     * 
+     * @param time
+     *            the amount of time to move the clock by
+     * @param timeUnit
+     *            the time unit of the amount of time
+     */
+    public void advanceTimeBy(long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot advance the time by a negative time [" + time + "]");
+        advanceTimeToNanos(now + timeUnit.toNanos(time));
+    }
+    
+    /**
+     * Moves the clock forward to the provided time, executing all the runnables
+     * that are due along the way.
+     * 
+     * @param time
+     *            the time to move the clock to, the clock starts at zero.
+     * @param timeUnit
+     *            the time unit of the time
+     * @throws IllegalArgumentException
+     *             if the provided time is in the past
+     */
+    public void advanceTimeTo(long time, TimeUnit timeUnit) {
+        long nanos = timeUnit.toNanos(time);
+        checkArgument(nanos >= now, "Cannot move the time back to [" + time + " " + timeUnit + "]");
+        advanceTimeToNanos(nanos);
+    }
+    
+    /**
+     * Executes all the runnables that are due now, without moving the clock.
+     */
+    public void triggerActions() {
+        advanceTimeToNanos(now);
+    }
+    
+    /**
+     * @param timeUnit
+     *            the time unit in which to return the current time
+     * @return the current time of this event loop's clock.
+     */
+    @Override
+    public long now(TimeUnit timeUnit) {
+        return timeUnit.convert(now, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * @return the number of runnables waiting in the timer queue, including
+     *         the ones that were disposed.
+     */
+    public int getQueuedCount() {
+        return timerQueue.size();
+    }
+    
+    @Override
+    public void dispose() {
+        checkInEventLoop();
+        
+        if (isDisposed)
+            return;
+        
+        isDisposed = true;
+        timerQueue.clear();
+        EventLoopRegistry.unregister();
+    }
+    
+    /**
+     * @return true if this event loop has been disposed, false otherwise.
+     */
+    public boolean isDisposed() {
+        return isDisposed;
+    }
+    
+    private Disposable enqueue(Runnable runnable, long dueTime) {
+        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        
+        if (!isDisposed)
+            timerQueue.add(new ScheduledRunnable(disposableRunnable, dueTime, sequence++));
+        
+        return disposableRunnable;
+    }
+    
+    private void advanceTimeToNanos(long time) {
+        checkInEventLoop();
+        
+        // runnables scheduled while advancing are executed as well if they are due
+        while (!timerQueue.isEmpty() && timerQueue.peek().dueTime <= time) {
+            ScheduledRunnable scheduledRunnable = timerQueue.poll();
+            now = scheduledRunnable.dueTime;
+            runSafeCallback(scheduledRunnable.runnable);
+        }
+        
+        now = time;
+    }
+    
+    /**
+     * Creates a new virtual time event loop backed by the current thread, its
+     * clock starts at zero.
+     * 
+     * @return a new {@link VirtualTimeEventLoop}
+     * @throws IllegalStateException
+     *             if the current thread already backs an event loop that was
+     *             registered with the {@link EventLoopRegistry}
+     */
+    public static VirtualTimeEventLoop create() {
+        return new VirtualTimeEventLoop();
+    }
+    
+    private static final class ScheduledRunnable {
+        private final Runnable runnable;
+        private final long dueTime;
+        private final long sequence;
+        
+        private ScheduledRunnable(Runnable runnable, long dueTime, long sequence) {
+            this.runnable = runnable;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+    }
+}
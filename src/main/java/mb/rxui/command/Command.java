@@ -0,0 +1,393 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.command;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventStream;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+
+/**
+ * A command executes some work in the background, on an {@link Executor}, and
+ * publishes its results and errors as {@link EventStream}s on the event loop
+ * that created it. This is loosely based on the ReactiveCommand of the
+ * ReactiveUI library.
+ * <p>
+ * The work is the only part of a command that runs off the event loop, it is
+ * passed the parameter of the execution and must not touch any property.
+ * Everything else, including the results, errors, {@link #canExecute()} and
+ * {@link #isExecuting()}, is updated on the event loop, so a command never
+ * calls back into a property on the wrong thread.
+ * <p>
+ * A command runs at most {@code maxConcurrency} executions at a time. What
+ * happens to the executions that are requested while it is busy depends on
+ * its {@link BusyPolicy}. A cancelled execution frees its slot without
+ * waiting for its work to return, even if the work ignores the interrupt.
+ * <p>
+ * NOTE: When an execution is requested from an observer, the properties of
+ * the command are updated once the current dispatch has completed, since
+ * properties can only be set by bindings while dispatching.
+ * <p>
+ * NOTE: A command can only be used from the thread that created it, which
+ * must back an {@link EventLoop}.
+ *
+ * @param <P>
+ *            the type of the parameter of an execution
+ * @param <R>
+ *            the type of the result of an execution
+ */
+public final class Command<P, R> implements Disposable {
+
+    /**
+     * What a command does with the executions that are requested while it is
+     * already running as many executions as it can.
+     */
+    public enum BusyPolicy {
+        /**
+         * The execution is dropped, {@link Command#canExecute()} is false
+         * while the command is busy.
+         */
+        DROP,
+        /**
+         * The execution waits until a running execution completes, unless the
+         * queue of waiting executions is full in which case it is dropped.
+         * {@link Command#canExecute()} is false while the queue is full.
+         */
+        QUEUE
+    }
+
+    private final Function<P, R> work;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final BusyPolicy busyPolicy;
+    private final int queueCapacity;
+    private final EventLoop eventLoop;
+
+    private final PropertyStream<Boolean> condition;
+    private final Property<Boolean> isTooBusy = Property.create(false);
+    private final Property<Boolean> isExecuting = Property.create(false);
+    private final PropertyStream<Boolean> canExecute;
+    private final EventSubject<R> results = EventSubject.create();
+    private final EventSubject<Throwable> errors = EventSubject.create();
+    private final List<Execution> runningExecutions = new ArrayList<>();
+    private final Deque<Execution> queuedExecutions = new ArrayDeque<>();
+
+    private boolean isUpdatePending = false;
+    private boolean isDisposed = false;
+
+    private Command(Builder<P, R> builder) {
+        this.work = builder.work;
+        this.executor = builder.executor;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.busyPolicy = builder.busyPolicy;
+        this.queueCapacity = builder.queueCapacity;
+        this.eventLoop = EventLoop.createEventLoop();
+        this.condition = builder.condition;
+        this.canExecute = PropertyStream.combine(condition, isTooBusy, (isConditionMet, isBusy) -> isConditionMet && !isBusy);
+    }
+
+    /**
+     * Requests an execution of this command, unless it cannot execute, see
+     * {@link #canExecute()}.
+     *
+     * @param parameter
+     *            the parameter to pass to the work
+     * @return a {@link Disposable} that cancels the execution, the work is
+     *         interrupted if it is already running and its result is never
+     *         published.
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that created this
+     *             command
+     */
+    public Disposable execute(P parameter) {
+        eventLoop.checkInEventLoop();
+
+        if (isDisposed || !condition.get() || isTooBusy())
+            return () -> {};
+
+        Execution execution = new Execution(parameter);
+
+        if (runningExecutions.size() < maxConcurrency)
+            start(execution);
+        else
+            queuedExecutions.add(execution);
+
+        updateState();
+
+        return execution;
+    }
+
+    /**
+     * @return a property stream that is true when this command can execute,
+     *         that is when its condition is met and it is not too busy,
+     *         false otherwise.
+     */
+    public PropertyStream<Boolean> canExecute() {
+        return canExecute;
+    }
+
+    /**
+     * @return a property stream that is true while an execution of this
+     *         command is running or queued, false otherwise.
+     */
+    public PropertyStream<Boolean> isExecuting() {
+        return isExecuting.map(Function.identity());
+    }
+
+    /**
+     * @return an event stream of the results of the executions of this
+     *         command, published on the event loop
+     */
+    public EventStream<R> results() {
+        return results.map(Function.identity());
+    }
+
+    /**
+     * @return an event stream of the errors thrown by the executions of this
+     *         command, published on the event loop
+     */
+    public EventStream<Throwable> errors() {
+        return errors.map(Function.identity());
+    }
+
+    /**
+     * Cancels all the executions of this command and completes its streams.
+     */
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+
+        if (isDisposed)
+            return;
+
+        isDisposed = true;
+        queuedExecutions.clear();
+        new ArrayList<>(runningExecutions).forEach(Execution::cancel);
+
+        isTooBusy.dispose();
+        isExecuting.dispose();
+        results.dispose();
+        errors.dispose();
+    }
+
+    private void start(Execution execution) {
+        runningExecutions.add(execution);
+
+        try {
+            executor.execute(execution.task);
+        } catch (RejectedExecutionException exception) {
+            runningExecutions.remove(execution);
+            errors.publish(exception);
+        }
+    }
+
+    private void complete(Execution execution) {
+        if (!runningExecutions.remove(execution))
+            return;
+
+        if (!execution.isCancelled) {
+            try {
+                results.publish(execution.task.get());
+            } catch (ExecutionException exception) {
+                errors.publish(exception.getCause());
+            } catch (CancellationException | InterruptedException exception) {
+                // not published, the execution was cancelled
+            }
+        }
+
+        while (!isDisposed && runningExecutions.size() < maxConcurrency && !queuedExecutions.isEmpty())
+            start(queuedExecutions.poll());
+
+        updateState();
+    }
+
+    private boolean isTooBusy() {
+        if (busyPolicy == BusyPolicy.DROP)
+            return runningExecutions.size() >= maxConcurrency;
+
+        return queuedExecutions.size() >= queueCapacity;
+    }
+
+    private void updateState() {
+        if (isUpdatePending)
+            return;
+
+        if (eventLoop.getDispatchers().isDispatching()) {
+            isUpdatePending = true;
+            eventLoop.invokeLater(this::applyState);
+        } else {
+            applyState();
+        }
+    }
+
+    private void applyState() {
+        isUpdatePending = false;
+
+        if (isDisposed)
+            return;
+
+        isTooBusy.setValue(isTooBusy());
+        isExecuting.setValue(!runningExecutions.isEmpty());
+    }
+
+    /**
+     * Creates a builder of a command.
+     *
+     * @param work
+     *            the work to execute in the background
+     * @param executor
+     *            the executor to execute the work on
+     * @return a new {@link Builder}
+     */
+    public static <P, R> Builder<P, R> builder(Function<P, R> work, Executor executor) {
+        return new Builder<>(work, executor);
+    }
+
+    /**
+     * Creates a command that executes one execution at a time and drops the
+     * executions requested while it is busy.
+     *
+     * @param work
+     *            the work to execute in the background
+     * @param executor
+     *            the executor to execute the work on
+     * @return a new {@link Command}
+     */
+    public static <P, R> Command<P, R> create(Function<P, R> work, Executor executor) {
+        return builder(work, executor).build();
+    }
+
+    /**
+     * A builder of {@link Command}s.
+     */
+    public static final class Builder<P, R> {
+        private final Function<P, R> work;
+        private final Executor executor;
+
+        private PropertyStream<Boolean> condition = PropertyStream.just(true);
+        private int maxConcurrency = 1;
+        private BusyPolicy busyPolicy = BusyPolicy.DROP;
+        private int queueCapacity = 16;
+
+        private Builder(Function<P, R> work, Executor executor) {
+            this.work = requireNonNull(work);
+            this.executor = requireNonNull(executor);
+        }
+
+        /**
+         * @param condition
+         *            the command can only execute while this property stream
+         *            is true
+         * @return this builder
+         */
+        public Builder<P, R> canExecuteWhen(PropertyStream<Boolean> condition) {
+            this.condition = requireNonNull(condition);
+            return this;
+        }
+
+        /**
+         * @param maxConcurrency
+         *            the maximum number of executions that can run at a time,
+         *            one by default
+         * @return this builder
+         */
+        public Builder<P, R> maxConcurrency(int maxConcurrency) {
+            checkArgument(maxConcurrency > 0, "The max concurrency must be positive [" + maxConcurrency + "]");
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @param busyPolicy
+         *            what to do with the executions requested while the
+         *            command is busy, {@link BusyPolicy#DROP} by default
+         * @return this builder
+         */
+        public Builder<P, R> whenBusy(BusyPolicy busyPolicy) {
+            this.busyPolicy = requireNonNull(busyPolicy);
+            return this;
+        }
+
+        /**
+         * @param queueCapacity
+         *            the maximum number of executions that can wait with
+         *            {@link BusyPolicy#QUEUE}, 16 by default
+         * @return this builder
+         */
+        public Builder<P, R> queueCapacity(int queueCapacity) {
+            checkArgument(queueCapacity > 0, "The queue capacity must be positive [" + queueCapacity + "]");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * @return a new {@link Command}
+         * @throws IllegalStateException
+         *             if called from a thread that does not back an event loop
+         */
+        public Command<P, R> build() {
+            return new Command<>(this);
+        }
+    }
+
+    private final class Execution implements Disposable {
+        private final FutureTask<R> task;
+
+        private boolean isCancelled = false;
+
+        private Execution(P parameter) {
+            // the completion is marshalled back to the event loop, even if cancelled
+            this.task = new FutureTask<R>(() -> work.apply(parameter)) {
+                @Override
+                protected void done() {
+                    eventLoop.invokeLater(() -> complete(Execution.this));
+                }
+            };
+        }
+
+        @Override
+        public void dispose() {
+            eventLoop.checkInEventLoop();
+            cancel();
+        }
+
+        private void cancel() {
+            if (isCancelled)
+                return;
+
+            isCancelled = true;
+
+            if (queuedExecutions.remove(this))
+                updateState();
+            else
+                task.cancel(true);
+        }
+    }
+}
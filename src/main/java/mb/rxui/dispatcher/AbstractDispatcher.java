@@ -15,41 +15,68 @@ package mb.rxui.dispatcher;
 
 import static java.util.Objects.requireNonNull;
 import static mb.rxui.Callbacks.runSafeCallback;
-import static mb.rxui.Preconditions.checkState;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 import mb.rxui.Observer;
 import mb.rxui.Subscriber;
+import mb.rxui.dispatcher.SubscriberSegment.Slot;
 import mb.rxui.disposables.Disposable;
 
 public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>, O extends Observer<V>> implements Dispatcher<V, S, O> {
 
-    private final List<S> subscribers;
+    private final boolean bindingsFirst;
+    private final SubscriberSegment<S> firstSegment;
+    private final SubscriberSegment<S> secondSegment;
     private final List<Disposable> disposables;
-    private final Function<S, Consumer<V>> dispatchFunction;
-    private final Function<S, Runnable> disposeFunction;
+    private final BiConsumer<S, V> dispatchFunction;
+    private final Consumer<S> disposeFunction;
     private final Type type;
-    private final List<Runnable> pausedDisptaches;
+    private final Dispatchers dispatchers;
+    private final PropagationEngine propagationEngine;
 
     private boolean isDispatching = false;
     private boolean isDisposed = false;
-    private int pauseCount = 0;
     private boolean dispatchingToBinding = false;
+    private int rank = 0;
+    private long queueSequence = 0;
+    private boolean isQueued = false;
+    private PausedDispatches pausedDispatches;
+    private PausedDispatches resumingDispatches;
     
-    protected AbstractDispatcher(List<S> subscribers, 
-                                 Function<S, Consumer<V>> dispatchFunction, 
-                                 Function<S, Runnable> disposeFunction,
-                                 Type type) {
-        this.subscribers = requireNonNull(subscribers);
+    /**
+     * @param dispatchFunction
+     *            function that dispatches a value to a subscriber
+     * @param disposeFunction
+     *            function that notifies a subscriber that this dispatcher is
+     *            disposed
+     * @param type
+     *            the type of this dispatcher
+     * @param bindingsFirst
+     *            true if bindings should be notified before all other
+     *            subscribers, false if they should be notified after them
+     * @param dispatchers
+     *            the dispatchers that create and register this dispatcher
+     */
+    protected AbstractDispatcher(BiConsumer<S, V> dispatchFunction, 
+                                 Consumer<S> disposeFunction,
+                                 Type type,
+                                 boolean bindingsFirst,
+                                 Dispatchers dispatchers) {
+        this.bindingsFirst = bindingsFirst;
+        this.firstSegment = new SubscriberSegment<>();
+        this.secondSegment = new SubscriberSegment<>();
         this.disposables = new ArrayList<>();
         this.dispatchFunction = requireNonNull(dispatchFunction);
         this.disposeFunction = requireNonNull(disposeFunction);
         this.type = requireNonNull(type);
-        this.pausedDisptaches = new ArrayList<>();
+        this.pausedDispatches = new PausedDispatches(this);
+        this.resumingDispatches = new PausedDispatches(this);
+        this.dispatchers = requireNonNull(dispatchers);
+        this.propagationEngine = dispatchers.getPropagationEngine();
     }
     
     @Override
@@ -59,8 +86,21 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
         
         isDisposed = true;
         
-        new ArrayList<>(subscribers).stream().map(disposeFunction).forEach(Runnable::run);
-        subscribers.clear();
+        Slot<S>[] firstSlots = firstSegment.getSlots();
+        int firstEnd = firstSegment.getEnd();
+        Slot<S>[] secondSlots = secondSegment.getSlots();
+        int secondEnd = secondSegment.getEnd();
+        
+        firstSegment.clear();
+        secondSegment.clear();
+        
+        for (int index = 0; index < firstEnd; index++)
+            if (firstSlots[index] != null)
+                disposeFunction.accept(firstSlots[index].getSubscriber());
+        
+        for (int index = 0; index < secondEnd; index++)
+            if (secondSlots[index] != null)
+                disposeFunction.accept(secondSlots[index].getSubscriber());
         
         disposables.forEach(disposable -> runSafeCallback(disposable::dispose));
         disposables.clear();
@@ -78,26 +118,57 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
 
     @Override
     public void dispatch(V newValue) {
-        checkState(!isDisposed, "Dispatcher has been disposed, cannot dispatch: " + newValue);
-        dispatchOrQueue(createDisptachValueRunnable(newValue));
+        // not using checkState here to avoid building the message on every dispatch
+        if (isDisposed)
+            throw new IllegalStateException("Dispatcher has been disposed, cannot dispatch: " + newValue);
+        
+        propagationEngine.beginDispatch(this);
+        setDispatching(true);
+        try {
+            dispatchToSubscribers(newValue);
+        } finally {
+            setDispatching(false);
+            propagationEngine.endDispatch();
+        }
+        
+        propagationEngine.drainIfIdle();
     }
 
-    private Runnable createDisptachValueRunnable(V newValue) {
-        return () -> {
-            boolean isEventDispatcher = getType() == Dispatcher.Type.EVENT;
-            
-            if (isEventDispatcher)
-                Dispatchers.getInstance().pausePropertyDispatchers();
-            
-            new ArrayList<>(subscribers).stream()
-                                        .map(dispatchFunction)
-                                        .forEach(consumer -> consumer.accept(newValue));
-            
-            if(isEventDispatcher)
-                Dispatchers.getInstance().resumePropertyDispatchers();
-        };
+    private void dispatchToSubscribers(V newValue) {
+        // read both segments first so that subscribers added during this
+        // dispatch are not notified.
+        Slot<S>[] firstSlots = firstSegment.getSlots();
+        int firstEnd = firstSegment.getEnd();
+        Slot<S>[] secondSlots = secondSegment.getSlots();
+        int secondEnd = secondSegment.getEnd();
+        
+        for (int index = 0; index < firstEnd; index++) {
+            Slot<S> slot = firstSlots[index];
+            if (slot != null)
+                dispatchFunction.accept(slot.getSubscriber(), newValue);
+        }
+        
+        for (int index = 0; index < secondEnd; index++) {
+            Slot<S> slot = secondSlots[index];
+            if (slot != null)
+                dispatchFunction.accept(slot.getSubscriber(), newValue);
+        }
     }
-
+    
+    /**
+     * Adds a subscriber to this dispatcher. Bindings and other subscribers are
+     * kept in separate segments, within a segment subscribers are notified in
+     * the order they were added.
+     * 
+     * @param subscriber
+     *            the subscriber to add
+     * @return the slot that can be used to remove the subscriber in constant
+     *         time
+     */
+    Slot<S> addSubscriber(S subscriber) {
+        return subscriber.isBinding() == bindingsFirst ? firstSegment.add(subscriber) : secondSegment.add(subscriber);
+    }
+    
     @Override
     public boolean isDispatching() {
         return isDispatching;
@@ -112,7 +183,11 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
      *            the new dispatching state to set for this dispatcher
      */
     void setDispatching( boolean isDispatching ) {
+        if (this.isDispatching == isDispatching)
+            return;
+        
         this.isDispatching = isDispatching;
+        dispatchers.onDispatchingChanged(this, isDispatching);
     }
     
     @Override
@@ -122,7 +197,7 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
     
     @Override
     public int getSubscriberCount() {
-        return subscribers.size();
+        return firstSegment.size() + secondSegment.size();
     }
     
     @Override
@@ -130,58 +205,155 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
         return type;
     }
     
-    protected void dispatchOrQueue(Runnable disptchRunnable) {
-        Runnable wrappedRunnable = wrapRunnableWithIsDispatching(disptchRunnable);
-        if (isPaused()) {
-            pausedDisptaches.add(wrappedRunnable);
+    /**
+     * Dispatches a value to an observer immediately or, if a propagation is in
+     * progress, defers the dispatch until this dispatcher is drained by the
+     * {@link PropagationEngine}. Dispatches to bindings are never deferred.
+     * While a binding is being dispatched to, this dispatcher is flagged as
+     * dispatching to a binding.
+     * <p>
+     * Neither path allocates per dispatch, deferred dispatches are recorded in
+     * reusable buffers, see {@link PausedDispatches}.
+     * 
+     * @param dispatch
+     *            some consumer that performs the dispatch
+     * @param value
+     *            the value to dispatch
+     * @param isBinding
+     *            true if the dispatch is to a binding, false otherwise
+     */
+    protected <T> void dispatchOrQueue(Consumer<T> dispatch, T value, boolean isBinding) {
+        dispatchOrQueue(dispatch, value, isBinding, isBinding, false);
+    }
+    
+    /**
+     * Same as {@link #dispatchOrQueue(Consumer, Object, boolean)}, except
+     * that if a dispatch with the same consumer is already deferred, only its
+     * value is replaced. Therefore, at most one dispatch per consumer is
+     * deferred, no matter how many times a value is dispatched while paused.
+     * 
+     * @param dispatch
+     *            some consumer that performs the dispatch
+     * @param value
+     *            the value to dispatch
+     * @param isBinding
+     *            true if the dispatch is to a binding, false otherwise
+     */
+    protected <T> void dispatchOrCoalesce(Consumer<T> dispatch, T value, boolean isBinding) {
+        dispatchOrQueue(dispatch, value, isBinding, isBinding, true);
+    }
+    
+    /**
+     * Dispatches immediately or, if a propagation is in progress, defers the
+     * dispatch until this dispatcher is drained by the
+     * {@link PropagationEngine}. Dispatches to bindings are never deferred.
+     * 
+     * @param disptchRunnable
+     *            some runnable that performs the dispatch
+     * @param isBinding
+     *            true if the dispatch is to a binding, false otherwise
+     */
+    protected void dispatchOrQueue(Runnable disptchRunnable, boolean isBinding) {
+        dispatchOrQueue(Runnable::run, disptchRunnable, isBinding, false, false);
+    }
+    
+    private <T> void dispatchOrQueue(Consumer<T> dispatch, T value, boolean isBinding, boolean isDispatchToBinding, boolean coalesce) {
+        if (!isBinding && isPaused()) {
+            if (coalesce)
+                pausedDispatches.addOrReplace(dispatch, value, isDispatchToBinding, dispatchers.captureDispatchState());
+            else
+                pausedDispatches.add(dispatch, value, isDispatchToBinding, dispatchers.captureDispatchState());
+            
+            propagationEngine.defer(this);
         } else {
-            wrappedRunnable.run();
+            dispatchImmediately(dispatch, value, isDispatchToBinding);
+        }
+    }
+    
+    /**
+     * Performs the provided dispatch with this dispatcher flagged as
+     * dispatching, then drains the deferred dispatches if it was the outermost
+     * dispatch.
+     */
+    <T> void dispatchImmediately(Consumer<T> dispatch, T value, boolean isDispatchToBinding) {
+        propagationEngine.beginDispatch(this);
+        setDispatching(true);
+        setDispatchingToBinding(isDispatchToBinding);
+        try {
+            dispatch.accept(value);
+        } finally {
+            setDispatchingToBinding(false);
+            setDispatching(false);
+            propagationEngine.endDispatch();
         }
+        
+        propagationEngine.drainIfIdle();
     }
     
     boolean isPaused() {
-        return pauseCount > 0;
+        return propagationEngine.shouldDefer(this);
     }
     
-    void pause() {
-        pauseCount++;
+    boolean isInTransaction() {
+        return propagationEngine.isInTransaction();
     }
-
+    
+    /**
+     * Runs all the dispatches that were deferred while this dispatcher was
+     * paused.
+     */
     void resume() {
-        pauseCount--;
-        
-        if (isPaused())
-            return;
+        // swap the buffers so that dispatches deferred while resuming are
+        // kept for the next time this dispatcher is drained.
+        PausedDispatches dispatches = pausedDispatches;
+        pausedDispatches = resumingDispatches != null ? resumingDispatches : new PausedDispatches(this);
+        resumingDispatches = null;
         
-        pausedDisptaches.forEach(Runnable::run);
-        pausedDisptaches.clear();
+        try {
+            dispatches.runAll();
+        } finally {
+            resumingDispatches = dispatches;
+        }
+    }
+    
+    /**
+     * @return the rank of this dispatcher in the dependency graph, a
+     *         dispatcher is always drained after the dispatchers with a lower
+     *         rank.
+     */
+    int getRank() {
+        return rank;
+    }
+    
+    void setRank(int rank) {
+        this.rank = rank;
+    }
+    
+    long getQueueSequence() {
+        return queueSequence;
+    }
+    
+    void setQueueSequence(long queueSequence) {
+        this.queueSequence = queueSequence;
+    }
+    
+    boolean isQueued() {
+        return isQueued;
+    }
+    
+    void setQueued(boolean isQueued) {
+        this.isQueued = isQueued;
     }
     
     void setDispatchingToBinding(boolean dispatchingToBinding) {
+        if (this.dispatchingToBinding == dispatchingToBinding)
+            return;
+        
         this.dispatchingToBinding = dispatchingToBinding;
+        dispatchers.onDispatchingToBindingChanged(this, dispatchingToBinding);
     }
     
     boolean isDispatchingToBinding() {
         return dispatchingToBinding;
     }
-
-    /**
-     * Ensures that when the runnable is running that the dispatch flag is
-     * turned on and then off when execution is finished.
-     * 
-     * @param runnable
-     *            some runnable to wrap
-     * @return a new runnable that ensures to toggle on/off the dispatch flag
-     *         before and after execution.
-     */
-    private Runnable wrapRunnableWithIsDispatching(Runnable runnable) {
-        return () -> {            
-            isDispatching = true;
-            try {
-                runnable.run();
-            } finally {            
-                isDispatching = false;
-            }
-        };
-    }
 }
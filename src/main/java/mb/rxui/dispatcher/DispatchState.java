@@ -0,0 +1,143 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+/**
+ * An immutable snapshot of the dispatch state, i.e. which dispatchers are
+ * dispatching and which of them are dispatching to a binding.
+ * <p>
+ * The state is kept as a persistent stack, each frame records a single flag
+ * that was turned on for a dispatcher. Since frames are never mutated, a
+ * captured state can be kept for as long as needed, no matter how many
+ * dispatchers exist. Frames are only built when the state is captured (see
+ * {@link Dispatchers#captureDispatchState()}), so dispatching without
+ * capturing does not allocate. Restoring a captured state costs as much as the
+ * depth of the dispatch that was captured.
+ */
+final class DispatchState {
+
+    private final AbstractDispatcher<?, ?, ?> dispatcher;
+    private final boolean isBinding;
+    private final DispatchState parent;
+
+    private DispatchState(AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding, DispatchState parent) {
+        this.dispatcher = dispatcher;
+        this.isBinding = isBinding;
+        this.parent = parent;
+    }
+
+    /**
+     * Pushes a new frame on top of the provided state.
+     *
+     * @param state
+     *            the current state, null if nothing is dispatching
+     * @param dispatcher
+     *            the dispatcher whose flag was turned on
+     * @param isBinding
+     *            true if the dispatching to binding flag was turned on, false
+     *            if the dispatching flag was turned on
+     * @return the new state
+     */
+    static DispatchState push(DispatchState state, AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding) {
+        return new DispatchState(dispatcher, isBinding, state);
+    }
+
+    /**
+     * Same as {@link #push(DispatchState, AbstractDispatcher, boolean)}, but
+     * returns the provided cached frame instead of a new one if it is
+     * identical to the frame that would be pushed.
+     *
+     * @param state
+     *            the current state, null if nothing is dispatching
+     * @param dispatcher
+     *            the dispatcher whose flag was turned on
+     * @param isBinding
+     *            true if the dispatching to binding flag was turned on, false
+     *            if the dispatching flag was turned on
+     * @param cachedFrame
+     *            some frame that was pushed before, may be null
+     * @return the new state
+     */
+    static DispatchState push(DispatchState state, AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding, DispatchState cachedFrame) {
+        if (cachedFrame != null && cachedFrame.parent == state && cachedFrame.dispatcher == dispatcher && cachedFrame.isBinding == isBinding)
+            return cachedFrame;
+
+        return push(state, dispatcher, isBinding);
+    }
+
+    /**
+     * Removes the frame for the provided dispatcher and flag. Flags are almost
+     * always turned off in the reverse order they were turned on, in which
+     * case this simply returns the parent frame.
+     *
+     * @param state
+     *            the current state
+     * @param dispatcher
+     *            the dispatcher whose flag was turned off
+     * @param isBinding
+     *            true if the dispatching to binding flag was turned off, false
+     *            if the dispatching flag was turned off
+     * @return the new state
+     */
+    static DispatchState remove(DispatchState state, AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding) {
+        if (state == null)
+            return null;
+
+        if (state.dispatcher == dispatcher && state.isBinding == isBinding)
+            return state.parent;
+
+        DispatchState parent = remove(state.parent, dispatcher, isBinding);
+
+        if (parent == state.parent)
+            return state;
+
+        return new DispatchState(state.dispatcher, state.isBinding, parent);
+    }
+
+    /**
+     * Turns on all the flags recorded in the provided state, runs the provided
+     * runnable and then restores the flags to the values they had before.
+     *
+     * @param state
+     *            some captured state, null if nothing was dispatching
+     * @param runnable
+     *            the runnable to run
+     */
+    static void restore(DispatchState state, Runnable runnable) {
+        if (state == null) {
+            runnable.run();
+            return;
+        }
+
+        AbstractDispatcher<?, ?, ?> dispatcher = state.dispatcher;
+
+        if (state.isBinding) {
+            boolean wasDispatchingToBinding = dispatcher.isDispatchingToBinding();
+            dispatcher.setDispatchingToBinding(true);
+            try {
+                restore(state.parent, runnable);
+            } finally {
+                dispatcher.setDispatchingToBinding(wasDispatchingToBinding);
+            }
+        } else {
+            boolean wasDispatching = dispatcher.isDispatching();
+            dispatcher.setDispatching(true);
+            try {
+                restore(state.parent, runnable);
+            } finally {
+                dispatcher.setDispatching(wasDispatching);
+            }
+        }
+    }
+}
@@ -91,6 +91,10 @@ public interface Dispatcher<V, S extends Subscriber, O extends Observer<V>> exte
         return Dispatchers.getInstance().createPropertyDispatcher();
     }
     
+    static <P> PrimitivePropertyDispatcher<P> createPrimitivePropertyDispatcher() {
+        return Dispatchers.getInstance().createPrimitivePropertyDispatcher();
+    }
+    
     static <E> EventDispatcher<E> createEventDispatcher() {
         return Dispatchers.getInstance().createEventDispatcher();
     }
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * A registry of all the dispatchers created by {@link Dispatchers}.
+ * <p>
+ * Dispatchers are weakly referenced so that the registry never keeps a
+ * dispatcher alive. Each dispatcher occupies a slot in an array, when a
+ * dispatcher is garbage collected its reference is enqueued in a
+ * {@link ReferenceQueue} and the slot is reclaimed the next time the registry
+ * is accessed. Reclaimed slots are reused before the array grows, so the
+ * registry stays as small as the number of live dispatchers.
+ */
+final class DispatcherRegistry {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReferenceQueue<AbstractDispatcher<?, ?, ?>> collectedQueue = new ReferenceQueue<>();
+
+    private DispatcherReference[] slots = new DispatcherReference[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount = 0;
+    private int end = 0;
+    private int liveCount = 0;
+    private long collectedCount = 0;
+
+    /**
+     * Registers a dispatcher.
+     *
+     * @param dispatcher
+     *            the dispatcher to register
+     */
+    void register(AbstractDispatcher<?, ?, ?> dispatcher) {
+        expungeCollectedDispatchers();
+
+        int index;
+        if (freeSlotCount > 0) {
+            index = freeSlots[--freeSlotCount];
+        } else {
+            if (end == slots.length)
+                slots = Arrays.copyOf(slots, slots.length * 2);
+
+            index = end++;
+        }
+
+        slots[index] = new DispatcherReference(dispatcher, index, collectedQueue);
+        liveCount++;
+    }
+
+    /**
+     * @return the number of registered dispatchers that have not been
+     *         reclaimed yet.
+     */
+    int getLiveCount() {
+        expungeCollectedDispatchers();
+        return liveCount;
+    }
+
+    /**
+     * @return the number of dispatchers that have been garbage collected and
+     *         reclaimed since this registry was created.
+     */
+    long getCollectedCount() {
+        expungeCollectedDispatchers();
+        return collectedCount;
+    }
+
+    private void expungeCollectedDispatchers() {
+        DispatcherReference reference;
+
+        while ((reference = (DispatcherReference) collectedQueue.poll()) != null) {
+            slots[reference.index] = null;
+
+            if (freeSlotCount == freeSlots.length)
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+
+            freeSlots[freeSlotCount++] = reference.index;
+            liveCount--;
+            collectedCount++;
+        }
+    }
+
+    private static final class DispatcherReference extends WeakReference<AbstractDispatcher<?, ?, ?>> {
+        private final int index;
+
+        DispatcherReference(AbstractDispatcher<?, ?, ?> dispatcher,
+                            int index,
+                            ReferenceQueue<AbstractDispatcher<?, ?, ?>> collectedQueue) {
+            super(dispatcher, collectedQueue);
+            this.index = index;
+        }
+    }
+}
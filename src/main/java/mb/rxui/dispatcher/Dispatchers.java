@@ -13,33 +13,104 @@
  */
 package mb.rxui.dispatcher;
 
-import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import mb.rxui.EventLoop;
+import mb.rxui.EventLoopRegistry;
 import mb.rxui.Observer;
 import mb.rxui.Subscriber;
 import mb.rxui.annotations.RequiresTest;
-import mb.rxui.dispatcher.Dispatcher.Type;
 
+/**
+ * The dispatchers of an {@link EventLoop}. Tracks which of its dispatchers
+ * are dispatching and propagates their changes, see
+ * {@link PropagationEngine}.
+ * <p>
+ * Each event loop owns its own instance, so that the dispatchers of a Swing
+ * and a JavaFx event loop, or of many headless event loops, never have to
+ * account for one another.
+ */
 @RequiresTest
 public class Dispatchers {
-    private static final Dispatchers instance = new Dispatchers();
+    private static final ThreadLocal<Dispatchers> currentDispatchers = 
+            ThreadLocal.withInitial(Dispatchers::findDispatchers);
 
-    private final Map<AbstractDispatcher<?, ?, ?>, Void> dispatchers = new WeakHashMap<>();
+    private final DispatcherRegistry registry = new DispatcherRegistry();
+    private final PropagationEngine propagationEngine = new PropagationEngine();
+    
+    private int dispatchDepth = 0;
+    private int bindingDepth = 0;
+    
+    // the flags that are turned on, in the order they were turned on. The
+    // persistent DispatchState is only built when the state is captured, so
+    // that dispatching does not allocate.
+    private AbstractDispatcher<?, ?, ?>[] flagDispatchers = new AbstractDispatcher<?, ?, ?>[8];
+    private boolean[] flagIsBinding = new boolean[8];
+    private int flagCount = 0;
+    private DispatchState capturedState = null;
+    private int capturedFlagCount = 0;
+    
+    // the last frame built for each flag, repeated dispatches of the same
+    // dispatchers reuse them instead of building new ones. At most one frame
+    // per dispatch depth is retained, and only until the outermost dispatch
+    // ends so that the cache never keeps a dispatcher reachable.
+    private DispatchState[] frameCache = new DispatchState[8];
+    private int cachedFrameCount = 0;
 
     private PropertyDispatcherFactory propertyDispatcherFactory = PropertyDispatcher::create;
     private EventDispatcherFactory eventDispatcherFactory = EventDispatcher::create;
     
     
     private Dispatchers() {
-    } // Singleton
+    }
+    
+    /**
+     * Creates new dispatchers, should only be called by an {@link EventLoop}.
+     * 
+     * @return new {@link Dispatchers}
+     */
+    public static Dispatchers create() {
+        return new Dispatchers();
+    }
 
+    /**
+     * Gets the dispatchers of the current thread, the dispatchers of the event
+     * loop that is backed by the current thread. A thread that does not back an
+     * event loop is given its own dispatchers.
+     * 
+     * @return the {@link Dispatchers} of the current thread.
+     */
     public static Dispatchers getInstance() {
-        return instance;
+        return currentDispatchers.get();
+    }
+    
+    /**
+     * Makes the provided dispatchers the dispatchers of the current thread,
+     * should only be called by the {@link EventLoopRegistry} when an event
+     * loop is registered.
+     * 
+     * @param dispatchers
+     *            the dispatchers of the event loop backed by the current
+     *            thread
+     */
+    public static void setInstance(Dispatchers dispatchers) {
+        currentDispatchers.set(requireNonNull(dispatchers));
+    }
+    
+    /**
+     * Forgets the dispatchers of the current thread, should only be called by
+     * the {@link EventLoopRegistry} when an event loop is unregistered. They
+     * are looked up again on the next call to {@link #getInstance()}.
+     */
+    public static void removeInstance() {
+        currentDispatchers.remove();
+    }
+    
+    private static Dispatchers findDispatchers() {
+        return EventLoop.findEventLoop().map(EventLoop::getDispatchers).orElseGet(Dispatchers::new);
     }
     
     /**
@@ -62,87 +133,194 @@ public class Dispatchers {
      *         calls to restore this state.
      */
     public Runnable wrapRunnableWithCurrentDispatchState(Runnable runnableToWrap) {
-
-        Map<AbstractDispatcher<?, ?, ?>, Void> dispatchingDispatchers = new WeakHashMap<>();
-
-        dispatchers.keySet().stream().filter(Dispatcher::isDispatching)
-                .forEach(dispatcher -> dispatchingDispatchers.put(dispatcher, null));
-
-        return () -> {
-            // capture the current state of the dispatchers since it could
-            // have changed since warp was called
-            List<Runnable> dispatchStateRestoreList = dispatchingDispatchers.keySet().stream()
-                    .map(Dispatchers::createStateRestorer).collect(Collectors.toList());
-
-            // toggle all the dispatchers to true that where captured when
-            // wrapping the runnable
-            dispatchingDispatchers.keySet().forEach(dispatcher -> dispatcher.setDispatching(true));
-
-            // perform the dispatch
-            runnableToWrap.run();
-
-            // restore the dispatch state to what is was before running the
-            // runnable.
-            dispatchStateRestoreList.forEach(Runnable::run);
-        };
+        DispatchState capturedState = captureDispatchState();
+        return () -> DispatchState.restore(capturedState, runnableToWrap);
     }
     
     public boolean isDispatching() {
-        return dispatchers.keySet().stream().filter(Dispatcher::isDispatching).findAny().isPresent();
+        return dispatchDepth > 0;
+    }
+    
+    /**
+     * Runs the provided runnable as a transaction. The notifications of the
+     * property observers are deferred until the outermost transaction ends,
+     * while bindings are still updated immediately, so that every property
+     * can be read in its new state within the transaction.
+     * <p>
+     * Once the transaction ends, each affected property notifies each of its
+     * observers at most once, with its latest value, in dependency order. This
+     * should be used when setting many properties at once, i.e. when loading a
+     * record into a form.
+     * <p>
+     * NOTE: event dispatches are never deferred.
+     * 
+     * @param transaction
+     *            some runnable that sets the values of properties
+     */
+    public void transaction(Runnable transaction) {
+        propagationEngine.beginTransaction();
+        try {
+            transaction.run();
+        } finally {
+            propagationEngine.endTransaction();
+        }
     }
     
     public boolean isDispatchingBinding() {
-        return dispatchers.keySet().stream().filter(AbstractDispatcher::isDispatchingToBinding).findAny().isPresent();
+        return bindingDepth > 0;
+    }
+
+    /**
+     * @return the number of dispatchers that are registered and have not been
+     *         garbage collected yet.
+     */
+    public int getLiveDispatcherCount() {
+        return registry.getLiveCount();
+    }
+    
+    /**
+     * @return the number of dispatchers that have been garbage collected and
+     *         removed from the registry.
+     */
+    public long getCollectedDispatcherCount() {
+        return registry.getCollectedCount();
+    }
+
+    /**
+     * @return a token representing the current dispatch state, see
+     *         {@link DispatchState}.
+     */
+    DispatchState captureDispatchState() {
+        // the captured state stays valid until a flag is turned off, frames
+        // pushed since the last capture are simply added on top of it.
+        for (; capturedFlagCount < flagCount; capturedFlagCount++) {
+            capturedState = DispatchState.push(capturedState, 
+                                               flagDispatchers[capturedFlagCount], 
+                                               flagIsBinding[capturedFlagCount],
+                                               frameCache[capturedFlagCount]);
+            frameCache[capturedFlagCount] = capturedState;
+        }
+        
+        cachedFrameCount = Math.max(cachedFrameCount, capturedFlagCount);
+        
+        return capturedState;
+    }
+    
+    /**
+     * Called by a dispatcher whenever its dispatching flag changes.
+     * 
+     * @param dispatcher
+     *            the dispatcher whose flag changed
+     * @param isDispatching
+     *            the new value of the flag
+     */
+    void onDispatchingChanged(AbstractDispatcher<?, ?, ?> dispatcher, boolean isDispatching) {
+        if (isDispatching) {
+            dispatchDepth++;
+            pushFlag(dispatcher, false);
+        } else {
+            dispatchDepth--;
+            removeFlag(dispatcher, false);
+        }
+    }
+    
+    /**
+     * Called by a dispatcher whenever its dispatching to binding flag changes.
+     * 
+     * @param dispatcher
+     *            the dispatcher whose flag changed
+     * @param isDispatchingToBinding
+     *            the new value of the flag
+     */
+    void onDispatchingToBindingChanged(AbstractDispatcher<?, ?, ?> dispatcher, boolean isDispatchingToBinding) {
+        if (isDispatchingToBinding) {
+            bindingDepth++;
+            pushFlag(dispatcher, true);
+        } else {
+            bindingDepth--;
+            removeFlag(dispatcher, true);
+        }
+    }
+    
+    private void pushFlag(AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding) {
+        if (flagCount == flagDispatchers.length) {
+            flagDispatchers = Arrays.copyOf(flagDispatchers, flagCount * 2);
+            flagIsBinding = Arrays.copyOf(flagIsBinding, flagCount * 2);
+            frameCache = Arrays.copyOf(frameCache, flagCount * 2);
+        }
+        
+        flagDispatchers[flagCount] = dispatcher;
+        flagIsBinding[flagCount] = isBinding;
+        flagCount++;
+    }
+    
+    /**
+     * Removes the flag for the provided dispatcher. Flags are almost always
+     * turned off in the reverse order they were turned on, in which case this
+     * is constant time.
+     */
+    private void removeFlag(AbstractDispatcher<?, ?, ?> dispatcher, boolean isBinding) {
+        int index = flagCount - 1;
+        
+        while (index >= 0 && (flagDispatchers[index] != dispatcher || flagIsBinding[index] != isBinding))
+            index--;
+        
+        if (index < 0)
+            return;
+        
+        System.arraycopy(flagDispatchers, index + 1, flagDispatchers, index, flagCount - index - 1);
+        System.arraycopy(flagIsBinding, index + 1, flagIsBinding, index, flagCount - index - 1);
+        flagCount--;
+        flagDispatchers[flagCount] = null;
+        
+        if (index < capturedFlagCount) {
+            capturedState = DispatchState.remove(capturedState, dispatcher, isBinding);
+            capturedFlagCount--;
+        }
+        
+        if (flagCount == 0) {
+            Arrays.fill(frameCache, 0, cachedFrameCount, null);
+            cachedFrameCount = 0;
+        }
     }
 
     <M> PropertyDispatcher<M> createPropertyDispatcher() {
-        return addDispatcher(propertyDispatcherFactory.create());
+        return addDispatcher(propertyDispatcherFactory.create(this));
     }
 
     void setPropertyDispatcherFactory(PropertyDispatcherFactory propertyDispatcherFactory) {
         this.propertyDispatcherFactory = propertyDispatcherFactory;
     }
     
+    <P> PrimitivePropertyDispatcher<P> createPrimitivePropertyDispatcher() {
+        return addDispatcher(PrimitivePropertyDispatcher.create(this));
+    }
+    
     <E> EventDispatcher<E> createEventDispatcher() {
-        return addDispatcher(eventDispatcherFactory.create());
+        return addDispatcher(eventDispatcherFactory.create(this));
     }
 
     void setEventDispatcherFactory(EventDispatcherFactory eventDispatcherFactory) {
         this.eventDispatcherFactory = eventDispatcherFactory;
     }
 
-    void pausePropertyDispatchers() {
-        dispatchers.keySet()
-                   .stream()
-                   .filter(dispatcher -> dispatcher.getType() == Type.PROPERTY)
-                   .forEach(AbstractDispatcher::pause);
-    }
-
-    void resumePropertyDispatchers() {
-        dispatchers.keySet()
-                   .stream()
-                   .filter(dispatcher -> dispatcher.getType() == Type.PROPERTY)
-                   .forEach(AbstractDispatcher::resume);
-    }
-
-    private static Runnable createStateRestorer(AbstractDispatcher<?, ?, ?> dispatcher) {
-        boolean dispatching = dispatcher.isDispatching();
-        return () -> dispatcher.setDispatching(dispatching);
+    PropagationEngine getPropagationEngine() {
+        return propagationEngine;
     }
 
     private <V, S extends Subscriber & Observer<V>, O extends Observer<V>, D extends AbstractDispatcher<V, S, O>> D addDispatcher(
             D eventDispatcher) {
-        dispatchers.put(eventDispatcher, null);
+        registry.register(eventDispatcher);
         return eventDispatcher;
     }
     
     public static interface PropertyDispatcherFactory
     {
-        <M> PropertyDispatcher<M> create();
+        <M> PropertyDispatcher<M> create(Dispatchers dispatchers);
     }
     
     public static interface EventDispatcherFactory
     {
-        <M> EventDispatcher<M> create();
+        <M> EventDispatcher<M> create(Dispatchers dispatchers);
     }
 }
@@ -13,13 +13,11 @@
  */
 package mb.rxui.dispatcher;
 
-import static java.util.Objects.requireNonNull;
 import static mb.rxui.dispatcher.Dispatcher.Type.EVENT;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.function.Consumer;
 
+import mb.rxui.dispatcher.SubscriberSegment.Slot;
 import mb.rxui.event.EventBinding;
 import mb.rxui.event.EventObserver;
 import mb.rxui.event.EventStream;
@@ -30,17 +28,16 @@ import mb.rxui.event.EventSubscriber;
  * an {@link EventStream}.
  * 
  * An Event Dispatcher will always dispatch to regular subscribers first, then
- * to {@link EventBinding}s. During event dispatch all properties are paused. So
- * each event dispatch sequence follows these steps:
+ * to {@link EventBinding}s. During event dispatch property dispatches are
+ * deferred. So each event dispatch sequence follows these steps:
  * <ol>
- * <li>All properties are paused via
- * {@link Dispatchers#pausePropertyDispatchers()}. This allows the property
- * value to be updated but stops the update propagation
  * <li>All subscribers to this event dispatcher are notified starting with
- * regular subscribers and ending with all bindings.
- * <li>All properties are resumed. At this point all properties that would be
- * affected by the event to be dispatched have been updated so glitches should
- * be prevented.
+ * regular subscribers and ending with all bindings. Properties updated by the
+ * bindings have their value updated but their dispatch is deferred by the
+ * {@link PropagationEngine}.
+ * <li>The deferred property dispatches are drained in rank order. At this
+ * point all properties that would be affected by the event to be dispatched
+ * have been updated so glitches should be prevented.
  * </ol>
  * <p>
  * 
@@ -49,16 +46,12 @@ import mb.rxui.event.EventSubscriber;
  */
 public class EventDispatcher<V> extends AbstractDispatcher<V, EventSubscriber<V>, EventObserver<V>> {
 
-    private final List<EventSubscriber<V>> subscribers;
-    private static final Comparator<? super EventSubscriber<?>> SUBSCRIBER_COMPARATOR = createComparator();
-
-    private EventDispatcher(List<EventSubscriber<V>> subscribers) {
-        super(subscribers, subscriber -> subscriber::onEvent, subscriber -> subscriber::onCompleted, EVENT);
-        this.subscribers = requireNonNull(subscribers);
+    private EventDispatcher(Dispatchers dispatchers) {
+        super(EventSubscriber::onEvent, EventSubscriber::onCompleted, EVENT, false, dispatchers);
     }
     
-    static <E> EventDispatcher<E> create() {
-        return new EventDispatcher<>(new ArrayList<>());
+    static <E> EventDispatcher<E> create(Dispatchers dispatchers) {
+        return new EventDispatcher<>(dispatchers);
     }
 
     @Override
@@ -74,45 +67,31 @@ public class EventDispatcher<V> extends AbstractDispatcher<V, EventSubscriber<V>
             return subscriber;
         }
         
-        subscriber.doOnDispose(() -> subscribers.remove(subscriber));
-        subscribers.add(subscriber);
-        subscribers.sort(SUBSCRIBER_COMPARATOR);
+        Slot<?> slot = addSubscriber(subscriber);
+        subscriber.doOnDispose(slot::remove);
         
         return subscriber;
     }
 
     private EventObserver<V> wrapObserver(EventObserver<V> observer) {
         return new EventObserver<V>() {
+            private final Consumer<V> onEvent = observer::onEvent;
+            private final boolean isBinding = observer.isBinding();
+            
             @Override
             public void onEvent(V event) {
-                dispatchOrQueue(() -> {
-                    setDispatchingToBinding(observer.isBinding());
-                    observer.onEvent(event);
-                    setDispatchingToBinding(false);
-                });
+                dispatchOrQueue(onEvent, event, isBinding);
             }
 
             @Override
             public void onCompleted() {
-                dispatchOrQueue(observer::onCompleted);
+                dispatchOrQueue(observer::onCompleted, isBinding);
             }
 
             @Override
             public boolean isBinding() {
-                return observer.isBinding();
+                return isBinding;
             }
         };
     }
-    
-    private static Comparator<? super EventSubscriber<?>> createComparator() {
-        return (subscriber1, subscriber2) -> {
-            if (subscriber1.isBinding() && !subscriber2.isBinding())
-                return 1;
-            
-            if (!subscriber1.isBinding() && subscriber2.isBinding())
-                return -1;
-            
-            return 0;
-        };
-    }
 }
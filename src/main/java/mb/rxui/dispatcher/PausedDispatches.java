@@ -0,0 +1,146 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static mb.rxui.Callbacks.runSafeCallback;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The dispatches that were deferred for a dispatcher while a propagation was
+ * in progress, in the order they were deferred.
+ * <p>
+ * Each dispatch is recorded in parallel arrays rather than as a
+ * {@link Runnable} that captures its arguments. The arrays are reused once the
+ * dispatches have run, so deferring a dispatch does not allocate once they
+ * have grown large enough.
+ */
+final class PausedDispatches {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final AbstractDispatcher<?, ?, ?> dispatcher;
+    private final Runnable restoreAndDispatch = this::restoreAndDispatch;
+    private final Runnable dispatch = this::dispatch;
+
+    private Consumer<Object>[] dispatches = createDispatches(INITIAL_CAPACITY);
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private boolean[] dispatchToBinding = new boolean[INITIAL_CAPACITY];
+    private DispatchState[] states = new DispatchState[INITIAL_CAPACITY];
+    private int size = 0;
+    private int runningIndex = -1;
+
+    /**
+     * @param dispatcher
+     *            the dispatcher that will perform the dispatches
+     */
+    PausedDispatches(AbstractDispatcher<?, ?, ?> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Records a dispatch to perform later.
+     *
+     * @param dispatch
+     *            some consumer that performs the dispatch
+     * @param value
+     *            the value to dispatch
+     * @param isDispatchToBinding
+     *            true if the dispatch is to a binding, false otherwise
+     * @param state
+     *            the dispatch state to restore while dispatching
+     */
+    @SuppressWarnings("unchecked")
+    <T> void add(Consumer<T> dispatch, T value, boolean isDispatchToBinding, DispatchState state) {
+        if (size == dispatches.length) {
+            dispatches = Arrays.copyOf(dispatches, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            dispatchToBinding = Arrays.copyOf(dispatchToBinding, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+
+        dispatches[size] = (Consumer<Object>) dispatch;
+        values[size] = value;
+        dispatchToBinding[size] = isDispatchToBinding;
+        states[size] = state;
+        size++;
+    }
+
+    /**
+     * Records a dispatch to perform later, unless a dispatch with the same
+     * consumer is already recorded, in which case only its value and dispatch
+     * state are replaced. The dispatch keeps its original position, so that
+     * observers are still notified in the order they were first deferred.
+     * 
+     * @param dispatch
+     *            some consumer that performs the dispatch
+     * @param value
+     *            the value to dispatch
+     * @param isDispatchToBinding
+     *            true if the dispatch is to a binding, false otherwise
+     * @param state
+     *            the dispatch state to restore while dispatching
+     */
+    <T> void addOrReplace(Consumer<T> dispatch, T value, boolean isDispatchToBinding, DispatchState state) {
+        // only dispatches that are still to run can be replaced
+        for (int index = size - 1; index > runningIndex; index--) {
+            if (dispatches[index] == dispatch) {
+                values[index] = value;
+                dispatchToBinding[index] = isDispatchToBinding;
+                states[index] = state;
+                return;
+            }
+        }
+        
+        add(dispatch, value, isDispatchToBinding, state);
+    }
+
+    /**
+     * @return the number of recorded dispatches
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Performs all the recorded dispatches in the order they were recorded and
+     * then forgets them.
+     */
+    void runAll() {
+        try {
+            for (runningIndex = 0; runningIndex < size; runningIndex++)
+                runSafeCallback(restoreAndDispatch);
+        } finally {
+            Arrays.fill(dispatches, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            Arrays.fill(states, 0, size, null);
+            size = 0;
+            runningIndex = -1;
+        }
+    }
+
+    private void restoreAndDispatch() {
+        DispatchState.restore(states[runningIndex], dispatch);
+    }
+
+    private void dispatch() {
+        dispatcher.dispatchImmediately(dispatches[runningIndex], values[runningIndex], dispatchToBinding[runningIndex]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object>[] createDispatches(int capacity) {
+        return (Consumer<Object>[]) new Consumer<?>[capacity];
+    }
+}
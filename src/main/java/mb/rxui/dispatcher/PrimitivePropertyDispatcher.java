@@ -0,0 +1,76 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static mb.rxui.dispatcher.Dispatcher.Type.PROPERTY;
+
+import java.util.function.Consumer;
+
+import mb.rxui.dispatcher.SubscriberSegment.Slot;
+
+/**
+ * A dispatcher for the properties of primitive values, i.e. an IntProperty.
+ * <p>
+ * Rather than the new value, which would have to be boxed, the dispatcher
+ * dispatches the source of the property, from which each observer reads the
+ * value when it is notified. Therefore the deferred notifications are always
+ * coalesced, see {@link PropertyDispatcher#setCoalescing(boolean)}, since an
+ * observer can only read the latest value of the source.
+ * 
+ * @param <P>
+ *            the type of the source of the property, i.e. an IntSupplier
+ */
+public class PrimitivePropertyDispatcher<P> extends AbstractDispatcher<P, PrimitivePropertySubscriber<P>, PrimitivePropertyObserver<P>> {
+
+    private PrimitivePropertyDispatcher(Dispatchers dispatchers) {
+        super(PrimitivePropertySubscriber::onChanged, PrimitivePropertySubscriber::onDisposed, PROPERTY, true, dispatchers);
+    }
+    
+    static <P> PrimitivePropertyDispatcher<P> create(Dispatchers dispatchers) {
+        return new PrimitivePropertyDispatcher<>(dispatchers);
+    }
+    
+    @Override
+    public PrimitivePropertySubscriber<P> subscribe(PrimitivePropertyObserver<P> observer) {
+        
+        PrimitivePropertySubscriber<P> subscriber = new PrimitivePropertySubscriber<>(wrapObserver(observer));
+        
+        Slot<?> slot = addSubscriber(subscriber);
+        subscriber.doOnDispose(slot::remove);
+        
+        return subscriber;
+    }
+    
+    private PrimitivePropertyObserver<P> wrapObserver(PrimitivePropertyObserver<P> observer) {
+        return new PrimitivePropertyObserver<P>() {
+            private final Consumer<P> onChanged = observer::onChanged;
+            private final boolean isBinding = observer.isBinding();
+            
+            @Override
+            public void onChanged(P source) {
+                dispatchOrCoalesce(onChanged, source, isBinding);
+            }
+
+            @Override
+            public void onDisposed() {
+                dispatchOrQueue(observer::onDisposed, isBinding);
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
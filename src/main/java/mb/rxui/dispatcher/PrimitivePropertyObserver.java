@@ -0,0 +1,40 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of a {@link PrimitivePropertyDispatcher}, it is notified with
+ * the source of the property rather than with its value, see
+ * {@link PrimitivePropertyDispatcher}.
+ * 
+ * @param <P>
+ *            the type of the source of the property, i.e. an IntSupplier
+ */
+public interface PrimitivePropertyObserver<P> extends Observer<P> {
+    
+    /**
+     * Called when the value of the source has changed.
+     * 
+     * @param source
+     *            the source of the property, from which to read the new value
+     */
+    void onChanged(P source);
+    
+    /**
+     * Called when the property is disposed.
+     */
+    void onDisposed();
+}
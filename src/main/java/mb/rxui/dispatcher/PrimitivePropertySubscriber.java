@@ -0,0 +1,63 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+
+import java.util.function.Consumer;
+
+import mb.rxui.Subscriber;
+
+/**
+ * A subscriber of a {@link PrimitivePropertyDispatcher}.
+ * <p>
+ * NOTE: Once disposed, the subscriber will ignore future calls to
+ * {@link #onChanged(Object)} or {@link #onDisposed()}.
+ * 
+ * @param <P>
+ *            the type of the source of the property, i.e. an IntSupplier
+ */
+public class PrimitivePropertySubscriber<P> extends Subscriber implements PrimitivePropertyObserver<P> {
+    
+    private final PrimitivePropertyObserver<P> observer;
+    private final Consumer<P> onChanged;
+    
+    public PrimitivePropertySubscriber(PrimitivePropertyObserver<P> observer) {
+        this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
+    }
+
+    @Override
+    public void onChanged(P source) {
+        if(isDisposed())
+            return;
+        
+        runSafeCallback(onChanged, source);
+    }
+
+    @Override
+    public void onDisposed() {
+        if(isDisposed())
+            return;
+        
+        runSafeCallback(observer::onDisposed);
+        dispose();
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static mb.rxui.dispatcher.Dispatcher.Type.PROPERTY;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Propagates property changes through the dependency graph formed by the
+ * dispatchers.
+ * <p>
+ * Each dispatcher is given a rank in the dependency graph. Whenever a
+ * dispatcher dispatches from within the dispatch of another dispatcher (i.e.
+ * via a binding) it is guaranteed to have a higher rank than the dispatcher
+ * that triggered it.
+ * <p>
+ * While a propagation is in progress, bindings are dispatched immediately, so
+ * that the new values are pushed through the whole graph first. The
+ * notifications to all other property observers are deferred, the dispatcher
+ * is marked dirty and added to a priority queue. Once the dispatch that started
+ * the propagation completes, the dirty dispatchers are drained highest rank
+ * first, so that observers of the most derived properties are notified first,
+ * just as they would be with a nested dispatch.
+ * <p>
+ * This guarantees that by the time a property observer is notified every
+ * property that is bound has already been updated, which prevents glitches.
+ * Since only dirty dispatchers are ever visited, the cost of a propagation
+ * depends on the size of the affected subgraph and not on the number of
+ * dispatchers that exist.
+ * <p>
+ * NOTE: Ranks only ever increase. A dispatcher that participates in a cycle
+ * (i.e. two synchronized properties) will see its rank bumped when the cycle
+ * is traversed, this does not affect correctness since only the relative order
+ * of ranks matters.
+ * <p>
+ * A transaction, see {@link Dispatchers#transaction(Runnable)}, keeps the
+ * engine propagating until the outermost transaction ends, so that the
+ * observers of all the properties written during the transaction are drained
+ * together, once, in rank order.
+ */
+final class PropagationEngine {
+    
+    private static final Comparator<AbstractDispatcher<?, ?, ?>> RANK_COMPARATOR = createComparator();
+
+    private final PriorityQueue<AbstractDispatcher<?, ?, ?>> dirtyDispatchers;
+    private final List<AbstractDispatcher<?, ?, ?>> dispatchChain;
+    
+    private boolean isDraining = false;
+    private int transactionDepth = 0;
+    private long queueSequence = 0;
+    
+    PropagationEngine() {
+        dirtyDispatchers = new PriorityQueue<>(RANK_COMPARATOR);
+        dispatchChain = new ArrayList<>();
+    }
+
+    /**
+     * @return true if a dispatch or a transaction is currently in progress or
+     *         dirty dispatchers are being drained, false otherwise.
+     */
+    boolean isPropagating() {
+        return isDraining || !dispatchChain.isEmpty() || transactionDepth > 0;
+    }
+    
+    /**
+     * @return true if a transaction is in progress, false otherwise.
+     */
+    boolean isInTransaction() {
+        return transactionDepth > 0;
+    }
+    
+    /**
+     * Starts a transaction, must be followed by a call to
+     * {@link #endTransaction()}. Transactions can be nested.
+     */
+    void beginTransaction() {
+        transactionDepth++;
+    }
+    
+    /**
+     * Ends the transaction started by the last call to
+     * {@link #beginTransaction()}. Once the outermost transaction ends, all the
+     * dispatches deferred during the transaction are drained.
+     */
+    void endTransaction() {
+        transactionDepth--;
+        drainIfIdle();
+    }
+    
+    /**
+     * Checks whether a dispatch from the provided dispatcher should be
+     * deferred. Only property dispatches are deferred and only while a
+     * propagation is in progress.
+     * 
+     * @param dispatcher
+     *            some dispatcher that wants to dispatch
+     * @return true if the dispatch should be deferred, false if it can be
+     *         performed immediately.
+     */
+    boolean shouldDefer(AbstractDispatcher<?, ?, ?> dispatcher) {
+        return dispatcher.getType() == PROPERTY && isPropagating();
+    }
+    
+    /**
+     * Marks the start of a dispatch from the provided dispatcher. Must be
+     * followed by a call to {@link #endDispatch()} once the dispatch is
+     * finished.
+     * 
+     * @param dispatcher
+     *            the dispatcher that is dispatching
+     */
+    void beginDispatch(AbstractDispatcher<?, ?, ?> dispatcher) {
+        AbstractDispatcher<?, ?, ?> currentDispatcher = getCurrentDispatcher();
+        
+        if (currentDispatcher != null && currentDispatcher != dispatcher)
+            raiseRank(dispatcher, currentDispatcher.getRank() + 1);
+        
+        dispatchChain.add(dispatcher);
+    }
+    
+    /**
+     * Marks the end of the dispatch started by the last call to
+     * {@link #beginDispatch(AbstractDispatcher)}.
+     */
+    void endDispatch() {
+        dispatchChain.remove(dispatchChain.size() - 1);
+    }
+    
+    /**
+     * Drains all the deferred dispatches if no dispatch is in progress
+     * anymore, i.e. once the outermost dispatch has ended.
+     */
+    void drainIfIdle() {
+        if (!isPropagating())
+            drain();
+    }
+    
+    /**
+     * Marks the provided dispatcher dirty after it has recorded a paused
+     * dispatch, its paused dispatches are run once it is drained from the
+     * queue of dirty dispatchers.
+     * 
+     * @param dispatcher
+     *            the dispatcher whose dispatch was deferred
+     */
+    void defer(AbstractDispatcher<?, ?, ?> dispatcher) {
+        AbstractDispatcher<?, ?, ?> currentDispatcher = getCurrentDispatcher();
+        
+        if (currentDispatcher != null && currentDispatcher != dispatcher)
+            raiseRank(dispatcher, currentDispatcher.getRank() + 1);
+        
+        if (dispatcher.isQueued())
+            return;
+        
+        dispatcher.setQueueSequence(queueSequence++);
+        dispatcher.setQueued(true);
+        dirtyDispatchers.add(dispatcher);
+    }
+    
+    private void raiseRank(AbstractDispatcher<?, ?, ?> dispatcher, int minimumRank) {
+        if (dispatcher.getRank() >= minimumRank)
+            return;
+        
+        if (dispatcher.isQueued()) {
+            dirtyDispatchers.remove(dispatcher);
+            dispatcher.setRank(minimumRank);
+            dirtyDispatchers.add(dispatcher);
+        } else {
+            dispatcher.setRank(minimumRank);
+        }
+    }
+    
+    private void drain() {
+        isDraining = true;
+        try {
+            while (!dirtyDispatchers.isEmpty()) {
+                AbstractDispatcher<?, ?, ?> dispatcher = dirtyDispatchers.poll();
+                dispatcher.setQueued(false);
+                dispatcher.resume();
+            }
+        } finally {
+            isDraining = false;
+        }
+    }
+
+    private AbstractDispatcher<?, ?, ?> getCurrentDispatcher() {
+        return dispatchChain.isEmpty() ? null : dispatchChain.get(dispatchChain.size() - 1);
+    }
+    
+    /**
+     * Orders dirty dispatchers highest rank first, dispatchers of the same rank
+     * are ordered by when they were marked dirty.
+     */
+    private static Comparator<AbstractDispatcher<?, ?, ?>> createComparator() {
+        return (dispatcher1, dispatcher2) -> {
+            int compare = Integer.compare(dispatcher2.getRank(), dispatcher1.getRank());
+            
+            if (compare != 0)
+                return compare;
+            
+            return Long.compare(dispatcher1.getQueueSequence(), dispatcher2.getQueueSequence());
+        };
+    }
+}
@@ -15,30 +15,37 @@ package mb.rxui.dispatcher;
 
 import static mb.rxui.dispatcher.Dispatcher.Type.PROPERTY;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.function.Consumer;
 
+import mb.rxui.dispatcher.SubscriberSegment.Slot;
 import mb.rxui.property.PropertyObserver;
 import mb.rxui.property.PropertySubscriber;
 
 /**
  * A dispatcher for property change events.
+ * <p>
+ * While a propagation is in progress the notifications to observers that are
+ * not bindings are deferred. By default every deferred change is replayed to
+ * the observers once the dispatcher is drained. When coalescing is turned on,
+ * see {@link #setCoalescing(boolean)}, only the latest value is kept per
+ * observer, so an observer is notified at most once per propagation, no matter
+ * how many times the property changed. This is useful for properties that are
+ * bound to high rate event streams, where only the last value matters.
+ * Deferred changes are always coalesced during a transaction, see
+ * {@link Dispatchers#transaction(Runnable)}.
  * 
  * @param <M> the type of value this dispatcher dispatches.
  */
 public class PropertyDispatcher<M> extends AbstractDispatcher<M, PropertySubscriber<M>, PropertyObserver<M>> {
 
-    private final List<PropertySubscriber<M>> subscribers;
-    private static final Comparator<? super PropertySubscriber<?>> SUBSCRIBER_COMPARATOR = createComparator();
-    
-    private PropertyDispatcher(List<PropertySubscriber<M>> subscribers) {
-        super(subscribers, subscriber -> subscriber::onChanged, subscriber -> subscriber::onDisposed, PROPERTY);
-        this.subscribers = subscribers;
+    private boolean isCoalescing = false;
+
+    private PropertyDispatcher(Dispatchers dispatchers) {
+        super(PropertySubscriber::onChanged, PropertySubscriber::onDisposed, PROPERTY, true, dispatchers);
     }
     
-    static <M> PropertyDispatcher<M> create() {
-        return new PropertyDispatcher<>(new ArrayList<>());
+    static <M> PropertyDispatcher<M> create(Dispatchers dispatchers) {
+        return new PropertyDispatcher<>(dispatchers);
     }
     
     @Override
@@ -46,45 +53,71 @@ public class PropertyDispatcher<M> extends AbstractDispatcher<M, PropertySubscri
         
         PropertySubscriber<M> subscriber = new PropertySubscriber<>(wrapObserver(observer));
         
-        subscriber.doOnDispose(() -> subscribers.remove(subscriber));
-        subscribers.add(subscriber);
-        subscribers.sort(SUBSCRIBER_COMPARATOR);
+        Slot<?> slot = addSubscriber(subscriber);
+        subscriber.doOnDispose(slot::remove);
         
         return subscriber;
     }
     
+    /**
+     * Turns coalescing of deferred changes on or off. Changes that are already
+     * deferred are not affected.
+     * 
+     * @param isCoalescing
+     *            true to keep only the latest deferred value per observer,
+     *            false to replay every deferred change.
+     */
+    public void setCoalescing(boolean isCoalescing) {
+        this.isCoalescing = isCoalescing;
+    }
+    
+    /**
+     * @return true if deferred changes are coalesced to the latest value, false
+     *         otherwise
+     */
+    public boolean isCoalescing() {
+        return isCoalescing;
+    }
+    
     private PropertyObserver<M> wrapObserver(PropertyObserver<M> observer) {
         return new PropertyObserver<M>() {
+            private final Consumer<M> onChanged = this::notifyObserver;
+            private final Consumer<M> onCoalescedChange = this::notifyObserverIfChanged;
+            private final boolean isBinding = observer.isBinding();
+            
+            // the last value the observer was notified of
+            private M lastValue;
+            
             @Override
             public void onChanged(M newValue) {
-                dispatchOrQueue(() -> {
-                    setDispatchingToBinding(observer.isBinding());
-                    observer.onChanged(newValue);
-                    setDispatchingToBinding(false);
-                });
+                if (isCoalescing || isInTransaction())
+                    dispatchOrCoalesce(onCoalescedChange, newValue, isBinding);
+                else
+                    dispatchOrQueue(onChanged, newValue, isBinding);
+            }
+            
+            private void notifyObserverIfChanged(M newValue) {
+                // a coalesced value can be the one the observer was last
+                // notified of, i.e. A -> B -> A. Values that were not
+                // coalesced are never equal to the last one.
+                if (!newValue.equals(lastValue))
+                    notifyObserver(newValue);
+            }
+            
+            private void notifyObserver(M newValue) {
+                lastValue = newValue;
+                observer.onChanged(newValue);
             }
 
             @Override
             public void onDisposed() {
-                dispatchOrQueue(observer::onDisposed);
+                dispatchOrQueue(observer::onDisposed, isBinding);
             }
 
             @Override
             public boolean isBinding() {
-                return observer.isBinding();
+                return isBinding;
             }
         };
     }
-
-    private static Comparator<? super PropertySubscriber<?>> createComparator() {
-        return (subscriber1, subscriber2) -> {
-            if (subscriber1.isBinding() && !subscriber2.isBinding())
-                return -1;
-            
-            if (!subscriber1.isBinding() && subscriber2.isBinding())
-                return 1;
-            
-            return 0;
-        };
-    }
 }
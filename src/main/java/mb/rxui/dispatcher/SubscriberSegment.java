@@ -0,0 +1,164 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import java.util.Arrays;
+
+/**
+ * An ordered segment of subscribers. Subscribers are appended to the end of
+ * the segment and each one is handed a {@link Slot} that can later be used to
+ * remove it in constant time.
+ * <p>
+ * Removing a subscriber only clears its slot, the segment is compacted into a
+ * new array once more than half of the slots are empty. Since compacting never
+ * mutates an array that is being iterated and adding a subscriber only writes
+ * past the end that was read by an ongoing dispatch, a dispatch can safely
+ * iterate the array returned by {@link #getSlots()} up to {@link #getEnd()}
+ * while subscribers are being added or removed.
+ *
+ * @param <S>
+ *            the type of subscribers in this segment
+ */
+final class SubscriberSegment<S> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Slot<S>[] slots = createSlots(INITIAL_CAPACITY);
+    private int end = 0;
+    private int size = 0;
+
+    /**
+     * Appends a subscriber to the end of this segment.
+     *
+     * @param subscriber
+     *            the subscriber to add
+     * @return the slot holding the subscriber
+     */
+    Slot<S> add(S subscriber) {
+        if (end == slots.length)
+            slots = size * 2 <= end ? compact(slots.length) : compact(slots.length * 2);
+
+        Slot<S> slot = new Slot<>(this, subscriber, end);
+        slots[end++] = slot;
+        size++;
+
+        return slot;
+    }
+
+    /**
+     * Removes the subscriber in the provided slot, has no effect if it was
+     * already removed.
+     *
+     * @param slot
+     *            some slot handed out by this segment
+     */
+    void remove(Slot<S> slot) {
+        if (slot.segment != this || slot.index < 0)
+            return;
+
+        slots[slot.index] = null;
+        slot.index = -1;
+        size--;
+
+        if (size * 2 < end && end > INITIAL_CAPACITY)
+            slots = compact(slots.length);
+    }
+
+    /**
+     * Removes all the subscribers from this segment.
+     */
+    void clear() {
+        for (int index = 0; index < end; index++) {
+            if (slots[index] != null)
+                slots[index].index = -1;
+        }
+
+        slots = createSlots(INITIAL_CAPACITY);
+        end = 0;
+        size = 0;
+    }
+
+    /**
+     * @return the current slots, some of them may be null. This array must
+     *         not be modified.
+     */
+    Slot<S>[] getSlots() {
+        return slots;
+    }
+
+    /**
+     * @return the index after the last slot in use
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return the number of subscribers in this segment
+     */
+    int size() {
+        return size;
+    }
+
+    private Slot<S>[] compact(int capacity) {
+        Slot<S>[] newSlots = createSlots(capacity);
+        int newEnd = 0;
+
+        for (int index = 0; index < end; index++) {
+            Slot<S> slot = slots[index];
+
+            if (slot != null) {
+                slot.index = newEnd;
+                newSlots[newEnd++] = slot;
+            }
+        }
+
+        end = newEnd;
+        return newSlots;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Slot<S>[] createSlots(int capacity) {
+        return (Slot<S>[]) new Slot<?>[capacity];
+    }
+
+    /**
+     * A handle to a subscriber in a {@link SubscriberSegment}.
+     *
+     * @param <S>
+     *            the type of the subscriber
+     */
+    static final class Slot<S> {
+        private final SubscriberSegment<S> segment;
+        private final S subscriber;
+        private int index;
+
+        private Slot(SubscriberSegment<S> segment, S subscriber, int index) {
+            this.segment = segment;
+            this.subscriber = subscriber;
+            this.index = index;
+        }
+
+        S getSubscriber() {
+            return subscriber;
+        }
+
+        /**
+         * Removes the subscriber from the segment it was added to.
+         */
+        void remove() {
+            segment.remove(this);
+        }
+    }
+}
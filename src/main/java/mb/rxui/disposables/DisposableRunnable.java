@@ -22,7 +22,7 @@ import static java.util.Objects.requireNonNull;
 public class DisposableRunnable implements Disposable, Runnable {
     
     private final Runnable runnable;
-    private boolean isDisposed;
+    private volatile boolean isDisposed;
     
     public DisposableRunnable(Runnable runnable) {
         this.runnable = requireNonNull(runnable);
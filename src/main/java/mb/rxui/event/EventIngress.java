@@ -0,0 +1,261 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+
+/**
+ * A bounded queue that can be fed from any thread and that publishes its
+ * events into an {@link EventSubject} on the subject's event loop, see
+ * {@link EventSubject#createIngress(int, OverflowPolicy)}.
+ * <p>
+ * The events are drained in batches, a single task is posted to the event
+ * loop when the first event of a batch is published and it publishes all the
+ * events queued by the time it runs. What happens when the queue is full
+ * depends on the {@link OverflowPolicy}, the events that are not published are
+ * counted, see {@link #getDroppedCount()}.
+ * <p>
+ * NOTE: Once the subject is disposed, so is the ingress, and all further
+ * events are dropped.
+ *
+ * @param <E>
+ *            the type of the events
+ */
+public final class EventIngress<E> implements EventSource<E>, Disposable {
+
+    /**
+     * What an {@link EventIngress} does with an event published while it is
+     * full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest queued event is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Only the latest event is kept, every new event replaces the queued
+         * one. The capacity is ignored.
+         */
+        LATEST_ONLY,
+        /**
+         * Only the latest event for each key is kept, in the order the keys
+         * were first queued. A new event replaces the queued event with the
+         * same key, if any, otherwise the event queued for the oldest key is
+         * dropped when the ingress is full.
+         */
+        CONFLATE_BY_KEY,
+        /**
+         * The producer blocks until there is room for the new event. An event
+         * is dropped if its producer is interrupted while waiting, or if it is
+         * published from the event loop itself, which would deadlock.
+         */
+        BLOCK
+    }
+
+    private final EventSubject<E> subject;
+    private final EventLoop eventLoop;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Function<? super E, ?> keyFunction;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Runnable drain = this::drain;
+
+    private final ArrayDeque<E> queue = new ArrayDeque<>();
+    private final LinkedHashMap<Object, E> conflatedEvents = new LinkedHashMap<>();
+    private final List<E> batch = new ArrayList<>();
+
+    private boolean isDrainScheduled = false;
+    private boolean isDisposed = false;
+    private volatile long droppedCount = 0;
+
+    EventIngress(EventSubject<E> subject, EventLoop eventLoop, int capacity, OverflowPolicy policy, Function<? super E, ?> keyFunction) {
+        checkArgument(capacity > 0, "The capacity must be positive [" + capacity + "]");
+        checkArgument(policy != OverflowPolicy.CONFLATE_BY_KEY || keyFunction != null,
+                      "The " + OverflowPolicy.CONFLATE_BY_KEY + " policy requires a key function");
+
+        this.subject = requireNonNull(subject);
+        this.eventLoop = requireNonNull(eventLoop);
+        this.capacity = capacity;
+        this.policy = requireNonNull(policy);
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Queues an event to publish on the event loop. Can be called from any
+     * thread.
+     *
+     * @param event
+     *            some event to publish
+     */
+    @Override
+    public void publish(E event) {
+        requireNonNull(event);
+        boolean isFirstOfBatch;
+
+        lock.lock();
+        try {
+            if (!enqueue(event)) {
+                droppedCount++;
+                return;
+            }
+
+            isFirstOfBatch = !isDrainScheduled;
+            isDrainScheduled = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if (isFirstOfBatch)
+            eventLoop.invokeLater(drain);
+    }
+
+    /**
+     * @return the number of events that were dropped or replaced, and
+     *         therefore never published.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return the number of events waiting to be published.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return policy == OverflowPolicy.CONFLATE_BY_KEY ? conflatedEvents.size() : queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the queued events and releases the blocked producers, if any. All
+     * further events are dropped.
+     */
+    @Override
+    public void dispose() {
+        lock.lock();
+        try {
+            isDisposed = true;
+            queue.clear();
+            conflatedEvents.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the event was queued, false if it was dropped
+     */
+    private boolean enqueue(E event) {
+        if (isDisposed)
+            return false;
+
+        switch (policy) {
+        case DROP_OLDEST:
+            if (queue.size() == capacity) {
+                queue.poll();
+                droppedCount++;
+            }
+            queue.add(event);
+            return true;
+
+        case LATEST_ONLY:
+            if (!queue.isEmpty()) {
+                queue.clear();
+                droppedCount++;
+            }
+            queue.add(event);
+            return true;
+
+        case CONFLATE_BY_KEY:
+            Object key = keyFunction.apply(event);
+            if (conflatedEvents.containsKey(key)) {
+                droppedCount++;
+            } else if (conflatedEvents.size() == capacity) {
+                Iterator<E> oldest = conflatedEvents.values().iterator();
+                oldest.next();
+                oldest.remove();
+                droppedCount++;
+            }
+            conflatedEvents.put(key, event);
+            return true;
+
+        case BLOCK:
+            if (!awaitNotFull())
+                return false;
+            queue.add(event);
+            return true;
+
+        default:
+            throw new IllegalStateException("Unknown overflow policy: " + policy);
+        }
+    }
+
+    private boolean awaitNotFull() {
+        if (queue.size() < capacity)
+            return true;
+
+        // the event loop would wait for itself to drain
+        if (eventLoop.isInEventLoop())
+            return false;
+
+        try {
+            while (queue.size() == capacity && !isDisposed)
+                notFull.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        return !isDisposed;
+    }
+
+    private void drain() {
+        lock.lock();
+        try {
+            batch.addAll(queue);
+            batch.addAll(conflatedEvents.values());
+            queue.clear();
+            conflatedEvents.clear();
+            isDrainScheduled = false;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            for (int index = 0; index < batch.size(); index++)
+                subject.publish(batch.get(index));
+        } finally {
+            batch.clear();
+        }
+    }
+}
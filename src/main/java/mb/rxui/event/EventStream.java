@@ -31,13 +31,18 @@ import java.util.stream.StreamSupport;
 
 import mb.rxui.EventLoop;
 import mb.rxui.event.operator.Operator;
+import mb.rxui.event.operator.OperatorAudit;
+import mb.rxui.event.operator.OperatorBuffer;
 import mb.rxui.event.operator.OperatorChanges;
 import mb.rxui.event.operator.OperatorDebounce;
 import mb.rxui.event.operator.OperatorFilter;
 import mb.rxui.event.operator.OperatorMap;
+import mb.rxui.event.operator.OperatorSample;
 import mb.rxui.event.operator.OperatorScan;
 import mb.rxui.event.operator.OperatorScanOptional;
 import mb.rxui.event.operator.OperatorSwitchMap;
+import mb.rxui.event.operator.OperatorThrottleFirst;
+import mb.rxui.event.operator.OperatorWindow;
 import mb.rxui.event.publisher.EventPublisher;
 import mb.rxui.event.publisher.FlattenPublisher;
 import mb.rxui.event.publisher.LiftEventPublisher;
@@ -160,7 +165,7 @@ public class EventStream<E> {
      */
     public final <R> EventStream<R> lift(Operator<E, R> operator) {
         requireNonNull(operator);
-        return new EventStream<>(new LiftEventPublisher<>(operator, eventPublisher), eventLoop);
+        return new EventStream<>(LiftEventPublisher.create(operator, eventPublisher), eventLoop);
     }
     
     /**
@@ -204,6 +209,161 @@ public class EventStream<E> {
         return lift(new OperatorDebounce<>(eventLoop, timeout, timeUnit));
     }
     
+    /**
+     * Throttles emissions from this event stream, such that the first event is
+     * emitted immediately and the events that follow it are dropped until the
+     * window has elapsed. Unlike {@link #debounce(long, TimeUnit)}, events
+     * keep being emitted under continuous input.
+     * 
+     * @param window
+     *            amount of time during which events are dropped after an
+     *            emitted event
+     * @param timeUnit
+     *            time unit for the provided window.
+     * @return an {@link EventStream} that emits at most one event per window.
+     */
+    public final EventStream<E> throttleFirst(long window, TimeUnit timeUnit) {
+        return lift(new OperatorThrottleFirst<>(eventLoop, window, timeUnit));
+    }
+    
+    /**
+     * Samples this event stream, such that the latest event emitted during a
+     * period is emitted at the end of that period. Periods without events emit
+     * nothing.
+     * 
+     * @param period
+     *            the sampling period
+     * @param timeUnit
+     *            time unit for the provided period.
+     * @return an {@link EventStream} that emits at most one event per period.
+     */
+    public final EventStream<E> sample(long period, TimeUnit timeUnit) {
+        return lift(new OperatorSample<>(eventLoop, period, timeUnit));
+    }
+    
+    /**
+     * Throttles emissions from this event stream, such that only the latest
+     * event of each period is emitted, see {@link #sample(long, TimeUnit)}.
+     * 
+     * @param period
+     *            the sampling period
+     * @param timeUnit
+     *            time unit for the provided period.
+     * @return an {@link EventStream} that emits at most one event per period.
+     */
+    public final EventStream<E> throttleLast(long period, TimeUnit timeUnit) {
+        return sample(period, timeUnit);
+    }
+    
+    /**
+     * Audits this event stream, such that an event opens a window and the
+     * latest event emitted by the end of the window is emitted. Unlike
+     * {@link #debounce(long, TimeUnit)}, the window is not extended by the
+     * events that follow, so events keep being emitted under continuous input.
+     * 
+     * @param window
+     *            amount of time to wait after an event before emitting the
+     *            latest event
+     * @param timeUnit
+     *            time unit for the provided window.
+     * @return an {@link EventStream} that emits at most one event per window.
+     */
+    public final EventStream<E> audit(long window, TimeUnit timeUnit) {
+        return lift(new OperatorAudit<>(eventLoop, window, timeUnit));
+    }
+    
+    /**
+     * Collects the events emitted by this stream into batches of the provided
+     * size. The partial batch, if any, is emitted when this stream completes.
+     * 
+     * @param count
+     *            the number of events in a batch
+     * @return an {@link EventStream} that emits batches of events
+     */
+    public final EventStream<List<E>> buffer(int count) {
+        return lift(new OperatorBuffer<>(count));
+    }
+    
+    /**
+     * Collects the events emitted by this stream into batches, a batch is
+     * emitted once the timespan has elapsed since its first event. The partial
+     * batch, if any, is emitted when this stream completes.
+     * 
+     * @param timespan
+     *            how long to collect events after the first event of a batch
+     * @param timeUnit
+     *            time unit for the provided timespan.
+     * @return an {@link EventStream} that emits batches of events
+     */
+    public final EventStream<List<E>> buffer(long timespan, TimeUnit timeUnit) {
+        return buffer(timespan, timeUnit, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Collects the events emitted by this stream into batches, a batch is
+     * emitted once the timespan has elapsed since its first event or once it
+     * holds the maximum number of events, whichever comes first. The partial
+     * batch, if any, is emitted when this stream completes.
+     * 
+     * @param timespan
+     *            how long to collect events after the first event of a batch
+     * @param timeUnit
+     *            time unit for the provided timespan.
+     * @param maxCount
+     *            the maximum number of events in a batch
+     * @return an {@link EventStream} that emits batches of events
+     */
+    public final EventStream<List<E>> buffer(long timespan, TimeUnit timeUnit, int maxCount) {
+        return lift(new OperatorBuffer<>(eventLoop, timespan, timeUnit, maxCount));
+    }
+    
+    /**
+     * Splits this stream into windows of the provided size, each window is
+     * emitted as an event stream that completes after its last event. The open
+     * window, if any, is completed when this stream completes.
+     * 
+     * @param count
+     *            the number of events in a window
+     * @return an {@link EventStream} that emits windows of events
+     */
+    public final EventStream<EventStream<E>> window(int count) {
+        return lift(new OperatorWindow<>(count));
+    }
+    
+    /**
+     * Splits this stream into windows, each window is emitted as an event
+     * stream that completes once the timespan has elapsed since its first
+     * event. The open window, if any, is completed when this stream completes.
+     * 
+     * @param timespan
+     *            how long a window stays open after its first event
+     * @param timeUnit
+     *            time unit for the provided timespan.
+     * @return an {@link EventStream} that emits windows of events
+     */
+    public final EventStream<EventStream<E>> window(long timespan, TimeUnit timeUnit) {
+        return window(timespan, timeUnit, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Splits this stream into windows, each window is emitted as an event
+     * stream that completes once the timespan has elapsed since its first
+     * event or once it has emitted the maximum number of events, whichever
+     * comes first. The open window, if any, is completed when this stream
+     * completes.
+     * 
+     * @param timespan
+     *            how long a window stays open after its first event
+     * @param timeUnit
+     *            time unit for the provided timespan.
+     * @param maxCount
+     *            the maximum number of events in a window
+     * @return an {@link EventStream} that emits windows of events
+     */
+    public final EventStream<EventStream<E>> window(long timespan, TimeUnit timeUnit, int maxCount) {
+        return lift(new OperatorWindow<>(eventLoop, timespan, timeUnit, maxCount));
+    }
+    
     /**
      * Scans this stream by combining the previously computed value of R with
      * every event that is emitted generating a new R.
@@ -335,6 +495,35 @@ public class EventStream<E> {
         return lift(new OperatorSwitchMap<>(switchFunction));
     }
     
+    /**
+     * Transforms each event of this stream into a stream and merges the events
+     * of all of the created streams, see {@link #flatten(EventStream)}.
+     * 
+     * @param mapper
+     *            some function that creates a stream for each event of this
+     *            stream.
+     * @return a new event stream that emits the events of the created streams.
+     */
+    public final <R> EventStream<R> flatMap(Function<E, EventStream<R>> mapper) {
+        return flatten(map(mapper));
+    }
+    
+    /**
+     * Like {@link #flatMap(Function)}, except that at most maxConcurrency of
+     * the created streams are observed at a time, see
+     * {@link #flatten(EventStream, int)}.
+     * 
+     * @param mapper
+     *            some function that creates a stream for each event of this
+     *            stream.
+     * @param maxConcurrency
+     *            the maximum number of created streams to observe at a time
+     * @return a new event stream that emits the events of the created streams.
+     */
+    public final <R> EventStream<R> flatMap(Function<E, EventStream<R>> mapper, int maxConcurrency) {
+        return flatten(map(mapper), maxConcurrency);
+    }
+    
     /**
      * Like {@link #switchMap(Function)}, except that the switchMap creates
      * property streams. The property stream that is created, will have the same
@@ -540,4 +729,20 @@ public class EventStream<E> {
     public final static <E> EventStream<E> flatten(EventStream<EventStream<E>> streamOfStreams) {
         return new EventStream<>(new FlattenPublisher<>(streamOfStreams));
     }
+    
+    /**
+     * Removes one level of nesting from a stream of streams, observing at most
+     * maxConcurrency of the nested streams at a time. The nested streams that
+     * are emitted while as many streams are observed are queued until one of
+     * the observed streams completes.
+     * 
+     * @param streamOfStreams
+     *            a stream of streams to flatten
+     * @param maxConcurrency
+     *            the maximum number of nested streams to observe at a time
+     * @return a new event stream with one level of nesting removed.
+     */
+    public final static <E> EventStream<E> flatten(EventStream<EventStream<E>> streamOfStreams, int maxConcurrency) {
+        return new EventStream<>(new FlattenPublisher<>(streamOfStreams, maxConcurrency));
+    }
 }
@@ -15,10 +15,13 @@ package mb.rxui.event;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.function.Function;
+
 import mb.rxui.EventLoop;
 import mb.rxui.dispatcher.Dispatcher;
 import mb.rxui.dispatcher.EventDispatcher;
 import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventIngress.OverflowPolicy;
 import mb.rxui.event.publisher.EventPublisher;
 import mb.rxui.subscription.Subscription;
 
@@ -63,6 +66,52 @@ public class EventSubject<E> extends EventStream<E> implements EventSource<E>, D
         publisher.dispose();
     }
     
+    /**
+     * Creates an ingress that can be used to publish events into this subject
+     * from any thread, see {@link EventIngress}. The ingress is disposed along
+     * with this subject.
+     * 
+     * @param capacity
+     *            the maximum number of events waiting to be published
+     * @param policy
+     *            what to do with the events published while the ingress is
+     *            full, cannot be {@link OverflowPolicy#CONFLATE_BY_KEY}, see
+     *            {@link #createIngress(int, Function)}
+     * @return a new {@link EventIngress}
+     * @throws IllegalStateException
+     *             if called from a thread other than the thread that this event
+     *             subject was created on.
+     */
+    public final EventIngress<E> createIngress(int capacity, OverflowPolicy policy) {
+        return createIngress(capacity, policy, null);
+    }
+    
+    /**
+     * Creates an ingress that conflates the events with the same key, see
+     * {@link OverflowPolicy#CONFLATE_BY_KEY}.
+     * 
+     * @param capacity
+     *            the maximum number of keys waiting to be published
+     * @param keyFunction
+     *            provides the key of an event, i.e. the symbol of a quote
+     * @return a new {@link EventIngress}
+     * @throws IllegalStateException
+     *             if called from a thread other than the thread that this event
+     *             subject was created on.
+     */
+    public final EventIngress<E> createIngress(int capacity, Function<? super E, ?> keyFunction) {
+        return createIngress(capacity, OverflowPolicy.CONFLATE_BY_KEY, requireNonNull(keyFunction));
+    }
+    
+    private EventIngress<E> createIngress(int capacity, OverflowPolicy policy, Function<? super E, ?> keyFunction) {
+        eventLoop.checkInEventLoop();
+        
+        EventIngress<E> ingress = new EventIngress<>(this, eventLoop, capacity, policy, keyFunction);
+        onCompleted(ingress::dispose);
+        
+        return ingress;
+    }
+    
     /**
      * @return true if this event subject has observers, false otherwise.
      * @throws IllegalStateException
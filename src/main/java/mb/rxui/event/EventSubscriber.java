@@ -16,6 +16,8 @@ package mb.rxui.event;
 import static java.util.Objects.requireNonNull;
 import static mb.rxui.Callbacks.runSafeCallback;
 
+import java.util.function.Consumer;
+
 import mb.rxui.Subscriber;
 import mb.rxui.subscription.Subscription;
 
@@ -35,13 +37,16 @@ import mb.rxui.subscription.Subscription;
 public class EventSubscriber<E> extends Subscriber implements EventObserver<E>, Subscription {
     
     private final EventObserver<E> observer;
+    private final Consumer<E> onEvent;
     
     public EventSubscriber(EventObserver<E> observer) {
         this.observer = requireNonNull(observer);
+        this.onEvent = observer::onEvent;
     }
     
     public EventSubscriber(EventSubscriber<E> subscriber) {
         this.observer = subscriber;
+        this.onEvent = subscriber::onEvent;
         doOnDispose(subscriber::dispose);
     }
     
@@ -50,7 +55,7 @@ public class EventSubscriber<E> extends Subscriber implements EventObserver<E>,
         if(isDisposed())
             return;
         
-        runSafeCallback(() -> observer.onEvent(event));
+        runSafeCallback(onEvent, event);
     }
 
     @Override
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import java.util.function.Consumer;
+
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubscriber;
+import mb.rxui.event.publisher.LiftEventPublisher;
+
+/**
+ * An operator that can be fused with the fusible operators next to it, so
+ * that a chain of fusible operators is subscribed as a single subscriber, see
+ * {@link LiftEventPublisher#create(Operator, mb.rxui.event.publisher.EventPublisher)}.
+ * <p>
+ * A fusible operator only transforms events, it completes when its parent
+ * stream completes and it does not schedule anything.
+ * 
+ * @param <Parent>
+ *            parent stream data type (original stream)
+ * @param <Child>
+ *            child stream data type (new stream)
+ */
+public interface FusibleOperator<Parent, Child> extends Operator<Parent, Child> {
+    
+    /**
+     * Creates the consumer of the parent events of a new subscription. Any
+     * state of the operator must be created by this method, so that it is
+     * not shared between subscriptions.
+     * 
+     * @param child
+     *            the consumer of the child events
+     * @return a consumer of the parent events that transforms them and passes
+     *         them to the child consumer.
+     */
+    Consumer<Parent> fuse(Consumer<Child> child);
+    
+    /**
+     * Fuses this operator with the provided operator.
+     * 
+     * @param next
+     *            some fusible operator that transforms the child events of this
+     *            operator
+     * @return a new {@link FusibleOperator} that applies this operator, then
+     *         the provided operator.
+     */
+    default <R> FusibleOperator<Parent, R> fuseWith(FusibleOperator<Child, R> next) {
+        return child -> fuse(next.fuse(child));
+    }
+    
+    @Override
+    default EventSubscriber<Parent> apply(EventSubscriber<Child> childSubscriber) {
+        return new EventSubscriber<>(EventObserver.create(fuse(childSubscriber::onEvent), childSubscriber::onCompleted));
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubscriber;
+
+/**
+ * An Operator that rate limits the lifted event stream by opening a window
+ * with the first event and emitting the latest event at the end of that
+ * window. The next event after the window opens a new window.
+ * <p>
+ * Unlike {@link OperatorDebounce}, the window is not extended by the events
+ * that are emitted during it, so this operator keeps emitting events under
+ * continuous input. Unlike {@link OperatorSample}, each window starts with an
+ * event, so the first event after a silence is always delayed by a full
+ * window.
+ * <p>
+ * NOTE: like {@link OperatorDebounce}, the event that is waiting for the end
+ * of the window when the lifted stream completes is not emitted.
+ * 
+ * @param <M>
+ *            type of events this operator audits.
+ */
+public class OperatorAudit<M> implements Operator<M, M> {
+    
+    private final EventLoop eventLoop;
+    private final long window;
+    private final TimeUnit timeUnit;
+    
+    public OperatorAudit(EventLoop eventLoop, long window, TimeUnit timeUnit) {
+        checkArgument(window > 0, "The window must be positive [" + window + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.window = window;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        AuditObserver sourceObserver = new AuditObserver(childSubscriber);
+        
+        childSubscriber.doOnDispose(sourceObserver::closeWindow);
+        
+        return new EventSubscriber<>(sourceObserver);
+    }
+    
+    private class AuditObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable emitLatestEvent = this::emitLatestEvent;
+        
+        private Disposable currentWindow;
+        private M latestEvent;
+        
+        public AuditObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            latestEvent = event;
+            
+            if (currentWindow == null)
+                currentWindow = eventLoop.schedule(emitLatestEvent, window, timeUnit);
+        }
+
+        @Override
+        public void onCompleted() {
+            closeWindow();
+            childSubscriber.onCompleted();
+        }
+        
+        private void emitLatestEvent() {
+            M event = latestEvent;
+            latestEvent = null;
+            currentWindow = null;
+            
+            childSubscriber.onEvent(event);
+        }
+        
+        private void closeWindow() {
+            if (currentWindow != null)
+                currentWindow.dispose();
+            
+            currentWindow = null;
+            latestEvent = null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubscriber;
+
+/**
+ * An Operator that collects the events of the lifted event stream into
+ * batches, emitted as lists. A batch is emitted once it holds the maximum
+ * number of events, or once the timespan has elapsed since its first event,
+ * whichever comes first.
+ * <p>
+ * A batch is only started by an event, so no empty batches are emitted and a
+ * silent stream does not wake the event loop. The partial batch, if any, is
+ * emitted when the lifted stream completes.
+ * <p>
+ * NOTE: Emitted batches are handed over to the observers, so a new list is
+ * allocated for each batch. It is pre-sized to the size of the previous batch,
+ * bounded by the maximum number of events, so a large maximum does not cost a
+ * large allocation for every small batch.
+ * 
+ * @param <M>
+ *            type of events this operator buffers.
+ */
+public class OperatorBuffer<M> implements Operator<M, List<M>> {
+    
+    private static final int DEFAULT_CAPACITY = 16;
+    
+    private final EventLoop eventLoop;
+    private final long timespan;
+    private final TimeUnit timeUnit;
+    private final int maxCount;
+    
+    /**
+     * Creates a buffer operator that emits batches of a fixed number of
+     * events.
+     * 
+     * @param count
+     *            the number of events in a batch
+     */
+    public OperatorBuffer(int count) {
+        checkArgument(count > 0, "The count must be positive [" + count + "]");
+        
+        this.eventLoop = null;
+        this.timespan = 0;
+        this.timeUnit = null;
+        this.maxCount = count;
+    }
+    
+    /**
+     * Creates a buffer operator that emits batches of the events received
+     * during a timespan, bounded by a maximum number of events.
+     * 
+     * @param eventLoop
+     *            the event loop used to schedule the end of the timespans
+     * @param timespan
+     *            how long to collect events after the first event of a batch
+     * @param timeUnit
+     *            the time unit of the timespan
+     * @param maxCount
+     *            the maximum number of events in a batch, use
+     *            {@link Integer#MAX_VALUE} for no maximum
+     */
+    public OperatorBuffer(EventLoop eventLoop, long timespan, TimeUnit timeUnit, int maxCount) {
+        checkArgument(timespan > 0, "The timespan must be positive [" + timespan + "]");
+        checkArgument(maxCount > 0, "The max count must be positive [" + maxCount + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.timespan = timespan;
+        this.timeUnit = requireNonNull(timeUnit);
+        this.maxCount = maxCount;
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<List<M>> childSubscriber) {
+        BufferObserver sourceObserver = new BufferObserver(childSubscriber);
+        
+        childSubscriber.doOnDispose(sourceObserver::discardBatch);
+        
+        return new EventSubscriber<>(sourceObserver);
+    }
+    
+    private boolean isTimed() {
+        return eventLoop != null;
+    }
+    
+    private class BufferObserver implements EventObserver<M> {
+        private final EventSubscriber<List<M>> childSubscriber;
+        private final Runnable emitBatch = this::emitBatch;
+        
+        private List<M> batch;
+        private int nextCapacity = Math.min(maxCount, DEFAULT_CAPACITY);
+        private Disposable timespanEnd;
+        
+        public BufferObserver(EventSubscriber<List<M>> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            if (batch == null) {
+                batch = new ArrayList<>(nextCapacity);
+                
+                if (isTimed())
+                    timespanEnd = eventLoop.schedule(emitBatch, timespan, timeUnit);
+            }
+            
+            batch.add(event);
+            
+            if (batch.size() == maxCount)
+                emitBatch();
+        }
+
+        @Override
+        public void onCompleted() {
+            if (batch != null)
+                emitBatch();
+            
+            childSubscriber.onCompleted();
+        }
+        
+        private void emitBatch() {
+            List<M> fullBatch = batch;
+            
+            cancelTimespan();
+            batch = null;
+            
+            nextCapacity = Math.min(maxCount, Math.max(DEFAULT_CAPACITY, fullBatch.size()));
+            
+            childSubscriber.onEvent(fullBatch);
+        }
+        
+        private void discardBatch() {
+            cancelTimespan();
+            batch = null;
+        }
+        
+        private void cancelTimespan() {
+            if (timespanEnd != null)
+                timespanEnd.dispose();
+            
+            timespanEnd = null;
+        }
+    }
+}
@@ -15,11 +15,8 @@ package mb.rxui.event.operator;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
-
-import mb.rxui.event.EventObserver;
-import mb.rxui.event.EventSubscriber;
+import java.util.function.Consumer;
 
 /**
  * An operator that will transform a stream by applying a function to the current value
@@ -33,7 +30,7 @@ import mb.rxui.event.EventSubscriber;
  * @param <R>
  *            the type of the generated values.
  */
-public class OperatorChanges<E, C> implements Operator<E, C> {
+public class OperatorChanges<E, C> implements FusibleOperator<E, C> {
     
     private final BiFunction<E, E, C> changeEventFactory;
     
@@ -42,20 +39,17 @@ public class OperatorChanges<E, C> implements Operator<E, C> {
     }
 
     @Override
-    public EventSubscriber<E> apply(EventSubscriber<C> childSubscriber) {
-        AtomicReference<E> lastValue = new AtomicReference<>();
-
-        EventObserver<E> sourceObserver = 
-                EventObserver.create(value -> emitValueOrSetLast(lastValue, value, childSubscriber),
-                                     childSubscriber::onCompleted);
-        
-        return new EventSubscriber<>(sourceObserver);
-    }
-    
-    private void emitValueOrSetLast(AtomicReference<E> lastValue, E currentValue, EventSubscriber<C> subscriber) {
-        if(lastValue.get() != null) {            
-            subscriber.onEvent(changeEventFactory.apply(lastValue.get(), currentValue));
-        }
-        lastValue.set(currentValue);
+    public Consumer<E> fuse(Consumer<C> child) {
+        return new Consumer<E>() {
+            private E lastValue;
+            
+            @Override
+            public void accept(E currentValue) {
+                if(lastValue != null) {
+                    child.accept(changeEventFactory.apply(lastValue, currentValue));
+                }
+                lastValue = currentValue;
+            }
+        };
     }
 }
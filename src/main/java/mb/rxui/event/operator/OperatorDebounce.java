@@ -13,7 +13,8 @@
  */
 package mb.rxui.event.operator;
 
-import java.util.Optional;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import java.util.concurrent.TimeUnit;
 
 import mb.rxui.EventLoop;
@@ -25,6 +26,12 @@ import mb.rxui.event.EventSubscriber;
 /**
  * An Operator that will throttles emissions from the lifted event stream, such
  * that an event will only be emitted after an amount of event silence.
+ * <p>
+ * Each subscription keeps a single deadline that every event pushes back,
+ * rather than cancelling and scheduling a runnable per event. When the timer
+ * fires before the deadline, because events arrived in the meantime, it is
+ * re-armed for the remaining time, so a burst of events costs at most one
+ * scheduled runnable per delay.
  * 
  * @param <M>
  *            type of events this operator debounces.
@@ -34,27 +41,76 @@ public class OperatorDebounce<M> implements Operator<M, M> {
     
     private final EventLoop eventLoop;
     private final long delay;
-    private final TimeUnit timeUnit;
-    
-    private Optional<Disposable> currentDisposable = Optional.empty();
 
     public OperatorDebounce(EventLoop eventLoop, long delay, TimeUnit timeUnit) {
         this.eventLoop = eventLoop;
-        this.delay = delay;
-        this.timeUnit = timeUnit;
+        this.delay = timeUnit.toNanos(delay);
     }
 
     @Override
     public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        DebounceObserver sourceObserver = new DebounceObserver(childSubscriber);
         
-        EventObserver<M> sourceObserver = EventObserver.create(value -> {
-            currentDisposable.ifPresent(Disposable::dispose);
-            currentDisposable = Optional.of(eventLoop.schedule(() -> childSubscriber.onEvent(value), delay, timeUnit));
-        } , () -> {
-            currentDisposable.ifPresent(Disposable::dispose);
-            childSubscriber.onCompleted();
-        });
+        childSubscriber.doOnDispose(sourceObserver::cancel);
         
         return new EventSubscriber<>(sourceObserver);
     }
+    
+    private class DebounceObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable onTimer = this::onTimer;
+        
+        private Disposable timer;
+        private long deadline;
+        private M latestEvent;
+        private boolean hasLatestEvent = false;
+        
+        public DebounceObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            latestEvent = event;
+            hasLatestEvent = true;
+            deadline = eventLoop.now(NANOSECONDS) + delay;
+            
+            if (timer == null)
+                timer = eventLoop.schedule(onTimer, delay, NANOSECONDS);
+        }
+
+        @Override
+        public void onCompleted() {
+            cancel();
+            childSubscriber.onCompleted();
+        }
+        
+        private void onTimer() {
+            timer = null;
+            
+            if (!hasLatestEvent)
+                return;
+            
+            long remainingTime = deadline - eventLoop.now(NANOSECONDS);
+            if (remainingTime > 0) {
+                timer = eventLoop.schedule(onTimer, remainingTime, NANOSECONDS);
+                return;
+            }
+            
+            M event = latestEvent;
+            latestEvent = null;
+            hasLatestEvent = false;
+            
+            childSubscriber.onEvent(event);
+        }
+        
+        private void cancel() {
+            if (timer != null)
+                timer.dispose();
+            
+            timer = null;
+            latestEvent = null;
+            hasLatestEvent = false;
+        }
+    }
 }
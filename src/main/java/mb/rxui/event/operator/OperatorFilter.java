@@ -15,11 +15,9 @@ package mb.rxui.event.operator;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import mb.rxui.event.EventObserver;
-import mb.rxui.event.EventSubscriber;
-
 /**
  * Filters values from an event stream, such that only those values which
  * satisfy the provided predicate are emitted.
@@ -27,7 +25,7 @@ import mb.rxui.event.EventSubscriber;
  * @param <T>
  *            the type of values filtered by this operator
  */
-public final class OperatorFilter<T> implements Operator<T, T> {
+public final class OperatorFilter<T> implements FusibleOperator<T, T> {
     
     private final Predicate<T> predicate;
     
@@ -36,13 +34,10 @@ public final class OperatorFilter<T> implements Operator<T, T> {
     }
 
     @Override
-    public EventSubscriber<T> apply(EventSubscriber<T> childSubscriber) {
-
-        EventObserver<T> sourceObserver = EventObserver.create(value -> {
+    public Consumer<T> fuse(Consumer<T> child) {
+        return value -> {
             if (predicate.test(value))
-                childSubscriber.onEvent(value);
-        } , childSubscriber::onCompleted);
-
-        return new EventSubscriber<>(sourceObserver);
+                child.accept(value);
+        };
     }
 }
@@ -15,11 +15,9 @@ package mb.rxui.event.operator;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
-import mb.rxui.event.EventObserver;
-import mb.rxui.event.EventSubscriber;
-
 /**
  * An {@link Operator} that transforms the emitted events of a stream by some
  * function.
@@ -29,7 +27,7 @@ import mb.rxui.event.EventSubscriber;
  * @param <R>
  *            the type of the child stream
  */
-public class OperatorMap<I, R> implements Operator<I, R> {
+public class OperatorMap<I, R> implements FusibleOperator<I, R> {
     
     private final Function<I, R> mapper;
 
@@ -38,12 +36,7 @@ public class OperatorMap<I, R> implements Operator<I, R> {
     }
 
     @Override
-    public EventSubscriber<I> apply(EventSubscriber<R> childSubscriber) {
-
-        EventObserver<I> sourceObserver = 
-                EventObserver.create(value -> childSubscriber.onEvent(mapper.apply(value)),
-                                           childSubscriber::onCompleted);
-        
-        return new EventSubscriber<>(sourceObserver);
+    public Consumer<I> fuse(Consumer<R> child) {
+        return value -> child.accept(mapper.apply(value));
     }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubscriber;
+
+/**
+ * An Operator that rate limits the lifted event stream by emitting, once per
+ * period, the latest event emitted during that period, if any.
+ * <p>
+ * The sampling starts with the first event and stops at the end of the first
+ * period without events, so that a silent stream does not keep waking the
+ * event loop. Under continuous input an event is emitted at the end of every
+ * period.
+ * <p>
+ * NOTE: like {@link OperatorDebounce}, the event that is waiting for the end
+ * of the period when the lifted stream completes is not emitted.
+ * 
+ * @param <M>
+ *            type of events this operator samples.
+ */
+public class OperatorSample<M> implements Operator<M, M> {
+    
+    private final EventLoop eventLoop;
+    private final long period;
+    private final TimeUnit timeUnit;
+    
+    public OperatorSample(EventLoop eventLoop, long period, TimeUnit timeUnit) {
+        checkArgument(period > 0, "The period must be positive [" + period + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.period = period;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        SampleObserver sourceObserver = new SampleObserver(childSubscriber);
+        
+        childSubscriber.doOnDispose(sourceObserver::stopSampling);
+        
+        return new EventSubscriber<>(sourceObserver);
+    }
+    
+    private class SampleObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable sample = this::sample;
+        
+        private Disposable nextSample;
+        private M latestEvent;
+        private boolean hasLatestEvent = false;
+        
+        public SampleObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            latestEvent = event;
+            hasLatestEvent = true;
+            
+            if (nextSample == null)
+                nextSample = eventLoop.schedule(sample, period, timeUnit);
+        }
+
+        @Override
+        public void onCompleted() {
+            stopSampling();
+            childSubscriber.onCompleted();
+        }
+        
+        private void sample() {
+            if (!hasLatestEvent) {
+                nextSample = null;
+                return;
+            }
+            
+            M event = latestEvent;
+            latestEvent = null;
+            hasLatestEvent = false;
+            
+            nextSample = eventLoop.schedule(sample, period, timeUnit);
+            childSubscriber.onEvent(event);
+        }
+        
+        private void stopSampling() {
+            if (nextSample != null)
+                nextSample.dispose();
+            
+            nextSample = null;
+            latestEvent = null;
+            hasLatestEvent = false;
+        }
+    }
+}
@@ -15,11 +15,8 @@ package mb.rxui.event.operator;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
-
-import mb.rxui.event.EventObserver;
-import mb.rxui.event.EventSubscriber;
+import java.util.function.Consumer;
 
 /**
  * An operator that will scan a stream and add the previous generated value with all emitted events.
@@ -29,7 +26,7 @@ import mb.rxui.event.EventSubscriber;
  * @param <E> the type of the events scanned
  * @param <R> the type of the generated values.
  */
-public class OperatorScan<E, R> implements Operator<E, R> {
+public class OperatorScan<E, R> implements FusibleOperator<E, R> {
    
     private final BiFunction<E, R, R> scanFunction;
     private final R seed;
@@ -40,19 +37,18 @@ public class OperatorScan<E, R> implements Operator<E, R> {
     }
     
     @Override
-    public EventSubscriber<E> apply(EventSubscriber<R> childSubscriber) {
+    public Consumer<E> fuse(Consumer<R> child) {
         // FIXME: this call escapes the re-entrancy protection since it does not go through the dispatcher.
-        childSubscriber.onEvent(seed);
-        
-        AtomicReference<R> lastValue = new AtomicReference<>(seed);
-
-        EventObserver<E> sourceObserver = 
-                EventObserver.create(value -> { 
-                                         lastValue.set(scanFunction.apply(value, lastValue.get()));
-                                         childSubscriber.onEvent(lastValue.get());
-                                     },
-                                     childSubscriber::onCompleted);
+        child.accept(seed);
         
-        return new EventSubscriber<>(sourceObserver);
+        return new Consumer<E>() {
+            private R lastValue = seed;
+            
+            @Override
+            public void accept(E value) {
+                lastValue = scanFunction.apply(value, lastValue);
+                child.accept(lastValue);
+            }
+        };
     }
 }
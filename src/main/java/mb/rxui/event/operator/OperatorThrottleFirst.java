@@ -0,0 +1,92 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubscriber;
+
+/**
+ * An Operator that rate limits the lifted event stream by emitting the first
+ * event and then ignoring the events that follow it until the window has
+ * elapsed. The next event after the window opens a new window.
+ * <p>
+ * Unlike {@link OperatorDebounce}, this operator keeps emitting events under
+ * continuous input, at most one per window.
+ * 
+ * @param <M>
+ *            type of events this operator throttles.
+ */
+public class OperatorThrottleFirst<M> implements Operator<M, M> {
+    
+    private final EventLoop eventLoop;
+    private final long window;
+    private final TimeUnit timeUnit;
+    
+    public OperatorThrottleFirst(EventLoop eventLoop, long window, TimeUnit timeUnit) {
+        checkArgument(window > 0, "The window must be positive [" + window + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.window = window;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        ThrottleFirstObserver sourceObserver = new ThrottleFirstObserver(childSubscriber);
+        
+        childSubscriber.doOnDispose(sourceObserver::closeWindow);
+        
+        return new EventSubscriber<>(sourceObserver);
+    }
+    
+    private class ThrottleFirstObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        
+        private Disposable currentWindow;
+        
+        public ThrottleFirstObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            if (currentWindow != null)
+                return;
+            
+            currentWindow = eventLoop.schedule(() -> currentWindow = null, window, timeUnit);
+            childSubscriber.onEvent(event);
+        }
+
+        @Override
+        public void onCompleted() {
+            closeWindow();
+            childSubscriber.onCompleted();
+        }
+        
+        private void closeWindow() {
+            if (currentWindow == null)
+                return;
+            
+            currentWindow.dispose();
+            currentWindow = null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventStream;
+import mb.rxui.event.EventSubject;
+import mb.rxui.event.EventSubscriber;
+
+/**
+ * An Operator that splits the lifted event stream into windows, emitted as
+ * event streams. A window is completed once it has emitted the maximum
+ * number of events, or once the timespan has elapsed since its first event,
+ * whichever comes first.
+ * <p>
+ * A window is only opened by an event, it is emitted right before its first
+ * event so that it can be observed synchronously, i.e. to fold it with
+ * {@link EventStream#scan(java.util.function.BiFunction, Object)}. The open
+ * window, if any, is completed when the lifted stream completes.
+ * 
+ * @param <M>
+ *            type of events this operator splits into windows.
+ */
+public class OperatorWindow<M> implements Operator<M, EventStream<M>> {
+    
+    private final EventLoop eventLoop;
+    private final long timespan;
+    private final TimeUnit timeUnit;
+    private final int maxCount;
+    
+    /**
+     * Creates a window operator that emits windows of a fixed number of
+     * events.
+     * 
+     * @param count
+     *            the number of events in a window
+     */
+    public OperatorWindow(int count) {
+        checkArgument(count > 0, "The count must be positive [" + count + "]");
+        
+        this.eventLoop = null;
+        this.timespan = 0;
+        this.timeUnit = null;
+        this.maxCount = count;
+    }
+    
+    /**
+     * Creates a window operator that emits windows of the events received
+     * during a timespan, bounded by a maximum number of events.
+     * 
+     * @param eventLoop
+     *            the event loop used to schedule the end of the timespans
+     * @param timespan
+     *            how long a window stays open after its first event
+     * @param timeUnit
+     *            the time unit of the timespan
+     * @param maxCount
+     *            the maximum number of events in a window, use
+     *            {@link Integer#MAX_VALUE} for no maximum
+     */
+    public OperatorWindow(EventLoop eventLoop, long timespan, TimeUnit timeUnit, int maxCount) {
+        checkArgument(timespan > 0, "The timespan must be positive [" + timespan + "]");
+        checkArgument(maxCount > 0, "The max count must be positive [" + maxCount + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.timespan = timespan;
+        this.timeUnit = requireNonNull(timeUnit);
+        this.maxCount = maxCount;
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<EventStream<M>> childSubscriber) {
+        WindowObserver sourceObserver = new WindowObserver(childSubscriber);
+        
+        childSubscriber.doOnDispose(sourceObserver::closeWindow);
+        
+        return new EventSubscriber<>(sourceObserver);
+    }
+    
+    private boolean isTimed() {
+        return eventLoop != null;
+    }
+    
+    private class WindowObserver implements EventObserver<M> {
+        private final EventSubscriber<EventStream<M>> childSubscriber;
+        private final Runnable closeWindow = this::closeWindow;
+        
+        private EventSubject<M> window;
+        private int windowCount;
+        private Disposable timespanEnd;
+        
+        public WindowObserver(EventSubscriber<EventStream<M>> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+        
+        @Override
+        public void onEvent(M event) {
+            EventSubject<M> currentWindow = window;
+            
+            if (currentWindow == null) {
+                currentWindow = window = EventSubject.create();
+                windowCount = 0;
+                
+                if (isTimed())
+                    timespanEnd = eventLoop.schedule(closeWindow, timespan, timeUnit);
+                
+                childSubscriber.onEvent(currentWindow);
+            }
+            
+            // a disposed window ignores the event
+            currentWindow.publish(event);
+            
+            if (currentWindow == window && ++windowCount == maxCount)
+                closeWindow();
+        }
+
+        @Override
+        public void onCompleted() {
+            closeWindow();
+            childSubscriber.onCompleted();
+        }
+        
+        private void closeWindow() {
+            EventSubject<M> currentWindow = window;
+            window = null;
+            
+            if (timespanEnd != null)
+                timespanEnd.dispose();
+            
+            timespanEnd = null;
+            
+            if (currentWindow != null)
+                currentWindow.dispose();
+        }
+    }
+}
@@ -14,6 +14,10 @@
 package mb.rxui.event.publisher;
 
 import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import mb.rxui.event.EventObserver;
 import mb.rxui.event.EventStream;
@@ -22,7 +26,15 @@ import mb.rxui.subscription.CompositeSubscription;
 import mb.rxui.subscription.Subscription;
 
 /**
- * A Flatten Publisher can flatten a nested stream of stream into a stream.
+ * A Flatten Publisher can flatten a nested stream of stream into a stream.<br>
+ * <br>
+ * At most maxConcurrency nested streams are observed at a time, the streams
+ * that are emitted while as many streams are observed are queued and observed,
+ * in order, as the observed streams complete. The subscription of a nested
+ * stream is released as soon as it completes.<br>
+ * <br>
+ * NOTE: The flattened stream completes when the stream of streams completes,
+ * the queued streams are then dropped.
  * 
  * @param <E>
  *            the type of events published by the stream of streams
@@ -30,9 +42,16 @@ import mb.rxui.subscription.Subscription;
 public class FlattenPublisher<E> implements EventPublisher<E> {
     
     private final EventStream<EventStream<E>> streamOfStreams;
+    private final int maxConcurrency;
     
     public FlattenPublisher(EventStream<EventStream<E>> streamOfStreams) {
+        this(streamOfStreams, Integer.MAX_VALUE);
+    }
+    
+    public FlattenPublisher(EventStream<EventStream<E>> streamOfStreams, int maxConcurrency) {
+        checkArgument(maxConcurrency > 0, "The max concurrency must be positive [" + maxConcurrency + "]");
         this.streamOfStreams = requireNonNull(streamOfStreams);
+        this.maxConcurrency = maxConcurrency;
     }
 
     @Override
@@ -41,16 +60,95 @@ public class FlattenPublisher<E> implements EventPublisher<E> {
         EventSubscriber<E> flattenSubscriber = new EventSubscriber<>(observer);
 
         CompositeSubscription subscriptions = new CompositeSubscription();
+        FlattenObserver flattenObserver = new FlattenObserver(flattenSubscriber, subscriptions);
         
         Subscription streamSub = 
-                streamOfStreams.map(stream -> stream.onEvent(flattenSubscriber::onEvent))
-                               .observe(EventObserver.create(subscriptions::add,
+                streamOfStreams.observe(EventObserver.create(flattenObserver::onStream,
                                                              flattenSubscriber::onCompleted));
 
         subscriptions.add(streamSub);
 
         flattenSubscriber.doOnDispose(subscriptions::dispose);
+        flattenSubscriber.doOnDispose(flattenObserver::clear);
 
         return flattenSubscriber;
     }
+    
+    private final class FlattenObserver {
+        private final EventSubscriber<E> flattenSubscriber;
+        private final CompositeSubscription subscriptions;
+        private final Deque<EventStream<E>> queuedStreams = new ArrayDeque<>();
+        
+        private int observedCount = 0;
+        private boolean isDraining = false;
+        
+        private FlattenObserver(EventSubscriber<E> flattenSubscriber, CompositeSubscription subscriptions) {
+            this.flattenSubscriber = flattenSubscriber;
+            this.subscriptions = subscriptions;
+        }
+        
+        private void onStream(EventStream<E> stream) {
+            queuedStreams.add(stream);
+            drain();
+        }
+        
+        private void drain() {
+            // a stream that completes as soon as it is observed drains from the loop below
+            if (isDraining)
+                return;
+            
+            isDraining = true;
+            try {
+                while (observedCount < maxConcurrency && !queuedStreams.isEmpty() && !flattenSubscriber.isDisposed())
+                    observe(queuedStreams.poll());
+            } finally {
+                isDraining = false;
+            }
+        }
+        
+        private void observe(EventStream<E> stream) {
+            observedCount++;
+            
+            NestedObserver nestedObserver = new NestedObserver();
+            Subscription subscription = stream.observe(nestedObserver);
+            
+            if (nestedObserver.isCompleted)
+                return;
+            
+            nestedObserver.subscription = subscription;
+            subscriptions.add(subscription);
+        }
+        
+        private void onNestedCompleted(NestedObserver nestedObserver) {
+            observedCount--;
+            
+            if (nestedObserver.subscription != null)
+                subscriptions.remove(nestedObserver.subscription);
+            
+            drain();
+        }
+        
+        private void clear() {
+            queuedStreams.clear();
+        }
+        
+        private final class NestedObserver implements EventObserver<E> {
+            private Subscription subscription;
+            private boolean isCompleted = false;
+            
+            @Override
+            public void onEvent(E event) {
+                flattenSubscriber.onEvent(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                if (isCompleted)
+                    return;
+                
+                isCompleted = true;
+                onNestedCompleted(this);
+            }
+        }
+    }
 }
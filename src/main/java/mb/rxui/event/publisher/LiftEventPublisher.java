@@ -17,6 +17,7 @@ import static java.util.Objects.requireNonNull;
 
 import mb.rxui.event.EventObserver;
 import mb.rxui.event.EventSubscriber;
+import mb.rxui.event.operator.FusibleOperator;
 import mb.rxui.event.operator.Operator;
 import mb.rxui.subscription.Subscription;
 
@@ -51,4 +52,36 @@ public class LiftEventPublisher<T, R> implements EventPublisher<R> {
         
         return subscriber;
     }
+    
+    /**
+     * Creates a publisher that lifts the provided source publisher by the
+     * provided operator. When both the operator and the operator of the source
+     * publisher are {@link FusibleOperator}s they are fused into a single
+     * operator that lifts the source of the source publisher, so that a chain
+     * of fusible operators is subscribed as a single subscriber.
+     * 
+     * @param operator
+     *            some operator to lift the source publisher by
+     * @param sourcePublisher
+     *            the publisher to lift
+     * @return a new {@link EventPublisher}
+     */
+    public static <T, R> EventPublisher<R> create(Operator<T, R> operator, EventPublisher<T> sourcePublisher) {
+        requireNonNull(operator);
+        requireNonNull(sourcePublisher);
+        
+        if (operator instanceof FusibleOperator && sourcePublisher instanceof LiftEventPublisher)
+            return fuse((FusibleOperator<T, R>) operator, (LiftEventPublisher<?, T>) sourcePublisher);
+        
+        return new LiftEventPublisher<>(operator, sourcePublisher);
+    }
+    
+    private static <S, T, R> EventPublisher<R> fuse(FusibleOperator<T, R> operator, LiftEventPublisher<S, T> sourcePublisher) {
+        if (!(sourcePublisher.operator instanceof FusibleOperator))
+            return new LiftEventPublisher<>(operator, sourcePublisher);
+        
+        FusibleOperator<S, T> sourceOperator = (FusibleOperator<S, T>) sourcePublisher.operator;
+        
+        return new LiftEventPublisher<>(sourceOperator.fuseWith(operator), sourcePublisher.sourcePublisher);
+    }
 }
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2015 Mike Baum
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import mb.rxui.dispatcher.Dispatchers;
+
+/**
+ * Collects the values written to view properties, i.e. the text of a Swing
+ * text field, and writes them to the views once per frame. Only the last value
+ * written to a view during a frame is written to it.
+ * <p>
+ * Each view property source owns a {@link PendingWrite}, created by
+ * {@link #createPendingWrite(Supplier, Consumer)}. When frame alignment is
+ * enabled, the values written by bindings are recorded in the pending write
+ * and the first one recorded during a frame requests a flush for the next
+ * frame. The flush writes all the pending values in a single
+ * {@link Dispatchers#transaction(Runnable)}, so that the observers of the
+ * views are notified at most once per frame as well.
+ * <p>
+ * NOTE: Values that are set directly, rather than by a binding, are still
+ * written immediately and discard the pending value, if any. Model properties
+ * are never affected.
+ * <p>
+ * NOTE: A frame batcher is confined to its event loop thread.
+ */
+public final class FrameBatcher {
+
+    private final Runnable requestFlush;
+    private final Runnable flushPendingWrites = this::flushPendingWrites;
+
+    private List<PendingWrite<?>> pendingWrites = new ArrayList<>();
+    private List<PendingWrite<?>> flushingWrites = new ArrayList<>();
+    private boolean isEnabled = false;
+
+    /**
+     * @param requestFlush
+     *            called to request that {@link #flush()} be called on the next
+     *            frame, i.e. by starting an animation timer.
+     */
+    public FrameBatcher(Runnable requestFlush) {
+        this.requestFlush = requireNonNull(requestFlush);
+    }
+
+    /**
+     * @return true if the values written by bindings are deferred to the next
+     *         frame, false otherwise.
+     */
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Enables or disables frame alignment, disabling it writes the pending
+     * values immediately.
+     *
+     * @param isEnabled
+     *            true to defer the values written by bindings to the next
+     *            frame, false to write them immediately.
+     */
+    public void setEnabled(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+
+        if (!isEnabled)
+            flush();
+    }
+
+    /**
+     * Creates the pending write of a view property.
+     *
+     * @param getter
+     *            reads the current value of the view
+     * @param setter
+     *            writes a value to the view
+     * @return a new {@link PendingWrite}
+     */
+    public <M> PendingWrite<M> createPendingWrite(Supplier<M> getter, Consumer<M> setter) {
+        return new PendingWrite<>(getter, setter);
+    }
+
+    /**
+     * Writes all the pending values to their views. Values written while
+     * flushing are written on the next frame.
+     */
+    public void flush() {
+        if (pendingWrites.isEmpty())
+            return;
+
+        Dispatchers.getInstance().transaction(flushPendingWrites);
+    }
+
+    private void flushPendingWrites() {
+        List<PendingWrite<?>> toFlush = pendingWrites;
+        pendingWrites = flushingWrites;
+        flushingWrites = toFlush;
+
+        try {
+            for (int index = 0; index < toFlush.size(); index++)
+                runSafeCallback(PendingWrite::flush, toFlush.get(index));
+        } finally {
+            toFlush.clear();
+        }
+    }
+
+    /**
+     * The value that is waiting to be written to a view.
+     *
+     * @param <M>
+     *            the type of the value
+     */
+    public final class PendingWrite<M> {
+        private final Supplier<M> getter;
+        private final Consumer<M> setter;
+
+        private M value;
+        private boolean isPending = false;
+
+        private PendingWrite(Supplier<M> getter, Consumer<M> setter) {
+            this.getter = requireNonNull(getter);
+            this.setter = requireNonNull(setter);
+        }
+
+        /**
+         * Writes the provided value to the view, on the next frame if it is
+         * written by a binding while frame alignment is enabled, immediately
+         * otherwise.
+         *
+         * @param newValue
+         *            the value to write
+         */
+        public void setValue(M newValue) {
+            if (isEnabled && Dispatchers.getInstance().isDispatchingBinding()) {
+                value = newValue;
+
+                if (!isPending) {
+                    isPending = true;
+                    pendingWrites.add(this);
+
+                    if (pendingWrites.size() == 1)
+                        requestFlush.run();
+                }
+            } else {
+                cancel();
+                setter.accept(newValue);
+            }
+        }
+
+        /**
+         * @return the value that is waiting to be written if any, otherwise
+         *         the current value of the view.
+         */
+        public M get() {
+            return isPending ? value : getter.get();
+        }
+
+        private void cancel() {
+            // stays in the list of pending writes, but is skipped
+            isPending = false;
+            value = null;
+        }
+
+        private void flush() {
+            if (!isPending)
+                return;
+
+            M newValue = value;
+            cancel();
+
+            if (!Objects.equals(getter.get(), newValue))
+                setter.accept(newValue);
+        }
+    }
+}
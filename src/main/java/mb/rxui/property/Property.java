@@ -125,8 +125,9 @@ public final class Property<M> extends PropertyStream<M> implements PropertySour
      *             other than a binding.
      */
     private void checkCanSetValue() {
-        boolean isNotDispatching = ! Dispatchers.getInstance().isDispatching();
-        boolean isDispatchingToBinding = Dispatchers.getInstance().isDispatchingBinding();
+        Dispatchers dispatchers = eventLoop.getDispatchers();
+        boolean isNotDispatching = ! dispatchers.isDispatching();
+        boolean isDispatchingToBinding = dispatchers.isDispatchingBinding();
         
         checkState(isNotDispatching || isDispatchingToBinding, 
                    "It is not possible to add a callback that sets the value of a property. " + 
@@ -224,6 +225,19 @@ public final class Property<M> extends PropertyStream<M> implements PropertySour
         return dispatcher.getSubscriberCount() > 0;
     }
     
+    /**
+     * Sets the values of many properties at once. The observers of the
+     * properties set by the provided runnable are only notified once it
+     * returns, each one at most once. See
+     * {@link Dispatchers#transaction(Runnable)}.
+     * 
+     * @param batch
+     *            some runnable that sets the values of properties
+     */
+    public static void batch(Runnable batch) {
+        Dispatchers.getInstance().transaction(batch);
+    }
+    
     // Factory methods
     
     /**
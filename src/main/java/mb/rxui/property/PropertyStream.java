@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -30,11 +31,15 @@ import java.util.function.Supplier;
 import mb.rxui.EventLoop;
 import mb.rxui.Preconditions;
 import mb.rxui.event.EventStream;
+import mb.rxui.property.operator.OperatorAudit;
+import mb.rxui.property.operator.OperatorCachedSwitchMap;
 import mb.rxui.property.operator.OperatorFilterToOptional;
 import mb.rxui.property.operator.OperatorIsDirty;
 import mb.rxui.property.operator.OperatorMap;
+import mb.rxui.property.operator.OperatorSample;
 import mb.rxui.property.operator.OperatorSwitchMap;
 import mb.rxui.property.operator.OperatorTake;
+import mb.rxui.property.operator.OperatorThrottleFirst;
 import mb.rxui.property.operator.PropertyConditionBuilder;
 import mb.rxui.property.operator.PropertyOperator;
 import mb.rxui.property.publisher.CombinePropertyPublisher;
@@ -220,6 +225,74 @@ public class PropertyStream<M> implements Supplier<M> {
         return asEventStream().debounce(timeout, timeUnit);
     }
     
+    /**
+     * Throttles the values dispatched by this property stream, such that a
+     * value is dispatched immediately and the values that follow it are held
+     * back until the window has elapsed. The latest value held back, if any,
+     * is dispatched at the end of the window, so observers always end up with
+     * the latest value.
+     * 
+     * @param window
+     *            amount of time during which values are held back after a
+     *            dispatched value
+     * @param timeUnit
+     *            time unit for the provided window.
+     * @return a new {@link PropertyStream} that dispatches at most one value
+     *         per window.
+     */
+    public final PropertyStream<M> throttleFirst(long window, TimeUnit timeUnit) {
+        return lift(new OperatorThrottleFirst<>(eventLoop, window, timeUnit));
+    }
+    
+    /**
+     * Samples this property stream, such that the current value is dispatched
+     * immediately and then the latest value of each period is dispatched at
+     * the end of that period. Periods without changes dispatch nothing.
+     * 
+     * @param period
+     *            the sampling period
+     * @param timeUnit
+     *            time unit for the provided period.
+     * @return a new {@link PropertyStream} that dispatches at most one value
+     *         per period.
+     */
+    public final PropertyStream<M> sample(long period, TimeUnit timeUnit) {
+        return lift(new OperatorSample<>(eventLoop, period, timeUnit));
+    }
+    
+    /**
+     * Throttles the values dispatched by this property stream, such that only
+     * the latest value of each period is dispatched, see
+     * {@link #sample(long, TimeUnit)}.
+     * 
+     * @param period
+     *            the sampling period
+     * @param timeUnit
+     *            time unit for the provided period.
+     * @return a new {@link PropertyStream} that dispatches at most one value
+     *         per period.
+     */
+    public final PropertyStream<M> throttleLast(long period, TimeUnit timeUnit) {
+        return sample(period, timeUnit);
+    }
+    
+    /**
+     * Audits this property stream, such that the current value is dispatched
+     * immediately and then a change opens a window at the end of which the
+     * latest value is dispatched.
+     * 
+     * @param window
+     *            amount of time to wait after a change before dispatching the
+     *            latest value
+     * @param timeUnit
+     *            time unit for the provided window.
+     * @return a new {@link PropertyStream} that dispatches at most one value
+     *         per window.
+     */
+    public final PropertyStream<M> audit(long window, TimeUnit timeUnit) {
+        return lift(new OperatorAudit<>(eventLoop, window, timeUnit));
+    }
+    
     /**
      * Creates a new {@link PropertyStream} that checks if the current value
      * of this property stream equals the provided value.
@@ -352,6 +425,47 @@ public class PropertyStream<M> implements Supplier<M> {
         return lift(new OperatorSwitchMap<>(switchFunction));
     }
     
+    /**
+     * Like {@link #switchMap(Function)}, except that the streams produced by
+     * the switch function are cached, so that switching back to one of the
+     * cacheCapacity most recently used values reuses its stream rather than
+     * calling the switch function again.
+     * 
+     * @param switchFunction
+     *            function that can be used to switch between a set of source
+     *            property streams.
+     * @param cacheCapacity
+     *            the maximum number of streams to cache
+     * @return a new property stream that uses the provided switchFunction to
+     *         switch between a set of source property streams.
+     */
+    public final <R> PropertyStream<R> switchMap(Function<M, PropertyStream<R>> switchFunction, int cacheCapacity) {
+        return switchMap(switchFunction, cacheCapacity, (value, stream) -> {});
+    }
+    
+    /**
+     * Like {@link #switchMap(Function, int)}, except that the provided listener
+     * is called with the streams that are evicted from the cache, i.e.
+     * {@link OperatorCachedSwitchMap#disposeOnEvict()} to dispose the
+     * properties created by the switch function.
+     * 
+     * @param switchFunction
+     *            function that can be used to switch between a set of source
+     *            property streams.
+     * @param cacheCapacity
+     *            the maximum number of streams to cache
+     * @param onEvicted
+     *            some listener of the values and streams that are evicted from
+     *            the cache.
+     * @return a new property stream that uses the provided switchFunction to
+     *         switch between a set of source property streams.
+     */
+    public final <R> PropertyStream<R> switchMap(Function<M, PropertyStream<R>> switchFunction, 
+                                                 int cacheCapacity, 
+                                                 BiConsumer<M, PropertyStream<R>> onEvicted) {
+        return lift(new OperatorCachedSwitchMap<>(switchFunction, cacheCapacity, onEvicted));
+    }
+    
     /**
      * Using the provided operator creates a new, converted property stream.
      * 
@@ -16,7 +16,7 @@ package mb.rxui.property;
 import static java.util.Objects.requireNonNull;
 import static mb.rxui.Callbacks.runSafeCallback;
 
-import java.util.Optional;
+import java.util.function.Consumer;
 
 import mb.rxui.Subscriber;
 
@@ -36,11 +36,14 @@ import mb.rxui.Subscriber;
 public class PropertySubscriber<M> extends Subscriber implements PropertyObserver<M> {
     
     private final PropertyObserver<M> observer;
+    private final Consumer<M> onChanged;
     
-    private Optional<M> lastValue = Optional.empty();
+    private M lastValue;
+    private boolean hasLastValue = false;
     
     public PropertySubscriber(PropertyObserver<M> observer) {
         this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
     }
 
     @Override
@@ -48,12 +51,13 @@ public class PropertySubscriber<M> extends Subscriber implements PropertyObserve
         if(isDisposed())
             return;
         
-        if(lastValue.isPresent() && lastValue.get().equals(newValue))
+        if(hasLastValue && lastValue.equals(newValue))
             return;
         
-        lastValue = Optional.of(newValue);
+        lastValue = newValue;
+        hasLastValue = true;
         
-        runSafeCallback(() -> observer.onChanged(newValue));
+        runSafeCallback(onChanged, newValue);
     }
     
     @Override
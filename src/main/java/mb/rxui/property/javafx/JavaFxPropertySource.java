@@ -16,22 +16,35 @@ package mb.rxui.property.javafx;
 import static java.util.Objects.requireNonNull;
 import static mb.rxui.EventLoop.JAVAFX_EVENT_LOOP;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.property.Property;
 import javafx.beans.value.ChangeListener;
 import mb.rxui.dispatcher.Dispatcher;
 import mb.rxui.dispatcher.PropertyDispatcher;
 import mb.rxui.disposables.Disposable;
+import mb.rxui.property.FrameBatcher;
+import mb.rxui.property.FrameBatcher.PendingWrite;
 import mb.rxui.property.PropertySource;
 
 /**
  * A property source for JavaFx properties
+ * <p>
+ * When frame alignment is enabled, see {@link #setFrameAligned(boolean)}, the
+ * values that bindings write to JavaFx properties are collected and written
+ * once per frame, on the next pulse of an {@link AnimationTimer}.
  * 
  * @param <M>
  *            the type of data the property represents.
  */
 public class JavaFxPropertySource<M> implements PropertySource<M> {
     
+    private static final FrameBatcher FRAME_BATCHER = new FrameBatcher(JavaFxPropertySource::requestFramePulse);
+    
+    // created lazily, since it requires the JavaFx toolkit
+    private static AnimationTimer framePulse;
+    
     private final Property<M> fxProperty;
+    private final PendingWrite<M> pendingWrite;
     
     /**
      * Creates a JavaFx property source
@@ -42,17 +55,58 @@ public class JavaFxPropertySource<M> implements PropertySource<M> {
     JavaFxPropertySource(Property<M> fxProperty, PropertyDispatcher<M> dispatcher) {
         JAVAFX_EVENT_LOOP.checkInEventLoop();
         this.fxProperty = requireNonNull(fxProperty);
+        this.pendingWrite = FRAME_BATCHER.createPendingWrite(fxProperty::getValue, fxProperty::setValue);
         dispatcher.onDisposed(addPropertyListener(dispatcher, fxProperty));
     }
     
     @Override
     public void setValue(M newValue) {
-        fxProperty.setValue(newValue);
+        pendingWrite.setValue(newValue);
     }
 
     @Override
     public M get() {
-        return fxProperty.getValue();
+        return pendingWrite.get();
+    }
+    
+    /**
+     * Enables or disables frame alignment for all the JavaFx property sources.
+     * 
+     * @param isFrameAligned
+     *            true to write the values of bindings to JavaFx properties once
+     *            per frame, false to write them immediately.
+     * @throws IllegalStateException
+     *             if called from a thread other than the JavaFx Platform thread.
+     */
+    public static void setFrameAligned(boolean isFrameAligned) {
+        JAVAFX_EVENT_LOOP.checkInEventLoop();
+        FRAME_BATCHER.setEnabled(isFrameAligned);
+    }
+    
+    /**
+     * @return true if the values of bindings are written to JavaFx properties
+     *         once per frame, false otherwise.
+     * @throws IllegalStateException
+     *             if called from a thread other than the JavaFx Platform thread.
+     */
+    public static boolean isFrameAligned() {
+        JAVAFX_EVENT_LOOP.checkInEventLoop();
+        return FRAME_BATCHER.isEnabled();
+    }
+    
+    private static void requestFramePulse() {
+        if (framePulse == null) {
+            framePulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    // only one pulse is needed per flush
+                    stop();
+                    FRAME_BATCHER.flush();
+                }
+            };
+        }
+        
+        framePulse.start();
     }
     
     private static <M> Disposable addPropertyListener(PropertyDispatcher<M> dispatcher, Property<M> property) {
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.PropertySubscriber;
+import mb.rxui.property.publisher.PropertyPublisher;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * An operator that rate limits the values dispatched to subscribers by opening
+ * a window with the first change and dispatching the latest value at the end
+ * of that window. The current value is dispatched immediately on
+ * subscription.<br>
+ * <br>
+ * NOTE: the get method of the new {@link PropertyStream} created via this
+ * operator will always return the latest value of the property stream it
+ * was derived from.
+ * 
+ * @param <M>
+ *            the type of value the property provides
+ */
+public class OperatorAudit<M> implements PropertyOperator<M, M> {
+
+    private final EventLoop eventLoop;
+    private final long window;
+    private final TimeUnit timeUnit;
+    
+    public OperatorAudit(EventLoop eventLoop, long window, TimeUnit timeUnit) {
+        checkArgument(window > 0, "The window must be positive [" + window + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.window = window;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+    
+    @Override
+    public PropertyPublisher<M> apply(PropertyPublisher<M> source) {
+        
+        return new PropertyPublisher<M>() {
+
+            @Override
+            public M get() {
+                return source.get();
+            }
+            
+            @Override
+            public Subscription subscribe(PropertyObserver<M> observer) {
+                PropertySubscriber<M> auditSubscriber = new AuditSubscriber(observer);
+                
+                Subscription sourceSubscriber = 
+                        source.subscribe(PropertyObserver.<M>create(auditSubscriber::onChanged, auditSubscriber::onDisposed));
+                
+                auditSubscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return auditSubscriber;
+            }
+        };
+    }
+    
+    private class AuditSubscriber extends PropertySubscriber<M> {
+        
+        private final Runnable dispatchLatestValue = this::dispatchLatestValue;
+        
+        private Disposable currentWindow;
+        private M latestValue;
+        private boolean hasDispatchedCurrentValue = false;
+        
+        public AuditSubscriber(PropertyObserver<M> observer) {
+            super(observer);
+            doOnDispose(this::closeWindow);
+        }
+        
+        @Override
+        public void onChanged(M newValue) {
+            if (isDisposed())
+                return;
+            
+            if (!hasDispatchedCurrentValue) {
+                hasDispatchedCurrentValue = true;
+                super.onChanged(newValue);
+                return;
+            }
+            
+            latestValue = newValue;
+            
+            if (currentWindow == null)
+                currentWindow = eventLoop.schedule(dispatchLatestValue, window, timeUnit);
+        }
+        
+        private void dispatchLatestValue() {
+            M newValue = latestValue;
+            latestValue = null;
+            currentWindow = null;
+            
+            super.onChanged(newValue);
+        }
+        
+        private void closeWindow() {
+            if (currentWindow != null)
+                currentWindow.dispose();
+            
+            currentWindow = null;
+            latestValue = null;
+        }
+    }
+}
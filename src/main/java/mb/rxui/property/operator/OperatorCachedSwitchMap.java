@@ -0,0 +1,180 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.PropertySubscriber;
+import mb.rxui.property.publisher.PropertyPublisher;
+import mb.rxui.subscription.RollingSubscription;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * Like {@link OperatorSwitchMap}, except that the property streams produced
+ * by the switch function are cached, by the value they were produced for, so
+ * that switching back to a recent value reuses its stream rather than calling
+ * the switch function again.<br>
+ * <br>
+ * The cache keeps the streams of at most cacheCapacity values, the stream of
+ * the least recently used value is evicted first and passed to the eviction
+ * listener, see {@link #disposeOnEvict()}. The listener is called once the
+ * cache is updated, therefore it can read the switched stream. All the
+ * streams are evicted when a subscriber of the switched stream is notified
+ * that the source stream is disposed.<br>
+ * <br>
+ * NOTE: The streams cached by calls to get() while the switched stream has no
+ * subscribers are only passed to the eviction listener if they are evicted
+ * for capacity, or if the switched stream is subscribed to after the source
+ * stream is disposed.<br>
+ * <br>
+ * NOTE: The values of the source stream are used as keys, therefore they must
+ * implement equals and hashCode.
+ *
+ * @param <M>
+ *            the type of the parent stream
+ * @param <R>
+ *            the type of the switched child stream
+ */
+public class OperatorCachedSwitchMap<M, R> implements PropertyOperator<M, R> {
+    
+    private final Function<M, PropertyStream<R>> switchMapFunction;
+    private final int cacheCapacity;
+    private final BiConsumer<M, PropertyStream<R>> onEvicted;
+    
+    public OperatorCachedSwitchMap(Function<M, PropertyStream<R>> switchMapFunction, 
+                                   int cacheCapacity, 
+                                   BiConsumer<M, PropertyStream<R>> onEvicted) {
+        checkArgument(cacheCapacity > 0, "The cache capacity must be positive [" + cacheCapacity + "]");
+        this.switchMapFunction = requireNonNull(switchMapFunction);
+        this.cacheCapacity = cacheCapacity;
+        this.onEvicted = requireNonNull(onEvicted);
+    }
+    
+    /**
+     * @return an eviction listener that disposes the evicted streams that are
+     *         {@link Disposable}, i.e. properties created by the switch
+     *         function.
+     */
+    public static <M, R> BiConsumer<M, PropertyStream<R>> disposeOnEvict() {
+        return (value, stream) -> {
+            if (stream instanceof Disposable)
+                ((Disposable) stream).dispose();
+        };
+    }
+
+    @Override
+    public PropertyPublisher<R> apply(PropertyPublisher<M> sourcePublisher) {
+        
+        return new PropertyPublisher<R>() {
+            
+            private final StreamCache cache = new StreamCache();
+
+            @Override
+            public R get() {
+                return cache.getStream(sourcePublisher.get()).get();
+            }
+
+            @Override
+            public Subscription subscribe(PropertyObserver<R> childObserver) {
+                RollingSubscription sourceSubscription = new RollingSubscription();
+                
+                PropertySubscriber<R> childSubscriber = new PropertySubscriber<>(childObserver);
+                
+                PropertyObserver<M> sourceObserver = PropertyObserver.create(value -> {
+                    sourceSubscription.set(cache.getStream(value).onChanged(childSubscriber::onChanged));
+                } , () -> {
+                    childSubscriber.onDisposed();
+                    cache.evictAll();
+                });
+                
+                Subscription subscription = sourcePublisher.subscribe(sourceObserver);
+                
+                childSubscriber.doOnDispose(sourceSubscription::dispose);
+                childSubscriber.doOnDispose(subscription::dispose);
+
+                return childSubscriber;
+            }
+        };
+    }
+    
+    /**
+     * A least recently used cache of the streams produced by the switch
+     * function.
+     */
+    private final class StreamCache extends LinkedHashMap<M, PropertyStream<R>> {
+        private static final long serialVersionUID = 1L;
+        
+        private Map.Entry<M, PropertyStream<R>> eldestEntry;
+
+        private StreamCache() {
+            super(16, 0.75f, true);
+        }
+        
+        private PropertyStream<R> getStream(M value) {
+            PropertyStream<R> stream = get(value);
+            
+            if (stream == null) {
+                stream = requireNonNull(switchMapFunction.apply(value), "The switch function must produce a stream");
+                put(value, stream);
+                evictEldestEntry();
+            }
+            
+            return stream;
+        }
+        
+        private void evictAll() {
+            List<Map.Entry<M, PropertyStream<R>>> evicted = new ArrayList<>(size());
+            forEach((value, stream) -> evicted.add(new SimpleImmutableEntry<>(value, stream)));
+            clear();
+            evicted.forEach(this::evict);
+        }
+        
+        private void evictEldestEntry() {
+            if (eldestEntry == null)
+                return;
+            
+            // the listener can read the cache again, i.e. by disposing an observed property
+            Map.Entry<M, PropertyStream<R>> entry = eldestEntry;
+            eldestEntry = null;
+            evict(entry);
+        }
+        
+        private void evict(Map.Entry<M, PropertyStream<R>> entry) {
+            runSafeCallback(() -> onEvicted.accept(entry.getKey(), entry.getValue()));
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<M, PropertyStream<R>> eldest) {
+            if (size() <= cacheCapacity)
+                return false;
+            
+            // evicted once put returns, the map must not be modified while it is updated
+            eldestEntry = new SimpleImmutableEntry<>(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    }
+}
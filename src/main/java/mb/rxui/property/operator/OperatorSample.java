@@ -0,0 +1,134 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.PropertySubscriber;
+import mb.rxui.property.publisher.PropertyPublisher;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * An operator that rate limits the values dispatched to subscribers by
+ * dispatching, once per period, the latest value of the period, if any. The
+ * current value is dispatched immediately on subscription.<br>
+ * <br>
+ * The sampling starts with the first change and stops at the end of the first
+ * period without changes, so that a property that does not change does not
+ * keep waking the event loop.<br>
+ * <br>
+ * NOTE: the get method of the new {@link PropertyStream} created via this
+ * operator will always return the latest value of the property stream it
+ * was derived from.
+ * 
+ * @param <M>
+ *            the type of value the property provides
+ */
+public class OperatorSample<M> implements PropertyOperator<M, M> {
+
+    private final EventLoop eventLoop;
+    private final long period;
+    private final TimeUnit timeUnit;
+    
+    public OperatorSample(EventLoop eventLoop, long period, TimeUnit timeUnit) {
+        checkArgument(period > 0, "The period must be positive [" + period + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.period = period;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+    
+    @Override
+    public PropertyPublisher<M> apply(PropertyPublisher<M> source) {
+        
+        return new PropertyPublisher<M>() {
+
+            @Override
+            public M get() {
+                return source.get();
+            }
+            
+            @Override
+            public Subscription subscribe(PropertyObserver<M> observer) {
+                PropertySubscriber<M> sampleSubscriber = new SampleSubscriber(observer);
+                
+                Subscription sourceSubscriber = 
+                        source.subscribe(PropertyObserver.<M>create(sampleSubscriber::onChanged, sampleSubscriber::onDisposed));
+                
+                sampleSubscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return sampleSubscriber;
+            }
+        };
+    }
+    
+    private class SampleSubscriber extends PropertySubscriber<M> {
+        
+        private final Runnable sample = this::sample;
+        
+        private Disposable nextSample;
+        private M latestValue;
+        private boolean hasDispatchedCurrentValue = false;
+        
+        public SampleSubscriber(PropertyObserver<M> observer) {
+            super(observer);
+            doOnDispose(this::stopSampling);
+        }
+        
+        @Override
+        public void onChanged(M newValue) {
+            if (isDisposed())
+                return;
+            
+            if (!hasDispatchedCurrentValue) {
+                hasDispatchedCurrentValue = true;
+                super.onChanged(newValue);
+                return;
+            }
+            
+            latestValue = newValue;
+            
+            if (nextSample == null)
+                nextSample = eventLoop.schedule(sample, period, timeUnit);
+        }
+        
+        private void sample() {
+            if (latestValue == null) {
+                nextSample = null;
+                return;
+            }
+            
+            M newValue = latestValue;
+            latestValue = null;
+            
+            nextSample = eventLoop.schedule(sample, period, timeUnit);
+            super.onChanged(newValue);
+        }
+        
+        private void stopSampling() {
+            if (nextSample != null)
+                nextSample.dispose();
+            
+            nextSample = null;
+            latestValue = null;
+        }
+    }
+}
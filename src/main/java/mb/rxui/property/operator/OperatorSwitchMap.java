@@ -61,7 +61,7 @@ public class OperatorSwitchMap<M, R> implements PropertyOperator<M, R> {
                 
                 PropertyObserver<M> sourceObserver = PropertyObserver.create(value -> {
                     currentStream = switchMapFunction.apply(value);
-                    sourceSubscription.set(switchMapFunction.apply(value).onChanged(childSubscriber::onChanged));
+                    sourceSubscription.set(currentStream.onChanged(childSubscriber::onChanged));
                 } , childSubscriber::onDisposed);
                 
                 Subscription subscription = sourcePublisher.subscribe(sourceObserver);
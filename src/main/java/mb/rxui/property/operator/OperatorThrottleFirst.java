@@ -0,0 +1,126 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.operator;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import mb.rxui.EventLoop;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.PropertySubscriber;
+import mb.rxui.property.publisher.PropertyPublisher;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * An operator that rate limits the values dispatched to subscribers by
+ * dispatching a value immediately and then holding back the values that follow
+ * it until the window has elapsed. At the end of the window the latest value
+ * held back, if any, is dispatched and opens a new window, so that subscribers
+ * always end up with the latest value.<br>
+ * <br>
+ * NOTE: the get method of the new {@link PropertyStream} created via this
+ * operator will always return the latest value of the property stream it
+ * was derived from.
+ * 
+ * @param <M>
+ *            the type of value the property provides
+ */
+public class OperatorThrottleFirst<M> implements PropertyOperator<M, M> {
+
+    private final EventLoop eventLoop;
+    private final long window;
+    private final TimeUnit timeUnit;
+    
+    public OperatorThrottleFirst(EventLoop eventLoop, long window, TimeUnit timeUnit) {
+        checkArgument(window > 0, "The window must be positive [" + window + "]");
+        
+        this.eventLoop = requireNonNull(eventLoop);
+        this.window = window;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+    
+    @Override
+    public PropertyPublisher<M> apply(PropertyPublisher<M> source) {
+        
+        return new PropertyPublisher<M>() {
+
+            @Override
+            public M get() {
+                return source.get();
+            }
+            
+            @Override
+            public Subscription subscribe(PropertyObserver<M> observer) {
+                PropertySubscriber<M> throttleSubscriber = new ThrottleFirstSubscriber(observer);
+                
+                Subscription sourceSubscriber = 
+                        source.subscribe(PropertyObserver.<M>create(throttleSubscriber::onChanged, throttleSubscriber::onDisposed));
+                
+                throttleSubscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return throttleSubscriber;
+            }
+        };
+    }
+    
+    private class ThrottleFirstSubscriber extends PropertySubscriber<M> {
+        
+        private final Runnable closeWindow = this::closeWindow;
+        
+        private Disposable currentWindow;
+        private M heldBackValue;
+        
+        public ThrottleFirstSubscriber(PropertyObserver<M> observer) {
+            super(observer);
+            doOnDispose(this::cancelWindow);
+        }
+        
+        @Override
+        public void onChanged(M newValue) {
+            if (isDisposed())
+                return;
+            
+            if (currentWindow != null) {
+                heldBackValue = newValue;
+                return;
+            }
+            
+            currentWindow = eventLoop.schedule(closeWindow, window, timeUnit);
+            super.onChanged(newValue);
+        }
+        
+        private void closeWindow() {
+            currentWindow = null;
+            
+            if (heldBackValue == null)
+                return;
+            
+            M newValue = heldBackValue;
+            heldBackValue = null;
+            onChanged(newValue);
+        }
+        
+        private void cancelWindow() {
+            if (currentWindow != null)
+                currentWindow.dispose();
+            
+            currentWindow = null;
+            heldBackValue = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.DoubleConsumer;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of the events of a {@link DoubleEventStream}, it is notified of
+ * the double events without boxing them.
+ */
+public interface DoubleEventObserver extends Observer<Double> {
+
+    /**
+     * Called whenever the stream this observer observes emits a new event
+     * 
+     * @param event
+     *            some event, emitted by the stream this observer observes.
+     */
+    void onEvent(double event);
+    
+    /**
+     * Called when the stream that this observer observes is completed.
+     */
+    void onCompleted();
+    
+    // Factory methods
+
+    static DoubleEventObserver create(DoubleConsumer eventHandler) {
+        return create(eventHandler, () -> {});
+    }
+
+    static DoubleEventObserver create(DoubleConsumer eventHandler, Runnable onCompleted) {
+        return create(eventHandler, onCompleted, false);
+    }
+
+    static DoubleEventObserver create(DoubleConsumer eventHandler, Runnable onCompleted, boolean isBinding) {
+        requireNonNull(eventHandler);
+        requireNonNull(onCompleted);
+        
+        return new DoubleEventObserver() {
+            @Override
+            public void onEvent(double event) {
+                eventHandler.accept(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                onCompleted.run();
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
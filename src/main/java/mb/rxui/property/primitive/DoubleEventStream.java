@@ -0,0 +1,245 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+import mb.rxui.EventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventStream;
+import mb.rxui.event.EventSubscriber;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * A stream of double events, the events are emitted and transformed without
+ * boxing them. This is the double specialization of an {@link EventStream}, see
+ * {@link #boxed()} and {@link #from(EventStream, ToDoubleFunction)} to convert
+ * from one to the other.
+ */
+public class DoubleEventStream {
+    
+    private final DoubleEventPublisher eventPublisher;
+    private final EventLoop eventLoop;
+    
+    /**
+     * Creates a new {@link DoubleEventStream}
+     * @param eventPublisher some event publisher to back this event stream.
+     */
+    protected DoubleEventStream(DoubleEventPublisher eventPublisher) {
+        this.eventPublisher = requireNonNull(eventPublisher);
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    /**
+     * Creates an event stream for the provided event publisher.
+     * 
+     * @param eventPublisher
+     *            some event publisher
+     * @return a new {@link DoubleEventStream} that is linked to the provided
+     *         publisher
+     */
+    public static DoubleEventStream create(DoubleEventPublisher eventPublisher) {
+        return new DoubleEventStream(eventPublisher);
+    }
+    
+    /**
+     * Adds an observer to this event stream.
+     * 
+     * @param observer
+     *            some event observer
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this stream
+     *             was created from.
+     */
+    public final Subscription observe(DoubleEventObserver observer) {
+        eventLoop.checkInEventLoop();
+        return eventPublisher.subscribe(observer);
+    }
+    
+    /**
+     * Adds an event handler to this event stream.
+     * 
+     * @param eventHandler
+     *            some handler of the events emitted by this stream
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onEvent(DoubleConsumer eventHandler) {
+        return observe(DoubleEventObserver.create(eventHandler));
+    }
+    
+    /**
+     * Adds some {@link Runnable} to execute when this stream is completed.
+     * 
+     * @param onCompleted
+     *            some runnable to run when this stream is completed.
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onCompleted(Runnable onCompleted) {
+        return observe(DoubleEventObserver.create(event -> {}, onCompleted));
+    }
+    
+    /**
+     * Creates a new stream that transforms the events emitted by this stream
+     * by the provided mapper.
+     * 
+     * @param mapper
+     *            some function to transform the events emitted by this stream.
+     * @return a new {@link DoubleEventStream}
+     */
+    public final DoubleEventStream map(DoubleUnaryOperator mapper) {
+        requireNonNull(mapper);
+        return lift(child -> event -> child.accept(mapper.applyAsDouble(event)));
+    }
+    
+    /**
+     * Creates a new stream that only emits the events of this stream that
+     * satisfy the provided predicate.
+     * 
+     * @param predicate
+     *            some predicate to filter this stream by.
+     * @return a new {@link DoubleEventStream}
+     */
+    public final DoubleEventStream filter(DoublePredicate predicate) {
+        requireNonNull(predicate);
+        return lift(child -> event -> {
+            if (predicate.test(event))
+                child.accept(event);
+        });
+    }
+    
+    /**
+     * Scans this stream by combining the previously computed value with every
+     * event that is emitted, see
+     * {@link EventStream#scan(java.util.function.BiFunction, Object)}. The seed
+     * is emitted upon subscribing.
+     * 
+     * @param accumulator
+     *            some function that is called with each event and the
+     *            previously computed value, starting with the seed.
+     * @param seed
+     *            the initial value
+     * @return a new {@link DoubleEventStream} of the computed values.
+     */
+    public final DoubleEventStream scan(DoubleBinaryOperator accumulator, double seed) {
+        requireNonNull(accumulator);
+        return lift(child -> {
+            child.accept(seed);
+            
+            return new DoubleConsumer() {
+                private double lastValue = seed;
+                
+                @Override
+                public void accept(double event) {
+                    lastValue = accumulator.applyAsDouble(event, lastValue);
+                    child.accept(lastValue);
+                }
+            };
+        });
+    }
+    
+    /**
+     * Creates a new {@link EventStream} that transforms the events emitted by
+     * this stream by the provided mapper.
+     * 
+     * @param mapper
+     *            some function to transform the events emitted by this stream.
+     * @return a new {@link EventStream}
+     */
+    public final <R> EventStream<R> mapToObj(DoubleFunction<R> mapper) {
+        requireNonNull(mapper);
+        return new EventStream<>(observer -> {
+            EventSubscriber<R> subscriber = new EventSubscriber<>(observer);
+            
+            Subscription subscription = 
+                    observe(DoubleEventObserver.create(event -> subscriber.onEvent(mapper.apply(event)), subscriber::onCompleted, subscriber.isBinding()));
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+    
+    /**
+     * @return a new {@link EventStream} that emits the events of this stream,
+     *         boxed.
+     */
+    public final EventStream<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+    
+    private DoubleEventStream lift(Function<DoubleConsumer, DoubleConsumer> operator) {
+        return new DoubleEventStream(observer -> {
+            DoubleEventSubscriber subscriber = new DoubleEventSubscriber(observer);
+            
+            Subscription subscription = 
+                    eventPublisher.subscribe(DoubleEventObserver.create(operator.apply(subscriber::onEvent), subscriber::onCompleted, subscriber.isBinding()));
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+    
+    /**
+     * Creates a double event stream from the provided event stream.
+     * 
+     * @param stream
+     *            some event stream
+     * @param mapper
+     *            some function that converts the events of the stream to doubles
+     * @return a new {@link DoubleEventStream}
+     */
+    public static <E> DoubleEventStream from(EventStream<E> stream, ToDoubleFunction<E> mapper) {
+        requireNonNull(stream);
+        requireNonNull(mapper);
+        
+        return new DoubleEventStream(observer -> {
+            DoubleEventSubscriber subscriber = new DoubleEventSubscriber(observer);
+            
+            Subscription subscription = 
+                    stream.observe(new EventObserver<E>() {
+                        @Override
+                        public void onEvent(E event) {
+                            subscriber.onEvent(mapper.applyAsDouble(event));
+                        }
+                        
+                        @Override
+                        public void onCompleted() {
+                            subscriber.onCompleted();
+                        }
+                        
+                        @Override
+                        public boolean isBinding() {
+                            return subscriber.isBinding();
+                        }
+                    });
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+}
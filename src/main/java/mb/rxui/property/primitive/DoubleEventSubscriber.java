@@ -0,0 +1,61 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Callbacks.runSafeDoubleCallback;
+
+import java.util.function.DoubleConsumer;
+
+import mb.rxui.Subscriber;
+
+/**
+ * A subscriber used when subscribing to a {@link DoubleEventStream}.
+ * <p>
+ * NOTE: Once completed, the subscriber will ignore future calls to
+ * {@link #onEvent(double)} or {@link #onCompleted()}.
+ */
+public class DoubleEventSubscriber extends Subscriber implements DoubleEventObserver {
+    
+    private final DoubleEventObserver observer;
+    private final DoubleConsumer onEvent;
+    
+    public DoubleEventSubscriber(DoubleEventObserver observer) {
+        this.observer = requireNonNull(observer);
+        this.onEvent = observer::onEvent;
+    }
+    
+    @Override
+    public void onEvent(double event) {
+        if(isDisposed())
+            return;
+        
+        runSafeDoubleCallback(onEvent, event);
+    }
+
+    @Override
+    public void onCompleted() {
+        if(isDisposed())
+            return;
+        
+        runSafeCallback(observer::onCompleted);
+        dispose();
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+}
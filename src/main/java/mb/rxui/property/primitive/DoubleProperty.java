@@ -0,0 +1,275 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkState;
+import static mb.rxui.dispatcher.Dispatcher.createPrimitivePropertyDispatcher;
+
+import java.util.function.DoubleSupplier;
+
+import mb.rxui.EventLoop;
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.dispatcher.PrimitivePropertyDispatcher;
+import mb.rxui.dispatcher.PrimitivePropertyObserver;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.primitive.DoublePropertySource.DoublePropertySourceFactory;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * A double property, that is a {@link Property} that holds a double without boxing
+ * it. It respects the same contract as a {@link Property}, including the glitch
+ * protection and {@link Property#batch(Runnable)}, since it is dispatched by
+ * the same dispatchers.
+ * <p>
+ * NOTE: The observers are notified with the value of the property at the time
+ * they are called, therefore the values set while a notification is deferred,
+ * i.e. during a transaction, are always coalesced.
+ */
+public final class DoubleProperty extends DoublePropertyStream implements DoublePropertySource, Disposable {
+    
+    private final DoublePropertySource propertySource;
+    private final PrimitivePropertyDispatcher<DoubleSupplier> dispatcher;
+    private final double initialValue;
+    private final EventLoop eventLoop;
+    
+    private DoubleProperty(DoublePropertySource propertySource, PrimitivePropertyDispatcher<DoubleSupplier> dispatcher) {
+        super(createPublisher(propertySource, dispatcher));
+        this.propertySource = requireNonNull(propertySource);
+        this.dispatcher = requireNonNull(dispatcher);
+        this.initialValue = propertySource.getAsDouble();
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+        dispatcher.dispose();
+    }
+    
+    /**
+     * @throws IllegalStateException see {@link Property#setValue(Object)}
+     */
+    @Override
+    public void setValue(double value) {
+        eventLoop.checkInEventLoop();
+        
+        // blocks reentrant calls
+        if (dispatcher.isDispatching())
+            return;
+        
+        // once a property is disposed it is frozen
+        if (dispatcher.isDisposed())
+            return;
+        
+        // don't update the value if it's the same as the current value
+        if (Double.doubleToLongBits(propertySource.getAsDouble()) == Double.doubleToLongBits(value))
+            return;
+        
+        // blows up with an illegal state exception if an attempt is made to set the value via a non-binding callback.
+        checkCanSetValue();
+        
+        propertySource.setValue(value);
+    }
+    
+    private void checkCanSetValue() {
+        Dispatchers dispatchers = eventLoop.getDispatchers();
+        boolean isNotDispatching = ! dispatchers.isDispatching();
+        boolean isDispatchingToBinding = dispatchers.isDispatchingBinding();
+        
+        checkState(isNotDispatching || isDispatchingToBinding, 
+                   "It is not possible to add a callback that sets the value of a property. " + 
+                   "You must use bind to connect a stream to this property");
+    }
+    
+    /**
+     * Resets this property to it's initial value.
+     * 
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    public final void reset() {
+        setValue(initialValue);
+    }
+    
+    /**
+     * Binds this property to the provided property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(DoublePropertyStream propertyToBindTo) {
+        return propertyToBindTo.observe(new DoublePropertyObserver() {
+            @Override
+            public void onChanged(double newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided boxed property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(PropertyStream<Double> propertyToBindTo) {
+        return propertyToBindTo.observe(new PropertyObserver<Double>() {
+            @Override
+            public void onChanged(Double newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided event stream, see
+     * {@link Property#bind(mb.rxui.event.EventStream)}.
+     * 
+     * @param streamToBindTo
+     *            some event stream to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(DoubleEventStream streamToBindTo) {
+        return streamToBindTo.observe(new DoubleEventObserver() {
+            @Override
+            public void onEvent(double event) {
+                setValue(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    public final boolean hasObservers() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.getSubscriberCount() > 0;
+    }
+    
+    private static DoublePropertyPublisher createPublisher(DoublePropertySource propertySource, PrimitivePropertyDispatcher<DoubleSupplier> dispatcher) {
+        return new DoublePropertyPublisher() {
+            @Override
+            public double getAsDouble() {
+                return propertySource.getAsDouble();
+            }
+            
+            @Override
+            public Subscription subscribe(DoublePropertyObserver observer) {
+                DoublePropertySubscriber subscriber = new DoublePropertySubscriber(observer);
+                
+                Subscription dispatcherSubscriber = dispatcher.subscribe(new PrimitivePropertyObserver<DoubleSupplier>() {
+                    @Override
+                    public void onChanged(DoubleSupplier source) {
+                        subscriber.onChanged(source.getAsDouble());
+                    }
+                    
+                    @Override
+                    public void onDisposed() {
+                        subscriber.onDisposed();
+                    }
+                    
+                    @Override
+                    public boolean isBinding() {
+                        return observer.isBinding();
+                    }
+                });
+                
+                subscriber.doOnDispose(dispatcherSubscriber::dispose);
+                
+                // push the latest value to the subscriber
+                subscriber.onChanged(propertySource.getAsDouble());
+                
+                // dispose if this property is already disposed
+                if (dispatcher.isDisposed())
+                    subscriber.onDisposed();
+                
+                return subscriber;
+            }
+        };
+    }
+    
+    // Factory methods
+    
+    /**
+     * Creates a property using the provided property source factory.
+     * 
+     * @param propertySourceFactory
+     *            some factory that can be used to create a property source.
+     * @return a new {@link DoubleProperty}
+     */
+    public static DoubleProperty create(DoublePropertySourceFactory propertySourceFactory) {
+        PrimitivePropertyDispatcher<DoubleSupplier> dispatcher = createPrimitivePropertyDispatcher();
+        return new DoubleProperty(propertySourceFactory.apply(dispatcher), dispatcher);
+    }
+    
+    /**
+     * Creates a property that is initialized with the provided value.
+     * 
+     * @param initialValue
+     *            some initial value for this property
+     * @return a new {@link DoubleProperty}
+     */
+    public static DoubleProperty create(double initialValue) {
+        return create(dispatcher -> new DoublePropertySource() {
+            private double value = initialValue;
+            
+            @Override
+            public double getAsDouble() {
+                return value;
+            }
+            
+            @Override
+            public void setValue(double newValue) {
+                value = newValue;
+                dispatcher.dispatch(this);
+            }
+        });
+    }
+}
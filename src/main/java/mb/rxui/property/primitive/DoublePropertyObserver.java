@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.DoubleConsumer;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of the changes of a {@link DoublePropertyStream}, it is notified of
+ * the new double values without boxing them.
+ */
+public interface DoublePropertyObserver extends Observer<Double> {
+    void onChanged(double newValue);
+
+    void onDisposed();
+    
+    // Factory methods
+
+    static DoublePropertyObserver create(DoubleConsumer onChanged) {
+        return create(onChanged, () -> {});
+    }
+
+    static DoublePropertyObserver create(Runnable onDisposed) {
+        return create(newValue -> {}, onDisposed);
+    }
+
+    static DoublePropertyObserver create(DoubleConsumer onChanged, Runnable onDisposed) {
+        return create(onChanged, onDisposed, false);
+    }
+
+    static DoublePropertyObserver create(DoubleConsumer onChanged, Runnable onDisposed, boolean isBinding) {
+        requireNonNull(onChanged);
+        requireNonNull(onDisposed);
+
+        return new DoublePropertyObserver() {
+            @Override
+            public void onChanged(double newValue) {
+                onChanged.accept(newValue);
+            }
+
+            @Override
+            public void onDisposed() {
+                onDisposed.run();
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
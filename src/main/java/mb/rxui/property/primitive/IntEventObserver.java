@@ -0,0 +1,72 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntConsumer;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of the events of an {@link IntEventStream}, it is notified of
+ * the int events without boxing them.
+ */
+public interface IntEventObserver extends Observer<Integer> {
+
+    /**
+     * Called whenever the stream this observer observes emits a new event
+     * 
+     * @param event
+     *            some event, emitted by the stream this observer observes.
+     */
+    void onEvent(int event);
+    
+    /**
+     * Called when the stream that this observer observes is completed.
+     */
+    void onCompleted();
+    
+    // Factory methods
+
+    static IntEventObserver create(IntConsumer eventHandler) {
+        return create(eventHandler, () -> {});
+    }
+
+    static IntEventObserver create(IntConsumer eventHandler, Runnable onCompleted) {
+        return create(eventHandler, onCompleted, false);
+    }
+
+    static IntEventObserver create(IntConsumer eventHandler, Runnable onCompleted, boolean isBinding) {
+        requireNonNull(eventHandler);
+        requireNonNull(onCompleted);
+        
+        return new IntEventObserver() {
+            @Override
+            public void onEvent(int event) {
+                eventHandler.accept(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                onCompleted.run();
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+import mb.rxui.EventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventStream;
+import mb.rxui.event.EventSubscriber;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * A stream of int events, the events are emitted and transformed without
+ * boxing them. This is the int specialization of an {@link EventStream}, see
+ * {@link #boxed()} and {@link #from(EventStream, ToIntFunction)} to convert
+ * from one to the other.
+ */
+public class IntEventStream {
+    
+    private final IntEventPublisher eventPublisher;
+    private final EventLoop eventLoop;
+    
+    /**
+     * Creates a new {@link IntEventStream}
+     * @param eventPublisher some event publisher to back this event stream.
+     */
+    protected IntEventStream(IntEventPublisher eventPublisher) {
+        this.eventPublisher = requireNonNull(eventPublisher);
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    /**
+     * Creates an event stream for the provided event publisher.
+     * 
+     * @param eventPublisher
+     *            some event publisher
+     * @return a new {@link IntEventStream} that is linked to the provided
+     *         publisher
+     */
+    public static IntEventStream create(IntEventPublisher eventPublisher) {
+        return new IntEventStream(eventPublisher);
+    }
+    
+    /**
+     * Adds an observer to this event stream.
+     * 
+     * @param observer
+     *            some event observer
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this stream
+     *             was created from.
+     */
+    public final Subscription observe(IntEventObserver observer) {
+        eventLoop.checkInEventLoop();
+        return eventPublisher.subscribe(observer);
+    }
+    
+    /**
+     * Adds an event handler to this event stream.
+     * 
+     * @param eventHandler
+     *            some handler of the events emitted by this stream
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onEvent(IntConsumer eventHandler) {
+        return observe(IntEventObserver.create(eventHandler));
+    }
+    
+    /**
+     * Adds some {@link Runnable} to execute when this stream is completed.
+     * 
+     * @param onCompleted
+     *            some runnable to run when this stream is completed.
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onCompleted(Runnable onCompleted) {
+        return observe(IntEventObserver.create(event -> {}, onCompleted));
+    }
+    
+    /**
+     * Creates a new stream that transforms the events emitted by this stream
+     * by the provided mapper.
+     * 
+     * @param mapper
+     *            some function to transform the events emitted by this stream.
+     * @return a new {@link IntEventStream}
+     */
+    public final IntEventStream map(IntUnaryOperator mapper) {
+        requireNonNull(mapper);
+        return lift(child -> event -> child.accept(mapper.applyAsInt(event)));
+    }
+    
+    /**
+     * Creates a new stream that only emits the events of this stream that
+     * satisfy the provided predicate.
+     * 
+     * @param predicate
+     *            some predicate to filter this stream by.
+     * @return a new {@link IntEventStream}
+     */
+    public final IntEventStream filter(IntPredicate predicate) {
+        requireNonNull(predicate);
+        return lift(child -> event -> {
+            if (predicate.test(event))
+                child.accept(event);
+        });
+    }
+    
+    /**
+     * Scans this stream by combining the previously computed value with every
+     * event that is emitted, see
+     * {@link EventStream#scan(java.util.function.BiFunction, Object)}. The seed
+     * is emitted upon subscribing.
+     * 
+     * @param accumulator
+     *            some function that is called with each event and the
+     *            previously computed value, starting with the seed.
+     * @param seed
+     *            the initial value
+     * @return a new {@link IntEventStream} of the computed values.
+     */
+    public final IntEventStream scan(IntBinaryOperator accumulator, int seed) {
+        requireNonNull(accumulator);
+        return lift(child -> {
+            child.accept(seed);
+            
+            return new IntConsumer() {
+                private int lastValue = seed;
+                
+                @Override
+                public void accept(int event) {
+                    lastValue = accumulator.applyAsInt(event, lastValue);
+                    child.accept(lastValue);
+                }
+            };
+        });
+    }
+    
+    /**
+     * Creates a new {@link EventStream} that transforms the events emitted by
+     * this stream by the provided mapper.
+     * 
+     * @param mapper
+     *            some function to transform the events emitted by this stream.
+     * @return a new {@link EventStream}
+     */
+    public final <R> EventStream<R> mapToObj(IntFunction<R> mapper) {
+        requireNonNull(mapper);
+        return new EventStream<>(observer -> {
+            EventSubscriber<R> subscriber = new EventSubscriber<>(observer);
+            
+            Subscription subscription = 
+                    observe(IntEventObserver.create(event -> subscriber.onEvent(mapper.apply(event)), subscriber::onCompleted, subscriber.isBinding()));
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+    
+    /**
+     * @return a new {@link EventStream} that emits the events of this stream,
+     *         boxed.
+     */
+    public final EventStream<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+    
+    private IntEventStream lift(Function<IntConsumer, IntConsumer> operator) {
+        return new IntEventStream(observer -> {
+            IntEventSubscriber subscriber = new IntEventSubscriber(observer);
+            
+            Subscription subscription = 
+                    eventPublisher.subscribe(IntEventObserver.create(operator.apply(subscriber::onEvent), subscriber::onCompleted, subscriber.isBinding()));
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+    
+    /**
+     * Creates an int event stream from the provided event stream.
+     * 
+     * @param stream
+     *            some event stream
+     * @param mapper
+     *            some function that converts the events of the stream to ints
+     * @return a new {@link IntEventStream}
+     */
+    public static <E> IntEventStream from(EventStream<E> stream, ToIntFunction<E> mapper) {
+        requireNonNull(stream);
+        requireNonNull(mapper);
+        
+        return new IntEventStream(observer -> {
+            IntEventSubscriber subscriber = new IntEventSubscriber(observer);
+            
+            Subscription subscription = 
+                    stream.observe(new EventObserver<E>() {
+                        @Override
+                        public void onEvent(E event) {
+                            subscriber.onEvent(mapper.applyAsInt(event));
+                        }
+                        
+                        @Override
+                        public void onCompleted() {
+                            subscriber.onCompleted();
+                        }
+                        
+                        @Override
+                        public boolean isBinding() {
+                            return subscriber.isBinding();
+                        }
+                    });
+            
+            subscriber.doOnDispose(subscription::dispose);
+            
+            return subscriber;
+        });
+    }
+}
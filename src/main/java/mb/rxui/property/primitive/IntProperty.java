@@ -0,0 +1,275 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkState;
+import static mb.rxui.dispatcher.Dispatcher.createPrimitivePropertyDispatcher;
+
+import java.util.function.IntSupplier;
+
+import mb.rxui.EventLoop;
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.dispatcher.PrimitivePropertyDispatcher;
+import mb.rxui.dispatcher.PrimitivePropertyObserver;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.primitive.IntPropertySource.IntPropertySourceFactory;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * An int property, that is a {@link Property} that holds an int without boxing
+ * it. It respects the same contract as a {@link Property}, including the glitch
+ * protection and {@link Property#batch(Runnable)}, since it is dispatched by
+ * the same dispatchers.
+ * <p>
+ * NOTE: The observers are notified with the value of the property at the time
+ * they are called, therefore the values set while a notification is deferred,
+ * i.e. during a transaction, are always coalesced.
+ */
+public final class IntProperty extends IntPropertyStream implements IntPropertySource, Disposable {
+    
+    private final IntPropertySource propertySource;
+    private final PrimitivePropertyDispatcher<IntSupplier> dispatcher;
+    private final int initialValue;
+    private final EventLoop eventLoop;
+    
+    private IntProperty(IntPropertySource propertySource, PrimitivePropertyDispatcher<IntSupplier> dispatcher) {
+        super(createPublisher(propertySource, dispatcher));
+        this.propertySource = requireNonNull(propertySource);
+        this.dispatcher = requireNonNull(dispatcher);
+        this.initialValue = propertySource.getAsInt();
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+        dispatcher.dispose();
+    }
+    
+    /**
+     * @throws IllegalStateException see {@link Property#setValue(Object)}
+     */
+    @Override
+    public void setValue(int value) {
+        eventLoop.checkInEventLoop();
+        
+        // blocks reentrant calls
+        if (dispatcher.isDispatching())
+            return;
+        
+        // once a property is disposed it is frozen
+        if (dispatcher.isDisposed())
+            return;
+        
+        // don't update the value if it's the same as the current value
+        if (propertySource.getAsInt() == value)
+            return;
+        
+        // blows up with an illegal state exception if an attempt is made to set the value via a non-binding callback.
+        checkCanSetValue();
+        
+        propertySource.setValue(value);
+    }
+    
+    private void checkCanSetValue() {
+        Dispatchers dispatchers = eventLoop.getDispatchers();
+        boolean isNotDispatching = ! dispatchers.isDispatching();
+        boolean isDispatchingToBinding = dispatchers.isDispatchingBinding();
+        
+        checkState(isNotDispatching || isDispatchingToBinding, 
+                   "It is not possible to add a callback that sets the value of a property. " + 
+                   "You must use bind to connect a stream to this property");
+    }
+    
+    /**
+     * Resets this property to it's initial value.
+     * 
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    public final void reset() {
+        setValue(initialValue);
+    }
+    
+    /**
+     * Binds this property to the provided property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(IntPropertyStream propertyToBindTo) {
+        return propertyToBindTo.observe(new IntPropertyObserver() {
+            @Override
+            public void onChanged(int newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided boxed property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(PropertyStream<Integer> propertyToBindTo) {
+        return propertyToBindTo.observe(new PropertyObserver<Integer>() {
+            @Override
+            public void onChanged(Integer newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided event stream, see
+     * {@link Property#bind(mb.rxui.event.EventStream)}.
+     * 
+     * @param streamToBindTo
+     *            some event stream to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(IntEventStream streamToBindTo) {
+        return streamToBindTo.observe(new IntEventObserver() {
+            @Override
+            public void onEvent(int event) {
+                setValue(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    public final boolean hasObservers() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.getSubscriberCount() > 0;
+    }
+    
+    private static IntPropertyPublisher createPublisher(IntPropertySource propertySource, PrimitivePropertyDispatcher<IntSupplier> dispatcher) {
+        return new IntPropertyPublisher() {
+            @Override
+            public int getAsInt() {
+                return propertySource.getAsInt();
+            }
+            
+            @Override
+            public Subscription subscribe(IntPropertyObserver observer) {
+                IntPropertySubscriber subscriber = new IntPropertySubscriber(observer);
+                
+                Subscription dispatcherSubscriber = dispatcher.subscribe(new PrimitivePropertyObserver<IntSupplier>() {
+                    @Override
+                    public void onChanged(IntSupplier source) {
+                        subscriber.onChanged(source.getAsInt());
+                    }
+                    
+                    @Override
+                    public void onDisposed() {
+                        subscriber.onDisposed();
+                    }
+                    
+                    @Override
+                    public boolean isBinding() {
+                        return observer.isBinding();
+                    }
+                });
+                
+                subscriber.doOnDispose(dispatcherSubscriber::dispose);
+                
+                // push the latest value to the subscriber
+                subscriber.onChanged(propertySource.getAsInt());
+                
+                // dispose if this property is already disposed
+                if (dispatcher.isDisposed())
+                    subscriber.onDisposed();
+                
+                return subscriber;
+            }
+        };
+    }
+    
+    // Factory methods
+    
+    /**
+     * Creates a property using the provided property source factory.
+     * 
+     * @param propertySourceFactory
+     *            some factory that can be used to create a property source.
+     * @return a new {@link IntProperty}
+     */
+    public static IntProperty create(IntPropertySourceFactory propertySourceFactory) {
+        PrimitivePropertyDispatcher<IntSupplier> dispatcher = createPrimitivePropertyDispatcher();
+        return new IntProperty(propertySourceFactory.apply(dispatcher), dispatcher);
+    }
+    
+    /**
+     * Creates a property that is initialized with the provided value.
+     * 
+     * @param initialValue
+     *            some initial value for this property
+     * @return a new {@link IntProperty}
+     */
+    public static IntProperty create(int initialValue) {
+        return create(dispatcher -> new IntPropertySource() {
+            private int value = initialValue;
+            
+            @Override
+            public int getAsInt() {
+                return value;
+            }
+            
+            @Override
+            public void setValue(int newValue) {
+                value = newValue;
+                dispatcher.dispatch(this);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntConsumer;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of the changes of an {@link IntPropertyStream}, it is notified of
+ * the new int values without boxing them.
+ */
+public interface IntPropertyObserver extends Observer<Integer> {
+    void onChanged(int newValue);
+
+    void onDisposed();
+    
+    // Factory methods
+
+    static IntPropertyObserver create(IntConsumer onChanged) {
+        return create(onChanged, () -> {});
+    }
+
+    static IntPropertyObserver create(Runnable onDisposed) {
+        return create(newValue -> {}, onDisposed);
+    }
+
+    static IntPropertyObserver create(IntConsumer onChanged, Runnable onDisposed) {
+        return create(onChanged, onDisposed, false);
+    }
+
+    static IntPropertyObserver create(IntConsumer onChanged, Runnable onDisposed, boolean isBinding) {
+        requireNonNull(onChanged);
+        requireNonNull(onDisposed);
+
+        return new IntPropertyObserver() {
+            @Override
+            public void onChanged(int newValue) {
+                onChanged.accept(newValue);
+            }
+
+            @Override
+            public void onDisposed() {
+                onDisposed.run();
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+import mb.rxui.EventLoop;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.PropertySubscriber;
+import mb.rxui.property.publisher.PropertyPublisher;
+import mb.rxui.subscription.CompositeSubscription;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * An int property that can only be observed, the values are dispatched and
+ * transformed without boxing them. This is the int specialization of a
+ * {@link PropertyStream}, see {@link #boxed()} and
+ * {@link #from(PropertyStream, ToIntFunction)} to convert from one to the
+ * other.
+ * 
+ * @see IntProperty
+ */
+public class IntPropertyStream implements IntSupplier {
+    
+    private final IntPropertyPublisher propertyPublisher;
+    private final EventLoop eventLoop;
+    
+    /**
+     * Creates a new {@link IntPropertyStream}
+     * @param propertyPublisher some property publisher to back this property stream.
+     */
+    protected IntPropertyStream(IntPropertyPublisher propertyPublisher) {
+        this.propertyPublisher = requireNonNull(propertyPublisher);
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    /**
+     * Creates a property stream for the provided property publisher, see
+     * {@link PropertyStream#create(PropertyPublisher)}.
+     * 
+     * @param propertyPublisher some property publisher
+     * @return a new {@link IntPropertyStream} that is linked to the provided publisher
+     */
+    public static IntPropertyStream create(IntPropertyPublisher propertyPublisher) {
+        return new IntPropertyStream(propertyPublisher);
+    }
+    
+    /**
+     * Gets the current value of this property.
+     * 
+     * @return the current value
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    @Override
+    public final int getAsInt() {
+        eventLoop.checkInEventLoop();
+        return propertyPublisher.getAsInt();
+    }
+    
+    /**
+     * Adds an observer to this property stream.
+     * @param observer some property observer
+     * @return a {@link Subscription} that can be used to cancel the subscription.
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    public final Subscription observe(IntPropertyObserver observer) {
+        eventLoop.checkInEventLoop();
+        return propertyPublisher.subscribe(observer);
+    }
+    
+    /**
+     * Observe onChange and onDestroy events.
+     * 
+     * @param onChanged
+     *            some listener of onChanged events.
+     * @param onDisposed
+     *            some listener of onDisposed events.
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription observe(IntConsumer onChanged, Runnable onDisposed) {
+        return observe(IntPropertyObserver.create(onChanged, onDisposed));
+    }
+    
+    /**
+     * Adds a listener that will be updated when the value of this property
+     * changes.
+     * 
+     * NOTE: The listener will be called back immediately with the current value
+     * when subscribing.
+     * 
+     * @param onChanged
+     *            some listener to update when this property's value changes
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onChanged(IntConsumer onChanged) {
+        return observe(IntPropertyObserver.create(onChanged));
+    }
+    
+    /**
+     * Adds some {@link Runnable} to execute when this property is disposed.
+     * 
+     * @param onDisposedAction
+     *            some runnable to run when this property is disposed.
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onDisposed(Runnable onDisposedAction) {
+        return observe(IntPropertyObserver.create(onDisposedAction));
+    }
+    
+    /**
+     * Transforms this Property Stream by the provided mapper function.
+     * 
+     * @param mapper some function the emitted values of this property stream.
+     * @return a new {@link IntPropertyStream} with the values transformed by the provided mapper.
+     */
+    public final IntPropertyStream map(IntUnaryOperator mapper) {
+        requireNonNull(mapper);
+        
+        return new IntPropertyStream(new IntPropertyPublisher() {
+            @Override
+            public int getAsInt() {
+                return mapper.applyAsInt(propertyPublisher.getAsInt());
+            }
+            
+            @Override
+            public Subscription subscribe(IntPropertyObserver observer) {
+                IntPropertySubscriber subscriber = new IntPropertySubscriber(observer);
+                
+                Subscription sourceSubscriber = 
+                        propertyPublisher.subscribe(IntPropertyObserver.create(value -> subscriber.onChanged(mapper.applyAsInt(value)), 
+                                                                                 subscriber::onDisposed,
+                                                                                 subscriber.isBinding()));
+                
+                subscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return subscriber;
+            }
+        });
+    }
+    
+    /**
+     * Transforms this Property Stream by the provided mapper function into a
+     * {@link PropertyStream}.
+     * 
+     * @param mapper some function the emitted values of this property stream.
+     * @return a new {@link PropertyStream} with the values transformed by the provided mapper.
+     */
+    public final <R> PropertyStream<R> mapToObj(IntFunction<R> mapper) {
+        requireNonNull(mapper);
+        
+        return PropertyStream.create(new PropertyPublisher<R>() {
+            @Override
+            public R get() {
+                return mapper.apply(propertyPublisher.getAsInt());
+            }
+            
+            @Override
+            public Subscription subscribe(PropertyObserver<R> observer) {
+                PropertySubscriber<R> subscriber = new PropertySubscriber<>(observer);
+                
+                Subscription sourceSubscriber = 
+                        propertyPublisher.subscribe(IntPropertyObserver.create(value -> subscriber.onChanged(mapper.apply(value)), 
+                                                                                 subscriber::onDisposed,
+                                                                                 subscriber.isBinding()));
+                
+                subscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return subscriber;
+            }
+        });
+    }
+    
+    /**
+     * @return a new {@link PropertyStream} that emits the values of this
+     *         property stream, boxed.
+     */
+    public final PropertyStream<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+    
+    /**
+     * Scans this property stream, see
+     * {@link PropertyStream#scan(java.util.function.BiFunction, Object)}.
+     * 
+     * @param accumulator
+     *            some function that is called with each value and the
+     *            previously computed value, starting with the seed.
+     * @param seed
+     *            the initial value
+     * @return a new {@link IntEventStream} of the computed values.
+     */
+    public final IntEventStream scan(IntBinaryOperator accumulator, int seed) {
+        return asEventStream().scan(accumulator, seed);
+    }
+    
+    /**
+     * Creates an {@link IntEventStream} backed by this property stream.
+     * @return a new {@link IntEventStream} backed by this property stream.
+     */
+    private IntEventStream asEventStream() {
+        eventLoop.checkInEventLoop();
+        return new IntEventStream(observer -> observe(IntPropertyObserver.create(observer::onEvent, observer::onCompleted, observer.isBinding())));
+    }
+    
+    /**
+     * Combines the values of two property streams and produces a new result
+     * using the provided function any time either of the values changes.
+     * 
+     * @param stream1
+     *            the first stream to combine
+     * @param stream2
+     *            the second stream to combine
+     * @param combiner
+     *            some function that will be called any time either of the
+     *            provided streams changes
+     * @return a new {@link IntPropertyStream} that will emit the result of
+     *         combining the values of the provided streams.
+     */
+    public static IntPropertyStream combine(IntPropertyStream stream1, IntPropertyStream stream2, IntBinaryOperator combiner) {
+        requireNonNull(stream1);
+        requireNonNull(stream2);
+        requireNonNull(combiner);
+        
+        return new IntPropertyStream(new IntPropertyPublisher() {
+            @Override
+            public int getAsInt() {
+                return combiner.applyAsInt(stream1.getAsInt(), stream2.getAsInt());
+            }
+            
+            @Override
+            public Subscription subscribe(IntPropertyObserver observer) {
+                IntPropertySubscriber subscriber = new IntPropertySubscriber(observer);
+                
+                // disposed once both streams are disposed
+                int[] disposeCount = new int[1];
+                IntPropertyObserver sourceObserver = 
+                        IntPropertyObserver.create(value -> subscriber.onChanged(getAsInt()), 
+                                                     () -> {
+                                                         if (++disposeCount[0] == 2)
+                                                             subscriber.onDisposed();
+                                                     },
+                                                     subscriber.isBinding());
+                
+                CompositeSubscription subscription = new CompositeSubscription();
+                subscription.add(stream1.observe(sourceObserver));
+                subscription.add(stream2.observe(sourceObserver));
+                
+                subscriber.doOnDispose(subscription::dispose);
+                
+                return subscriber;
+            }
+        });
+    }
+    
+    /**
+     * Creates an int property stream from the provided property stream.
+     * 
+     * @param stream
+     *            some property stream
+     * @param mapper
+     *            some function that converts the values of the stream to ints
+     * @return a new {@link IntPropertyStream}
+     */
+    public static <M> IntPropertyStream from(PropertyStream<M> stream, ToIntFunction<M> mapper) {
+        requireNonNull(stream);
+        requireNonNull(mapper);
+        
+        return new IntPropertyStream(new IntPropertyPublisher() {
+            @Override
+            public int getAsInt() {
+                return mapper.applyAsInt(stream.get());
+            }
+            
+            @Override
+            public Subscription subscribe(IntPropertyObserver observer) {
+                IntPropertySubscriber subscriber = new IntPropertySubscriber(observer);
+                
+                Subscription sourceSubscriber = stream.observe(new PropertyObserver<M>() {
+                    @Override
+                    public void onChanged(M newValue) {
+                        subscriber.onChanged(mapper.applyAsInt(newValue));
+                    }
+                    
+                    @Override
+                    public void onDisposed() {
+                        subscriber.onDisposed();
+                    }
+                    
+                    @Override
+                    public boolean isBinding() {
+                        return subscriber.isBinding();
+                    }
+                });
+                
+                subscriber.doOnDispose(sourceSubscriber::dispose);
+                
+                return subscriber;
+            }
+        });
+    }
+}
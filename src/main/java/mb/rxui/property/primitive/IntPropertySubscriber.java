@@ -0,0 +1,70 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Callbacks.runSafeIntCallback;
+
+import java.util.function.IntConsumer;
+
+import mb.rxui.Subscriber;
+
+/**
+ * A subscriber of the changes of an {@link IntPropertyStream}. Just like a
+ * {@link mb.rxui.property.PropertySubscriber} it only notifies its observer
+ * of values that differ from the last one, which are compared without boxing
+ * them.
+ */
+public class IntPropertySubscriber extends Subscriber implements IntPropertyObserver {
+    
+    private final IntPropertyObserver observer;
+    private final IntConsumer onChanged;
+    
+    private int lastValue;
+    private boolean hasLastValue = false;
+    
+    public IntPropertySubscriber(IntPropertyObserver observer) {
+        this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
+    }
+
+    @Override
+    public void onChanged(int newValue) {
+        if(isDisposed())
+            return;
+        
+        if(hasLastValue && lastValue == newValue)
+            return;
+        
+        lastValue = newValue;
+        hasLastValue = true;
+        
+        runSafeIntCallback(onChanged, newValue);
+    }
+    
+    @Override
+    public void onDisposed() {
+        if(isDisposed())
+            return;
+        
+        runSafeCallback(observer::onDisposed);
+        dispose();
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Preconditions.checkState;
+import static mb.rxui.dispatcher.Dispatcher.createPrimitivePropertyDispatcher;
+
+import java.util.function.LongSupplier;
+
+import mb.rxui.EventLoop;
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.dispatcher.PrimitivePropertyDispatcher;
+import mb.rxui.dispatcher.PrimitivePropertyObserver;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.primitive.LongPropertySource.LongPropertySourceFactory;
+import mb.rxui.subscription.Subscription;
+
+/**
+ * A long property, that is a {@link Property} that holds a long without boxing
+ * it. It respects the same contract as a {@link Property}, including the glitch
+ * protection and {@link Property#batch(Runnable)}, since it is dispatched by
+ * the same dispatchers.
+ * <p>
+ * NOTE: The observers are notified with the value of the property at the time
+ * they are called, therefore the values set while a notification is deferred,
+ * i.e. during a transaction, are always coalesced.
+ */
+public final class LongProperty extends LongPropertyStream implements LongPropertySource, Disposable {
+    
+    private final LongPropertySource propertySource;
+    private final PrimitivePropertyDispatcher<LongSupplier> dispatcher;
+    private final long initialValue;
+    private final EventLoop eventLoop;
+    
+    private LongProperty(LongPropertySource propertySource, PrimitivePropertyDispatcher<LongSupplier> dispatcher) {
+        super(createPublisher(propertySource, dispatcher));
+        this.propertySource = requireNonNull(propertySource);
+        this.dispatcher = requireNonNull(dispatcher);
+        this.initialValue = propertySource.getAsLong();
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+    
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+        dispatcher.dispose();
+    }
+    
+    /**
+     * @throws IllegalStateException see {@link Property#setValue(Object)}
+     */
+    @Override
+    public void setValue(long value) {
+        eventLoop.checkInEventLoop();
+        
+        // blocks reentrant calls
+        if (dispatcher.isDispatching())
+            return;
+        
+        // once a property is disposed it is frozen
+        if (dispatcher.isDisposed())
+            return;
+        
+        // don't update the value if it's the same as the current value
+        if (propertySource.getAsLong() == value)
+            return;
+        
+        // blows up with an illegal state exception if an attempt is made to set the value via a non-binding callback.
+        checkCanSetValue();
+        
+        propertySource.setValue(value);
+    }
+    
+    private void checkCanSetValue() {
+        Dispatchers dispatchers = eventLoop.getDispatchers();
+        boolean isNotDispatching = ! dispatchers.isDispatching();
+        boolean isDispatchingToBinding = dispatchers.isDispatchingBinding();
+        
+        checkState(isNotDispatching || isDispatchingToBinding, 
+                   "It is not possible to add a callback that sets the value of a property. " + 
+                   "You must use bind to connect a stream to this property");
+    }
+    
+    /**
+     * Resets this property to it's initial value.
+     * 
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    public final void reset() {
+        setValue(initialValue);
+    }
+    
+    /**
+     * Binds this property to the provided property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(LongPropertyStream propertyToBindTo) {
+        return propertyToBindTo.observe(new LongPropertyObserver() {
+            @Override
+            public void onChanged(long newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided boxed property stream, see
+     * {@link Property#bind(PropertyStream)}.
+     * 
+     * @param propertyToBindTo
+     *            some property to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(PropertyStream<Long> propertyToBindTo) {
+        return propertyToBindTo.observe(new PropertyObserver<Long>() {
+            @Override
+            public void onChanged(Long newValue) {
+                setValue(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    /**
+     * Binds this property to the provided event stream, see
+     * {@link Property#bind(mb.rxui.event.EventStream)}.
+     * 
+     * @param streamToBindTo
+     *            some event stream to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public final Subscription bind(LongEventStream streamToBindTo) {
+        return streamToBindTo.observe(new LongEventObserver() {
+            @Override
+            public void onEvent(long event) {
+                setValue(event);
+            }
+            
+            @Override
+            public void onCompleted() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+    
+    public final boolean hasObservers() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.getSubscriberCount() > 0;
+    }
+    
+    private static LongPropertyPublisher createPublisher(LongPropertySource propertySource, PrimitivePropertyDispatcher<LongSupplier> dispatcher) {
+        return new LongPropertyPublisher() {
+            @Override
+            public long getAsLong() {
+                return propertySource.getAsLong();
+            }
+            
+            @Override
+            public Subscription subscribe(LongPropertyObserver observer) {
+                LongPropertySubscriber subscriber = new LongPropertySubscriber(observer);
+                
+                Subscription dispatcherSubscriber = dispatcher.subscribe(new PrimitivePropertyObserver<LongSupplier>() {
+                    @Override
+                    public void onChanged(LongSupplier source) {
+                        subscriber.onChanged(source.getAsLong());
+                    }
+                    
+                    @Override
+                    public void onDisposed() {
+                        subscriber.onDisposed();
+                    }
+                    
+                    @Override
+                    public boolean isBinding() {
+                        return observer.isBinding();
+                    }
+                });
+                
+                subscriber.doOnDispose(dispatcherSubscriber::dispose);
+                
+                // push the latest value to the subscriber
+                subscriber.onChanged(propertySource.getAsLong());
+                
+                // dispose if this property is already disposed
+                if (dispatcher.isDisposed())
+                    subscriber.onDisposed();
+                
+                return subscriber;
+            }
+        };
+    }
+    
+    // Factory methods
+    
+    /**
+     * Creates a property using the provided property source factory.
+     * 
+     * @param propertySourceFactory
+     *            some factory that can be used to create a property source.
+     * @return a new {@link LongProperty}
+     */
+    public static LongProperty create(LongPropertySourceFactory propertySourceFactory) {
+        PrimitivePropertyDispatcher<LongSupplier> dispatcher = createPrimitivePropertyDispatcher();
+        return new LongProperty(propertySourceFactory.apply(dispatcher), dispatcher);
+    }
+    
+    /**
+     * Creates a property that is initialized with the provided value.
+     * 
+     * @param initialValue
+     *            some initial value for this property
+     * @return a new {@link LongProperty}
+     */
+    public static LongProperty create(long initialValue) {
+        return create(dispatcher -> new LongPropertySource() {
+            private long value = initialValue;
+            
+            @Override
+            public long getAsLong() {
+                return value;
+            }
+            
+            @Override
+            public void setValue(long newValue) {
+                value = newValue;
+                dispatcher.dispatch(this);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.LongConsumer;
+
+import mb.rxui.Observer;
+
+/**
+ * An observer of the changes of a {@link LongPropertyStream}, it is notified of
+ * the new long values without boxing them.
+ */
+public interface LongPropertyObserver extends Observer<Long> {
+    void onChanged(long newValue);
+
+    void onDisposed();
+    
+    // Factory methods
+
+    static LongPropertyObserver create(LongConsumer onChanged) {
+        return create(onChanged, () -> {});
+    }
+
+    static LongPropertyObserver create(Runnable onDisposed) {
+        return create(newValue -> {}, onDisposed);
+    }
+
+    static LongPropertyObserver create(LongConsumer onChanged, Runnable onDisposed) {
+        return create(onChanged, onDisposed, false);
+    }
+
+    static LongPropertyObserver create(LongConsumer onChanged, Runnable onDisposed, boolean isBinding) {
+        requireNonNull(onChanged);
+        requireNonNull(onDisposed);
+
+        return new LongPropertyObserver() {
+            @Override
+            public void onChanged(long newValue) {
+                onChanged.accept(newValue);
+            }
+
+            @Override
+            public void onDisposed() {
+                onDisposed.run();
+            }
+
+            @Override
+            public boolean isBinding() {
+                return isBinding;
+            }
+        };
+    }
+}
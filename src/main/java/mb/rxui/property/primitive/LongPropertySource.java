@@ -0,0 +1,29 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import mb.rxui.dispatcher.PrimitivePropertyDispatcher;
+
+/**
+ * A source of long property values. A source notifies its dispatcher of its
+ * changes by dispatching itself, see {@link PrimitivePropertyDispatcher}.
+ */
+public interface LongPropertySource extends LongSupplier {
+    void setValue(long newValue);
+    
+    static interface LongPropertySourceFactory extends Function<PrimitivePropertyDispatcher<LongSupplier>, LongPropertySource> {}
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.Callbacks.runSafeCallback;
+import static mb.rxui.Callbacks.runSafeLongCallback;
+
+import java.util.function.LongConsumer;
+
+import mb.rxui.Subscriber;
+
+/**
+ * A subscriber of the changes of a {@link LongPropertyStream}. Just like a
+ * {@link mb.rxui.property.PropertySubscriber} it only notifies its observer
+ * of values that differ from the last one, which are compared without boxing
+ * them.
+ */
+public class LongPropertySubscriber extends Subscriber implements LongPropertyObserver {
+    
+    private final LongPropertyObserver observer;
+    private final LongConsumer onChanged;
+    
+    private long lastValue;
+    private boolean hasLastValue = false;
+    
+    public LongPropertySubscriber(LongPropertyObserver observer) {
+        this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
+    }
+
+    @Override
+    public void onChanged(long newValue) {
+        if(isDisposed())
+            return;
+        
+        if(hasLastValue && lastValue == newValue)
+            return;
+        
+        lastValue = newValue;
+        hasLastValue = true;
+        
+        runSafeLongCallback(onChanged, newValue);
+    }
+    
+    @Override
+    public void onDisposed() {
+        if(isDisposed())
+            return;
+        
+        runSafeCallback(observer::onDisposed);
+        dispose();
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.swing;
+
+import static java.util.Objects.requireNonNull;
+import static mb.rxui.EventLoop.SWING_EVENT_LOOP;
+
+import java.util.function.IntSupplier;
+
+import javax.swing.JSlider;
+import javax.swing.event.ChangeListener;
+
+import mb.rxui.dispatcher.PrimitivePropertyDispatcher;
+import mb.rxui.property.primitive.IntProperty;
+import mb.rxui.property.primitive.IntPropertySource;
+
+/**
+ * An int property source for the value of a {@link JSlider}, the value is
+ * dispatched without boxing it.<br>
+ * <br>
+ * NOTE: Unlike a {@link SliderPropertySource} the values are always written to
+ * the slider immediately, see {@link SwingPropertySource#setFrameAligned(boolean)}.
+ */
+public class SliderIntPropertySource implements IntPropertySource {
+    
+    private final JSlider slider;
+    
+    public SliderIntPropertySource(JSlider slider, PrimitivePropertyDispatcher<IntSupplier> dispatcher) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        this.slider = requireNonNull(slider);
+        
+        ChangeListener listener = event -> dispatcher.dispatch(this);
+        slider.addChangeListener(listener);
+        dispatcher.onDisposed(() -> slider.removeChangeListener(listener));
+    }
+    
+    public static IntProperty createSliderIntProperty(JSlider slider) {
+        return IntProperty.create(dispatcher -> new SliderIntPropertySource(slider, dispatcher));
+    }
+    
+    @Override
+    public void setValue(int newValue) {
+        slider.setValue(newValue);
+    }
+    
+    @Override
+    public int getAsInt() {
+        return slider.getValue();
+    }
+}
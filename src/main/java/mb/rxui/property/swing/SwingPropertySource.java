@@ -18,38 +18,76 @@ import static mb.rxui.EventLoop.SWING_EVENT_LOOP;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import javax.swing.SwingUtilities;
+
 import mb.rxui.dispatcher.PropertyDispatcher;
 import mb.rxui.disposables.Disposable;
+import mb.rxui.property.FrameBatcher;
+import mb.rxui.property.FrameBatcher.PendingWrite;
 import mb.rxui.property.PropertySource;
 
 /**
  * A property source for Swing components.<br>
  * <br>
+ * When frame alignment is enabled, see {@link #setFrameAligned(boolean)}, the
+ * values that bindings write to Swing components are collected and written
+ * once per frame, by a single task on the Event Dispatch thread.
+ * 
  * @param <M> the type of values this source provides
  */
 public abstract class SwingPropertySource<M, L, C> implements PropertySource<M> {
     
-    private final Supplier<M> getter;
-    private final Consumer<M> setter;
+    private static final FrameBatcher FRAME_BATCHER = 
+            new FrameBatcher(() -> SwingUtilities.invokeLater(SwingPropertySource::flushFrame));
+    
+    private final PendingWrite<M> pendingWrite;
 
     protected SwingPropertySource(Supplier<M> getter, 
                                   Consumer<M> setter, 
                                   C component,
                                   PropertyDispatcher<M> dispatcher) {
-        this.getter = getter;
-        this.setter = setter;
+        this.pendingWrite = FRAME_BATCHER.createPendingWrite(getter, setter);
         SWING_EVENT_LOOP.checkInEventLoop();
         dispatcher.onDisposed(addListener(component, createListener(dispatcher)));
     }
 
     @Override
     public void setValue(M newValue) {
-        setter.accept(newValue);
+        pendingWrite.setValue(newValue);
     }
 
     @Override
     public M get() {
-        return getter.get();
+        return pendingWrite.get();
+    }
+    
+    /**
+     * Enables or disables frame alignment for all the Swing property sources.
+     * 
+     * @param isFrameAligned
+     *            true to write the values of bindings to Swing components once
+     *            per frame, false to write them immediately.
+     * @throws IllegalStateException
+     *             if called from a thread other than the Event Dispatch thread.
+     */
+    public static void setFrameAligned(boolean isFrameAligned) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        FRAME_BATCHER.setEnabled(isFrameAligned);
+    }
+    
+    /**
+     * @return true if the values of bindings are written to Swing components
+     *         once per frame, false otherwise.
+     * @throws IllegalStateException
+     *             if called from a thread other than the Event Dispatch thread.
+     */
+    public static boolean isFrameAligned() {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        return FRAME_BATCHER.isEnabled();
+    }
+    
+    private static void flushFrame() {
+        FRAME_BATCHER.flush();
     }
     
     protected abstract L createListener(PropertyDispatcher<M> dispatcher);
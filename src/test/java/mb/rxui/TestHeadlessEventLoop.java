@@ -0,0 +1,171 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static mb.rxui.ThreadedTestHelper.awaitLatch;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+
+public class TestHeadlessEventLoop {
+
+    private HeadlessEventLoop eventLoop;
+    private ThreadedTestHelper testHelper;
+
+    @Before
+    public void setup() {
+        eventLoop = HeadlessEventLoop.create("Test Headless");
+        testHelper = new ThreadedTestHelper(eventLoop::invokeLater);
+    }
+
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+
+    @Test
+    public void testNotInEventLoop() {
+        assertFalse(eventLoop.isInEventLoop());
+        assertFalse(EventLoop.findEventLoop().isPresent());
+        assertEquals("Test Headless", eventLoop.getThreadName());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testCheckInEventLoop() {
+        eventLoop.checkInEventLoop();
+    }
+
+    @Test
+    public void testCreateEventLoop() {
+        testHelper.runTest(() -> {
+            eventLoop.checkInEventLoop();
+            assertSame(eventLoop, EventLoop.createEventLoop());
+            assertSame(eventLoop.getDispatchers(), Dispatchers.getInstance());
+        });
+    }
+
+    @Test
+    public void testProperty() {
+        testHelper.runTest(() -> {
+            Property<String> property = Property.create("tacos");
+            Property<String> boundProperty = Property.create("burritos");
+            boundProperty.bind(property);
+
+            List<String> values = new ArrayList<>();
+            boundProperty.onChanged(values::add);
+
+            property.setValue("fajitas");
+
+            assertEquals("fajitas", boundProperty.get());
+            assertEquals(Arrays.asList("tacos", "fajitas"), values);
+        });
+    }
+
+    @Test
+    public void testEventSubject() {
+        testHelper.runTest(() -> {
+            EventSubject<String> subject = EventSubject.create();
+
+            List<String> events = new ArrayList<>();
+            subject.onEvent(events::add);
+            subject.publish("tacos");
+
+            assertEquals(Arrays.asList("tacos"), events);
+        });
+    }
+
+    @Test
+    public void testSchedule() {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean isInEventLoop = new AtomicBoolean();
+
+        eventLoop.schedule(() -> {
+            isInEventLoop.set(eventLoop.isInEventLoop());
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(awaitLatch(latch));
+        assertTrue(isInEventLoop.get());
+    }
+
+    @Test
+    public void testDisposeScheduled() {
+        AtomicBoolean hasRun = new AtomicBoolean();
+
+        Disposable disposable = eventLoop.schedule(() -> hasRun.set(true), 10, TimeUnit.MILLISECONDS);
+        disposable.dispose();
+
+        // runnables are executed in order, the disposed one is due first.
+        CountDownLatch latch = new CountDownLatch(1);
+        eventLoop.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(awaitLatch(latch));
+        assertFalse(hasRun.get());
+    }
+
+    @Test
+    public void testDispose() {
+        assertFalse(eventLoop.isDisposed());
+
+        eventLoop.dispose();
+
+        assertTrue(eventLoop.isDisposed());
+    }
+
+    @Test
+    public void testDisposedLoopRunsNothingPending() throws Exception {
+        CountDownLatch isBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean hasRun = new AtomicBoolean();
+
+        // holds the thread so that the next runnables stay pending
+        eventLoop.invokeLater(() -> {
+            isBlocked.countDown();
+            awaitLatch(release);
+        });
+        assertTrue(awaitLatch(isBlocked));
+
+        eventLoop.invokeLater(() -> hasRun.set(true));
+        eventLoop.schedule(() -> hasRun.set(true), 10, TimeUnit.MILLISECONDS);
+
+        eventLoop.dispose();
+        release.countDown();
+
+        assertTrue(eventLoop.awaitTermination(1, TimeUnit.SECONDS));
+        assertFalse(hasRun.get());
+    }
+
+    @Test
+    public void testScheduleAfterDispose() {
+        eventLoop.dispose();
+
+        // ignored rather than rejected
+        eventLoop.invokeLater(() -> {}).dispose();
+        eventLoop.schedule(() -> {}, 10, TimeUnit.MILLISECONDS).dispose();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.InstrumentedEventLoop.Snapshot;
+import mb.rxui.disposables.Disposable;
+
+public class TestInstrumentedEventLoop {
+    
+    private VirtualTimeEventLoop virtualEventLoop;
+    private InstrumentedEventLoop eventLoop;
+    private long now;
+    
+    @Before
+    public void setup() {
+        now = 0;
+        virtualEventLoop = VirtualTimeEventLoop.create();
+        eventLoop = new InstrumentedEventLoop(virtualEventLoop, 50, MILLISECONDS, () -> now);
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.uninstall();
+        virtualEventLoop.dispose();
+    }
+    
+    @Test
+    public void testQueueWaitAndRunTime() {
+        eventLoop.invokeLater(() -> advanceClock(5));
+        eventLoop.invokeLater(() -> advanceClock(10));
+        
+        advanceClock(20);
+        virtualEventLoop.triggerActions();
+        
+        Snapshot snapshot = eventLoop.getSnapshot();
+        assertEquals(2, snapshot.getQueueWaitTimes().getCount());
+        assertEquals(20, snapshot.getQueueWaitTimes().getValueAtPercentile(0, MILLISECONDS), 1);
+        assertEquals(25, snapshot.getQueueWaitTimes().getMax(MILLISECONDS));
+        assertEquals(2, snapshot.getRunTimes().getCount());
+        assertEquals(10, snapshot.getRunTimes().getMax(MILLISECONDS));
+        assertEquals(0, snapshot.getStallCount());
+    }
+    
+    @Test
+    public void testScheduleWaitMeasuredFromDueTime() {
+        eventLoop.schedule(() -> {}, 100, MILLISECONDS);
+        
+        advanceClock(130);
+        virtualEventLoop.advanceTimeBy(100, MILLISECONDS);
+        
+        assertEquals(30, eventLoop.getSnapshot().getQueueWaitTimes().getMax(MILLISECONDS));
+    }
+    
+    @Test
+    public void testDisposeInvokeLater() {
+        Disposable disposable = eventLoop.invokeLater(() -> advanceClock(5));
+        disposable.dispose();
+        
+        virtualEventLoop.triggerActions();
+        
+        assertEquals(0, eventLoop.getSnapshot().getRunTimes().getCount());
+    }
+    
+    @Test
+    public void testStalls() {
+        List<Runnable> stalls = new ArrayList<>();
+        eventLoop.setStallListener((runnable, runTime, timeUnit) -> {
+            assertEquals(60, timeUnit.toMillis(runTime));
+            stalls.add(runnable);
+        });
+        
+        Runnable stall = () -> advanceClock(60);
+        eventLoop.invokeNow(stall);
+        eventLoop.invokeNow(() -> advanceClock(10));
+        
+        assertEquals(1, eventLoop.getSnapshot().getStallCount());
+        assertEquals(1, stalls.size());
+        assertSame(stall, stalls.get(0));
+        
+        eventLoop.reset();
+        assertEquals(0, eventLoop.getSnapshot().getStallCount());
+        assertEquals(0, eventLoop.getSnapshot().getRunTimes().getCount());
+    }
+    
+    @Test
+    public void testRunTimeMeasuredWhenRunnableThrows() {
+        try {
+            eventLoop.invokeNow(() -> {
+                advanceClock(5);
+                throw new RuntimeException();
+            });
+            fail();
+        } catch (RuntimeException exception) {
+            // expected
+        }
+        
+        assertEquals(5, eventLoop.getSnapshot().getRunTimes().getMax(MILLISECONDS));
+    }
+    
+    @Test
+    public void testInstall() {
+        assertSame(virtualEventLoop, EventLoop.createEventLoop());
+        
+        eventLoop.install();
+        assertSame(eventLoop, EventLoop.createEventLoop());
+        assertSame(virtualEventLoop.getDispatchers(), eventLoop.getDispatchers());
+        
+        // library code is now measured
+        EventLoop.createEventLoop().invokeLater(() -> advanceClock(5));
+        virtualEventLoop.triggerActions();
+        assertEquals(1, eventLoop.getSnapshot().getRunTimes().getCount());
+        
+        eventLoop.uninstall();
+        assertSame(virtualEventLoop, EventLoop.createEventLoop());
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidStallThreshold() {
+        new InstrumentedEventLoop(virtualEventLoop, 0, MILLISECONDS, () -> now);
+    }
+    
+    private void advanceClock(long millis) {
+        now += MILLISECONDS.toNanos(millis);
+    }
+}
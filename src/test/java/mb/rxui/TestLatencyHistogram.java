@@ -0,0 +1,125 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import mb.rxui.LatencyHistogram.Snapshot;
+
+public class TestLatencyHistogram {
+    
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    
+    @Test
+    public void testEmpty() {
+        Snapshot snapshot = histogram.getSnapshot();
+        
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMax(NANOSECONDS));
+        assertEquals(0, snapshot.getMean(NANOSECONDS), 0);
+        assertEquals(0, snapshot.getValueAtPercentile(99, NANOSECONDS));
+    }
+    
+    @Test
+    public void testSmallValuesAreExact() {
+        for (long value = 0; value < 32; value++)
+            histogram.record(value);
+        
+        Snapshot snapshot = histogram.getSnapshot();
+        
+        assertEquals(32, snapshot.getCount());
+        assertEquals(15, snapshot.getValueAtPercentile(50, NANOSECONDS));
+        assertEquals(31, snapshot.getValueAtPercentile(100, NANOSECONDS));
+        assertEquals(15.5, snapshot.getMean(NANOSECONDS), 0);
+    }
+    
+    @Test
+    public void testPercentilesWithinPrecision() {
+        for (long value = 1; value <= 100_000; value++)
+            histogram.record(MICROSECONDS.toNanos(value));
+        
+        Snapshot snapshot = histogram.getSnapshot();
+        
+        assertEquals(100_000, snapshot.getCount());
+        assertWithinPrecision(50_000, snapshot.getValueAtPercentile(50, MICROSECONDS));
+        assertWithinPrecision(99_000, snapshot.getValueAtPercentile(99, MICROSECONDS));
+        assertWithinPrecision(99_900, snapshot.getValueAtPercentile(99.9, MICROSECONDS));
+        assertEquals(100_000, snapshot.getValueAtPercentile(100, MICROSECONDS));
+        assertEquals(100_000, snapshot.getMax(MICROSECONDS));
+        assertEquals(50_000.5, snapshot.getMean(MICROSECONDS), 0.001);
+    }
+    
+    @Test
+    public void testExtremeValues() {
+        histogram.record(-10);
+        histogram.record(Long.MAX_VALUE);
+        
+        Snapshot snapshot = histogram.getSnapshot();
+        
+        assertEquals(0, snapshot.getValueAtPercentile(50, NANOSECONDS));
+        assertEquals(Long.MAX_VALUE, snapshot.getValueAtPercentile(100, NANOSECONDS));
+    }
+    
+    @Test
+    public void testReset() {
+        histogram.record(100);
+        histogram.reset();
+        
+        assertEquals(0, histogram.getSnapshot().getCount());
+        assertEquals(0, histogram.getSnapshot().getMax(NANOSECONDS));
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.getSnapshot().getValueAtPercentile(101, NANOSECONDS);
+    }
+    
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        int threadCount = 4;
+        int valuesPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        
+        try {
+            for (int thread = 0; thread < threadCount; thread++) {
+                executor.execute(() -> {
+                    for (int value = 0; value < valuesPerThread; value++)
+                        histogram.record(value);
+                    latch.countDown();
+                });
+            }
+            
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertEquals(threadCount * valuesPerThread, histogram.getSnapshot().getCount());
+        assertEquals(valuesPerThread - 1, histogram.getSnapshot().getMax(NANOSECONDS));
+    }
+    
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertEquals(expected, actual, expected * 0.07);
+    }
+}
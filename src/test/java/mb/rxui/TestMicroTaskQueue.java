@@ -0,0 +1,148 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.disposables.Disposable;
+
+public class TestMicroTaskQueue {
+    
+    private List<Runnable> toolkitTasks;
+    private MicroTaskQueue microTasks;
+    
+    @Before
+    public void setup() {
+        toolkitTasks = new ArrayList<>();
+        microTasks = new MicroTaskQueue(toolkitTasks::add);
+    }
+    
+    @Test
+    public void testTasksBatchedIntoOneToolkitTask() {
+        List<Integer> tasks = new ArrayList<>();
+        
+        for (int index = 0; index < 5; index++) {
+            int value = index;
+            microTasks.enqueue(() -> tasks.add(value));
+        }
+        
+        assertEquals(1, toolkitTasks.size());
+        assertTrue(tasks.isEmpty());
+        
+        toolkitTasks.remove(0).run();
+        
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), tasks);
+    }
+    
+    @Test
+    public void testDisposeTask() {
+        List<String> tasks = new ArrayList<>();
+        
+        microTasks.enqueue(() -> tasks.add("tacos"));
+        Disposable disposable = microTasks.enqueue(() -> tasks.add("burritos"));
+        microTasks.enqueue(() -> tasks.add("fajitas"));
+        
+        disposable.dispose();
+        toolkitTasks.remove(0).run();
+        
+        assertEquals(Arrays.asList("tacos", "fajitas"), tasks);
+    }
+    
+    @Test
+    public void testTasksEnqueuedWhileDrainingRunInNextBatch() {
+        List<String> tasks = new ArrayList<>();
+        
+        microTasks.enqueue(() -> {
+            tasks.add("tacos");
+            microTasks.enqueue(() -> tasks.add("burritos"));
+        });
+        
+        toolkitTasks.remove(0).run();
+        assertEquals(Arrays.asList("tacos"), tasks);
+        assertEquals(1, toolkitTasks.size());
+        
+        toolkitTasks.remove(0).run();
+        assertEquals(Arrays.asList("tacos", "burritos"), tasks);
+        assertTrue(toolkitTasks.isEmpty());
+    }
+    
+    @Test
+    public void testExceptionDoesNotDropBatch() {
+        List<String> tasks = new ArrayList<>();
+        
+        microTasks.enqueue(() -> { throw new RuntimeException(); });
+        microTasks.enqueue(() -> tasks.add("tacos"));
+        
+        toolkitTasks.remove(0).run();
+        
+        assertEquals(Arrays.asList("tacos"), tasks);
+    }
+    
+    @Test
+    public void testManyProducers() throws Exception {
+        int producerCount = 4;
+        int tasksPerProducer = 10_000;
+        
+        ExecutorService toolkit = Executors.newSingleThreadExecutor();
+        ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        AtomicInteger toolkitTaskCount = new AtomicInteger();
+        MicroTaskQueue microTasks = new MicroTaskQueue(task -> {
+            toolkitTaskCount.incrementAndGet();
+            toolkit.execute(task);
+        });
+        
+        CountDownLatch latch = new CountDownLatch(producerCount * tasksPerProducer);
+        int[] lastValues = new int[producerCount];
+        Arrays.fill(lastValues, -1);
+        boolean[] isOrdered = { true };
+        
+        try {
+            for (int producer = 0; producer < producerCount; producer++) {
+                int producerIndex = producer;
+                producers.execute(() -> {
+                    for (int index = 0; index < tasksPerProducer; index++) {
+                        int value = index;
+                        microTasks.enqueue(() -> {
+                            // tasks of the same producer keep their order
+                            isOrdered[0] &= lastValues[producerIndex] == value - 1;
+                            lastValues[producerIndex] = value;
+                            latch.countDown();
+                        });
+                    }
+                });
+            }
+            
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            toolkit.submit(() -> {}).get();
+            
+            assertTrue(isOrdered[0]);
+            assertTrue(toolkitTaskCount.get() <= producerCount * tasksPerProducer);
+        } finally {
+            producers.shutdown();
+            toolkit.shutdown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.disposables.Disposable;
+
+public class TestPulseScheduler {
+    
+    private long now;
+    private boolean isPulsing;
+    private PulseScheduler scheduler;
+    private List<String> executed;
+    
+    @Before
+    public void setup() {
+        now = 0;
+        isPulsing = false;
+        executed = new ArrayList<>();
+        scheduler = new PulseScheduler(() -> isPulsing = true, () -> isPulsing = false, () -> now);
+    }
+    
+    @Test
+    public void testDueTasksRunOnPulse() {
+        scheduler.schedule(() -> executed.add("burritos"), 20, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> executed.add("fajitas"), 20, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> executed.add("nachos"), 50, TimeUnit.MILLISECONDS);
+        assertTrue(isPulsing);
+        
+        pulseAt(5);
+        assertTrue(executed.isEmpty());
+        
+        // a late pulse executes all the tasks that are due in one go
+        pulseAt(30);
+        assertEquals(Arrays.asList("tacos", "burritos", "fajitas"), executed);
+        assertTrue(isPulsing);
+        
+        pulseAt(50);
+        assertEquals(Arrays.asList("tacos", "burritos", "fajitas", "nachos"), executed);
+        assertFalse(isPulsing);
+    }
+    
+    @Test
+    public void testCancelTask() {
+        Disposable disposable = scheduler.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> executed.add("burritos"), 10, TimeUnit.MILLISECONDS);
+        
+        disposable.dispose();
+        pulseAt(10);
+        
+        assertEquals(Arrays.asList("burritos"), executed);
+        assertEquals(0, scheduler.getTaskCount());
+    }
+    
+    @Test
+    public void testCancelDueTaskDuringPulse() {
+        Disposable[] disposable = new Disposable[1];
+        scheduler.schedule(() -> disposable[0].dispose(), 10, TimeUnit.MILLISECONDS);
+        disposable[0] = scheduler.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        
+        pulseAt(10);
+        
+        assertTrue(executed.isEmpty());
+    }
+    
+    @Test
+    public void testCancelledTasksPurged() {
+        // simulates a debounce that keeps re-scheduling its task
+        Disposable disposable = scheduler.schedule(() -> executed.add("tacos"), 100, TimeUnit.MILLISECONDS);
+        for (int index = 0; index < 1000; index++) {
+            disposable.dispose();
+            disposable = scheduler.schedule(() -> executed.add("tacos"), 100, TimeUnit.MILLISECONDS);
+        }
+        
+        assertTrue(scheduler.getTaskCount() < 150);
+        
+        pulseAt(100);
+        assertEquals(Arrays.asList("tacos"), executed);
+        assertFalse(isPulsing);
+    }
+    
+    @Test
+    public void testTaskScheduledDuringPulseRunsOnNextPulse() {
+        scheduler.schedule(() -> {
+            executed.add("tacos");
+            scheduler.schedule(() -> executed.add("burritos"), 0, TimeUnit.MILLISECONDS);
+        }, 10, TimeUnit.MILLISECONDS);
+        
+        pulseAt(10);
+        assertEquals(Arrays.asList("tacos"), executed);
+        assertTrue(isPulsing);
+        
+        pulseAt(11);
+        assertEquals(Arrays.asList("tacos", "burritos"), executed);
+        assertFalse(isPulsing);
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testNegativeDelay() {
+        scheduler.schedule(() -> {}, -1, TimeUnit.MILLISECONDS);
+    }
+    
+    private void pulseAt(long millis) {
+        now = TimeUnit.MILLISECONDS.toNanos(millis);
+        scheduler.runDueTasks();
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.disposables.Disposable;
+
+public class TestTimerWheel {
+    
+    private long now;
+    private boolean isTicking;
+    private int startCount;
+    private TimerWheel timerWheel;
+    private List<String> executed;
+    
+    @Before
+    public void setup() {
+        now = 0;
+        isTicking = false;
+        startCount = 0;
+        executed = new ArrayList<>();
+        timerWheel = new TimerWheel(10, TimeUnit.MILLISECONDS, 8, this::startTicker, () -> isTicking = false, () -> now);
+    }
+    
+    @Test
+    public void testTimeoutExecutedWhenDue() {
+        timerWheel.schedule(() -> executed.add("tacos"), 25, TimeUnit.MILLISECONDS);
+        assertTrue(isTicking);
+        
+        advanceTo(20);
+        assertTrue(executed.isEmpty());
+        
+        advanceTo(30);
+        assertEquals(Arrays.asList("tacos"), executed);
+        assertFalse(isTicking);
+        assertEquals(0, timerWheel.getTimeoutCount());
+    }
+    
+    @Test
+    public void testTimeoutsInSameTickCoalesced() {
+        timerWheel.schedule(() -> executed.add("tacos"), 11, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(() -> executed.add("burritos"), 15, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(() -> executed.add("fajitas"), 20, TimeUnit.MILLISECONDS);
+        
+        advanceTo(19);
+        assertTrue(executed.isEmpty());
+        
+        advanceTo(20);
+        assertEquals(Arrays.asList("tacos", "burritos", "fajitas"), executed);
+        assertEquals(1, startCount);
+    }
+    
+    @Test
+    public void testTimeoutLongerThanOneRevolution() {
+        // the wheel covers 80 milliseconds per revolution
+        timerWheel.schedule(() -> executed.add("tacos"), 250, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(() -> executed.add("burritos"), 10, TimeUnit.MILLISECONDS);
+        
+        for (long millis = 0; millis < 250; millis += 10) {
+            advanceTo(millis);
+            assertFalse(executed.contains("tacos"));
+        }
+        
+        advanceTo(260);
+        assertEquals(Arrays.asList("burritos", "tacos"), executed);
+    }
+    
+    @Test
+    public void testDelayedTicks() {
+        timerWheel.schedule(() -> executed.add("tacos"), 30, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(() -> executed.add("burritos"), 500, TimeUnit.MILLISECONDS);
+        
+        // the event loop was busy, several revolutions are processed at once
+        advanceTo(1000);
+        
+        assertEquals(Arrays.asList("tacos", "burritos"), executed);
+    }
+    
+    @Test
+    public void testDisposeTimeout() {
+        Disposable disposable = timerWheel.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        timerWheel.schedule(() -> executed.add("burritos"), 10, TimeUnit.MILLISECONDS);
+        
+        disposable.dispose();
+        assertEquals(1, timerWheel.getTimeoutCount());
+        
+        advanceTo(10);
+        assertEquals(Arrays.asList("burritos"), executed);
+        
+        // disposing an executed timeout is a no-op
+        disposable.dispose();
+        assertEquals(0, timerWheel.getTimeoutCount());
+    }
+    
+    @Test
+    public void testDisposeExpiredTimeout() {
+        Disposable[] disposable = new Disposable[1];
+        timerWheel.schedule(() -> disposable[0].dispose(), 10, TimeUnit.MILLISECONDS);
+        disposable[0] = timerWheel.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        
+        advanceTo(10);
+        
+        assertTrue(executed.isEmpty());
+    }
+    
+    @Test
+    public void testIdleWheelSkipsTicks() {
+        timerWheel.schedule(() -> executed.add("tacos"), 10, TimeUnit.MILLISECONDS);
+        advanceTo(10);
+        assertFalse(isTicking);
+        
+        now = TimeUnit.MILLISECONDS.toNanos(10_000);
+        timerWheel.schedule(() -> executed.add("burritos"), 10, TimeUnit.MILLISECONDS);
+        assertTrue(isTicking);
+        assertEquals(2, startCount);
+        
+        advanceTo(10_005);
+        assertEquals(Arrays.asList("tacos"), executed);
+        
+        advanceTo(10_010);
+        assertEquals(Arrays.asList("tacos", "burritos"), executed);
+    }
+    
+    @Test
+    public void testTimeoutScheduledWhileExpiring() {
+        timerWheel.schedule(() -> {
+            executed.add("tacos");
+            timerWheel.schedule(() -> executed.add("burritos"), 0, TimeUnit.MILLISECONDS);
+        }, 10, TimeUnit.MILLISECONDS);
+        
+        advanceTo(10);
+        assertEquals(Arrays.asList("tacos"), executed);
+        assertTrue(isTicking);
+        
+        advanceTo(20);
+        assertEquals(Arrays.asList("tacos", "burritos"), executed);
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testNegativeDelay() {
+        timerWheel.schedule(() -> {}, -1, TimeUnit.MILLISECONDS);
+    }
+    
+    private void startTicker() {
+        isTicking = true;
+        startCount++;
+    }
+    
+    private void advanceTo(long millis) {
+        now = TimeUnit.MILLISECONDS.toNanos(millis);
+        timerWheel.expireTimeouts();
+    }
+}
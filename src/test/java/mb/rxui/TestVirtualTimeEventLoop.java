@@ -0,0 +1,189 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.dispatcher.Dispatchers;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.property.Property;
+
+public class TestVirtualTimeEventLoop {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testCreateEventLoop() {
+        eventLoop.checkInEventLoop();
+        assertSame(eventLoop, EventLoop.createEventLoop());
+        assertSame(eventLoop.getDispatchers(), Dispatchers.getInstance());
+    }
+    
+    @Test
+    public void testDispatchersFollowRegistration() {
+        eventLoop.dispose();
+        assertNotSame(eventLoop.getDispatchers(), Dispatchers.getInstance());
+        
+        eventLoop = VirtualTimeEventLoop.create();
+        assertSame(eventLoop.getDispatchers(), Dispatchers.getInstance());
+        
+        // the dispatchers created for this thread are bound to its event loop
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        property.onChanged(value -> values.add(value + " " + eventLoop.getDispatchers().isDispatching()));
+        property.setValue("burritos");
+        assertEquals("burritos true", values.get(values.size() - 1));
+    }
+    
+    @Test
+    public void testAdvanceTimeBy() {
+        List<String> runnables = new ArrayList<>();
+        
+        eventLoop.schedule(() -> runnables.add("two"), 200, MILLISECONDS);
+        eventLoop.schedule(() -> runnables.add("one"), 100, MILLISECONDS);
+        eventLoop.schedule(() -> runnables.add("three"), 1, SECONDS);
+        
+        eventLoop.advanceTimeBy(99, MILLISECONDS);
+        assertTrue(runnables.isEmpty());
+        
+        eventLoop.advanceTimeBy(101, MILLISECONDS);
+        assertEquals(Arrays.asList("one", "two"), runnables);
+        assertEquals(200, eventLoop.now(MILLISECONDS));
+        
+        eventLoop.advanceTimeBy(1, SECONDS);
+        assertEquals(Arrays.asList("one", "two", "three"), runnables);
+        assertEquals(1200, eventLoop.now(MILLISECONDS));
+    }
+    
+    @Test
+    public void testAdvanceTimeTo() {
+        long[] runTime = new long[1];
+        eventLoop.schedule(() -> runTime[0] = eventLoop.now(MILLISECONDS), 100, MILLISECONDS);
+        
+        eventLoop.advanceTimeTo(1, SECONDS);
+        
+        assertEquals(100, runTime[0]);
+        assertEquals(1000, eventLoop.now(MILLISECONDS));
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testCannotMoveTimeBack() {
+        eventLoop.advanceTimeTo(1, SECONDS);
+        eventLoop.advanceTimeTo(500, MILLISECONDS);
+    }
+    
+    @Test
+    public void testSameDueTimeRunInScheduledOrder() {
+        List<Integer> runnables = new ArrayList<>();
+        
+        for (int index = 0; index < 10; index++) {
+            int value = index;
+            eventLoop.schedule(() -> runnables.add(value), 10, MILLISECONDS);
+        }
+        
+        eventLoop.advanceTimeBy(10, MILLISECONDS);
+        
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), runnables);
+    }
+    
+    @Test
+    public void testRunnablesScheduledWhileAdvancing() {
+        List<Long> runTimes = new ArrayList<>();
+        
+        eventLoop.schedule(() -> {
+            runTimes.add(eventLoop.now(MILLISECONDS));
+            eventLoop.schedule(() -> runTimes.add(eventLoop.now(MILLISECONDS)), 10, MILLISECONDS);
+        }, 10, MILLISECONDS);
+        
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        
+        assertEquals(Arrays.asList(10L, 20L), runTimes);
+    }
+    
+    @Test
+    public void testInvokeLater() {
+        List<String> runnables = new ArrayList<>();
+        
+        eventLoop.invokeLater(() -> runnables.add("tacos"));
+        assertTrue(runnables.isEmpty());
+        
+        eventLoop.triggerActions();
+        assertEquals(Arrays.asList("tacos"), runnables);
+        assertEquals(0, eventLoop.now(MILLISECONDS));
+    }
+    
+    @Test
+    public void testDisposeScheduled() {
+        List<String> runnables = new ArrayList<>();
+        
+        Disposable disposable = eventLoop.schedule(() -> runnables.add("tacos"), 10, MILLISECONDS);
+        disposable.dispose();
+        
+        eventLoop.advanceTimeBy(10, MILLISECONDS);
+        
+        assertTrue(runnables.isEmpty());
+        assertEquals(0, eventLoop.getQueuedCount());
+    }
+    
+    @Test
+    public void testDispatchStateRestored() {
+        Property<String> property = Property.create("tacos");
+        
+        List<Boolean> isDispatching = new ArrayList<>();
+        property.onChanged(value -> eventLoop.schedule(() -> {
+            isDispatching.add(Dispatchers.getInstance().isDispatching());
+            // reentrant call should be ignored
+            property.setValue("burritos");
+        }, 10, MILLISECONDS));
+        
+        property.setValue("fajitas");
+        eventLoop.advanceTimeBy(20, MILLISECONDS);
+        
+        // one for the initial value and one for the change
+        assertEquals(Arrays.asList(true, true), isDispatching);
+        assertEquals("fajitas", property.get());
+        assertFalse(Dispatchers.getInstance().isDispatching());
+    }
+    
+    @Test
+    public void testDispose() {
+        eventLoop.schedule(() -> {}, 10, MILLISECONDS);
+        
+        eventLoop.dispose();
+        
+        assertTrue(eventLoop.isDisposed());
+        assertEquals(0, eventLoop.getQueuedCount());
+        assertFalse(EventLoopRegistry.getRegisteredEventLoop().isPresent());
+    }
+}
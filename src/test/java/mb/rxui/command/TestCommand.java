@@ -0,0 +1,274 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.command;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.HeadlessEventLoop;
+import mb.rxui.ThreadedTestHelper;
+import mb.rxui.command.Command.BusyPolicy;
+import mb.rxui.disposables.Disposable;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+
+public class TestCommand {
+    
+    private HeadlessEventLoop eventLoop;
+    private ThreadedTestHelper testHelper;
+    private List<Runnable> pendingWork;
+    private List<String> threadsOfResults;
+    
+    @Before
+    public void setup() {
+        eventLoop = HeadlessEventLoop.create("Test Command");
+        testHelper = new ThreadedTestHelper(eventLoop::invokeLater);
+        pendingWork = Collections.synchronizedList(new ArrayList<>());
+        threadsOfResults = Collections.synchronizedList(new ArrayList<>());
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testResultPublishedOnEventLoop() {
+        AtomicReference<Command<Integer, String>> command = new AtomicReference<>();
+        List<String> results = new ArrayList<>();
+        List<Boolean> isExecuting = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            command.set(Command.create(value -> "tacos" + value, pendingWork::add));
+            command.get().results().onEvent(result -> {
+                threadsOfResults.add(Thread.currentThread().getName());
+                results.add(result);
+            });
+            command.get().isExecuting().onChanged(isExecuting::add);
+            
+            command.get().execute(1);
+            assertEquals(Arrays.asList(false, true), isExecuting);
+        });
+        
+        // the work runs off the event loop
+        runPendingWork();
+        
+        testHelper.runTest(() -> {
+            assertEquals(Arrays.asList("tacos1"), results);
+            assertEquals(Arrays.asList("Test Command"), threadsOfResults);
+            assertEquals(Arrays.asList(false, true, false), isExecuting);
+        });
+    }
+    
+    @Test
+    public void testErrorPublished() {
+        List<Throwable> errors = new ArrayList<>();
+        RuntimeException exception = new RuntimeException("burritos");
+        
+        testHelper.runTest(() -> {
+            Command<Integer, String> command = Command.create(value -> { throw exception; }, pendingWork::add);
+            command.errors().onEvent(errors::add);
+            command.execute(1);
+        });
+        
+        runPendingWork();
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList(exception), errors));
+    }
+    
+    @Test
+    public void testDropWhileBusy() {
+        AtomicReference<Command<Integer, Integer>> command = new AtomicReference<>();
+        List<Boolean> canExecute = new ArrayList<>();
+        List<Integer> results = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            command.set(Command.create(Function.identity(), pendingWork::add));
+            command.get().canExecute().onChanged(canExecute::add);
+            command.get().results().onEvent(results::add);
+            
+            command.get().execute(1);
+            command.get().execute(2);
+            
+            assertEquals(Arrays.asList(true, false), canExecute);
+        });
+        
+        assertEquals(1, pendingWork.size());
+        runPendingWork();
+        
+        testHelper.runTest(() -> {
+            assertEquals(Arrays.asList(1), results);
+            assertEquals(Arrays.asList(true, false, true), canExecute);
+        });
+    }
+    
+    @Test
+    public void testQueueWhileBusy() {
+        AtomicReference<Command<Integer, Integer>> command = new AtomicReference<>();
+        List<Boolean> canExecute = new ArrayList<>();
+        List<Integer> results = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            command.set(Command.builder(Function.<Integer>identity(), pendingWork::add)
+                               .maxConcurrency(2)
+                               .whenBusy(BusyPolicy.QUEUE)
+                               .queueCapacity(1)
+                               .build());
+            command.get().canExecute().onChanged(canExecute::add);
+            command.get().results().onEvent(results::add);
+            
+            for (int value = 1; value <= 4; value++)
+                command.get().execute(value);
+            
+            // the fourth execution is dropped, the queue is full
+            assertEquals(Arrays.asList(true, false), canExecute);
+        });
+        
+        assertEquals(2, pendingWork.size());
+        runPendingWork();
+        
+        testHelper.runTest(() -> {
+            assertEquals(Arrays.asList(1, 2), results);
+            assertEquals(Arrays.asList(true, false, true), canExecute);
+        });
+        
+        assertEquals(1, pendingWork.size());
+        runPendingWork();
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList(1, 2, 3), results));
+    }
+    
+    @Test
+    public void testCancelExecution() {
+        AtomicReference<Disposable> execution = new AtomicReference<>();
+        List<Integer> results = new ArrayList<>();
+        List<Boolean> isExecuting = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            Command<Integer, Integer> command = Command.create(Function.identity(), pendingWork::add);
+            command.results().onEvent(results::add);
+            command.isExecuting().onChanged(isExecuting::add);
+            
+            execution.set(command.execute(1));
+        });
+        
+        testHelper.runTest(() -> execution.get().dispose());
+        runPendingWork();
+        
+        testHelper.runTest(() -> {
+            assertTrue(results.isEmpty());
+            assertEquals(Arrays.asList(false, true, false), isExecuting);
+        });
+    }
+    
+    @Test
+    public void testCondition() {
+        AtomicReference<Property<Boolean>> condition = new AtomicReference<>();
+        AtomicReference<Command<Integer, Integer>> command = new AtomicReference<>();
+        List<Boolean> canExecute = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            condition.set(Property.create(false));
+            command.set(Command.builder(Function.<Integer>identity(), pendingWork::add)
+                               .canExecuteWhen(condition.get())
+                               .build());
+            command.get().canExecute().onChanged(canExecute::add);
+            
+            command.get().execute(1);
+            
+            condition.get().setValue(true);
+            command.get().execute(2);
+            
+            assertEquals(Arrays.asList(false, true, false), canExecute);
+        });
+        
+        assertEquals(1, pendingWork.size());
+    }
+    
+    @Test
+    public void testExecuteFromObserver() {
+        AtomicReference<Command<Integer, Integer>> command = new AtomicReference<>();
+        List<Boolean> isExecuting = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            command.set(Command.create(Function.identity(), pendingWork::add));
+            command.get().isExecuting().onChanged(isExecuting::add);
+            
+            EventSubject<Integer> clicks = EventSubject.create();
+            clicks.onEvent(command.get()::execute);
+            clicks.publish(1);
+        });
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList(false, true), isExecuting));
+        assertEquals(1, pendingWork.size());
+    }
+    
+    @Test
+    public void testRejectedExecution() {
+        List<Throwable> errors = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            Command<Integer, Integer> command = Command.create(Function.identity(), work -> {
+                throw new RejectedExecutionException();
+            });
+            command.errors().onEvent(errors::add);
+            command.execute(1);
+            
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof RejectedExecutionException);
+        });
+    }
+    
+    @Test
+    public void testDispose() {
+        List<Integer> results = new ArrayList<>();
+        
+        testHelper.runTest(() -> {
+            Command<Integer, Integer> command = Command.create(Function.identity(), pendingWork::add);
+            command.results().onEvent(results::add);
+            command.execute(1);
+            command.dispose();
+            
+            command.execute(2);
+        });
+        
+        // only the first, cancelled, execution was submitted
+        assertEquals(1, pendingWork.size());
+        runPendingWork();
+        
+        testHelper.runTest(() -> assertTrue(results.isEmpty()));
+    }
+    
+    @Test(expected=IllegalStateException.class)
+    public void testCreateOffEventLoop() {
+        Command.create(Function.identity(), pendingWork::add);
+    }
+    
+    private void runPendingWork() {
+        List<Runnable> work = new ArrayList<>(pendingWork);
+        pendingWork.clear();
+        work.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import mb.rxui.event.EventObserver;
+import mb.rxui.property.PropertyObserver;
+
+/**
+ * Regression tests that make sure that a dispatch that is not deferred does
+ * not allocate.
+ */
+public class TestDispatchAllocation {
+
+    private static final int WARMUP_DISPATCHES = 20_000;
+    private static final int MEASURED_DISPATCHES = 100_000;
+
+    // less than a byte per dispatch on average, which tolerates the few
+    // allocations done by the measurement itself.
+    private static final double MAX_BYTES_PER_DISPATCH = 1.0;
+
+    private static final String[] VALUES = { "tacos", "burritos" };
+
+    private ThreadMXBean threadMXBean;
+    private int notifications;
+
+    @Before
+    public void setup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof ThreadMXBean);
+
+        threadMXBean = (ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        notifications = 0;
+    }
+
+    @Test
+    public void testPropertyDispatchDoesNotAllocate() {
+        PropertyDispatcher<String> dispatcher = PropertyDispatcher.create(Dispatchers.getInstance());
+        dispatcher.subscribe(PropertyObserver.create(value -> notifications++));
+        dispatcher.subscribe(createPropertyBinding());
+
+        double bytesPerDispatch = measureBytesPerDispatch(index -> dispatcher.dispatch(VALUES[index % 2]));
+
+        assertEquals(2 * (WARMUP_DISPATCHES + MEASURED_DISPATCHES), notifications);
+        assertTrue("allocated " + bytesPerDispatch + " bytes per dispatch", bytesPerDispatch < MAX_BYTES_PER_DISPATCH);
+        assertFalse(dispatcher.isDispatching());
+    }
+
+    @Test
+    public void testEventDispatchDoesNotAllocate() {
+        EventDispatcher<String> dispatcher = EventDispatcher.create(Dispatchers.getInstance());
+        dispatcher.subscribe(EventObserver.create(event -> notifications++));
+        dispatcher.subscribe(EventObserver.create(event -> notifications++));
+
+        double bytesPerDispatch = measureBytesPerDispatch(index -> dispatcher.dispatch(VALUES[index % 2]));
+
+        assertEquals(2 * (WARMUP_DISPATCHES + MEASURED_DISPATCHES), notifications);
+        assertTrue("allocated " + bytesPerDispatch + " bytes per dispatch", bytesPerDispatch < MAX_BYTES_PER_DISPATCH);
+        assertFalse(dispatcher.isDispatching());
+    }
+
+    private double measureBytesPerDispatch(IndexedDispatch dispatch) {
+        for (int index = 0; index < WARMUP_DISPATCHES; index++)
+            dispatch.dispatch(index);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        for (int index = 0; index < MEASURED_DISPATCHES; index++)
+            dispatch.dispatch(index);
+
+        long allocatedAfter = threadMXBean.getThreadAllocatedBytes(threadId);
+
+        return (double) (allocatedAfter - allocatedBefore) / MEASURED_DISPATCHES;
+    }
+
+    private PropertyObserver<String> createPropertyBinding() {
+        return new PropertyObserver<String>() {
+            @Override
+            public void onChanged(String newValue) {
+                notifications++;
+            }
+
+            @Override
+            public void onDisposed() {}
+
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        };
+    }
+
+    private interface IndexedDispatch {
+        void dispatch(int index);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestDispatcherRegistry {
+    
+    @Test
+    public void testRegister() {
+        DispatcherRegistry registry = new DispatcherRegistry();
+        List<PropertyDispatcher<String>> dispatchers = createDispatchers(3);
+        
+        dispatchers.forEach(registry::register);
+        
+        assertEquals(3, registry.getLiveCount());
+        assertEquals(0, registry.getCollectedCount());
+    }
+    
+    @Test
+    public void testCollectedDispatchersReclaimed() throws Exception {
+        DispatcherRegistry registry = new DispatcherRegistry();
+        PropertyDispatcher<String> liveDispatcher = PropertyDispatcher.create(Dispatchers.getInstance());
+        
+        registry.register(liveDispatcher);
+        createDispatchers(100).forEach(registry::register);
+        
+        assertEquals(101, registry.getLiveCount());
+        
+        for (int attempt = 0; attempt < 50 && registry.getCollectedCount() < 100; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        
+        assertEquals(100, registry.getCollectedCount());
+        assertEquals(1, registry.getLiveCount());
+        
+        List<PropertyDispatcher<String>> reusedDispatchers = createDispatchers(100);
+        reusedDispatchers.forEach(registry::register);
+        assertEquals(101, registry.getLiveCount());
+        assertEquals(100, registry.getCollectedCount());
+        
+        // keep the live dispatcher reachable until the assertions are done
+        assertFalse(liveDispatcher.isDispatching());
+    }
+    
+    private static List<PropertyDispatcher<String>> createDispatchers(int count) {
+        List<PropertyDispatcher<String>> dispatchers = new ArrayList<>();
+        
+        for (int index = 0; index < count; index++)
+            dispatchers.add(PropertyDispatcher.create(Dispatchers.getInstance()));
+        
+        return dispatchers;
+    }
+}
@@ -13,18 +13,27 @@
  */
 package mb.rxui.dispatcher;
 
+import static mb.rxui.ThreadedTestHelper.doOnIoThread;
 import static org.junit.Assert.*;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import mb.rxui.EventLoop;
 import mb.rxui.SwingTestRunner;
 import mb.rxui.dispatcher.Dispatchers.EventDispatcherFactory;
 import mb.rxui.dispatcher.Dispatchers.PropertyDispatcherFactory;
 import mb.rxui.property.Property;
+import mb.rxui.property.PropertyObserver;
 
 @RunWith(SwingTestRunner.class)
 public class TestDispatchers {
@@ -33,20 +42,29 @@ public class TestDispatchers {
     public void setup() {
         PropertyDispatcherFactory propertyDispatcherFactory = new PropertyDispatcherFactory() {
             @Override
-            public <M> PropertyDispatcher<M> create() {
-                return Mockito.spy(PropertyDispatcher.create());
+            public <M> PropertyDispatcher<M> create(Dispatchers dispatchers) {
+                return Mockito.spy(PropertyDispatcher.create(dispatchers));
             }
         };
         
         EventDispatcherFactory eventDispatcherFactory = new EventDispatcherFactory() {
             @Override
-            public <M> EventDispatcher<M> create() {
-                return Mockito.spy(EventDispatcher.create());
+            public <M> EventDispatcher<M> create(Dispatchers dispatchers) {
+                return Mockito.spy(EventDispatcher.create(dispatchers));
             }
         };
         
-        Dispatchers.getInstance().setPropertyDispatcherFactory(propertyDispatcherFactory);
-        Dispatchers.getInstance().setEventDispatcherFactory(eventDispatcherFactory);
+        // the tests run on the EDT, so the dispatchers of the swing event loop are used.
+        Dispatchers dispatchers = EventLoop.SWING_EVENT_LOOP.getDispatchers();
+        dispatchers.setPropertyDispatcherFactory(propertyDispatcherFactory);
+        dispatchers.setEventDispatcherFactory(eventDispatcherFactory);
+    }
+    
+    @After
+    public void tearDown() {
+        Dispatchers dispatchers = EventLoop.SWING_EVENT_LOOP.getDispatchers();
+        dispatchers.setPropertyDispatcherFactory(PropertyDispatcher::create);
+        dispatchers.setEventDispatcherFactory(EventDispatcher::create);
     }
     
     @Test
@@ -129,4 +147,210 @@ public class TestDispatchers {
         assertFalse(dispatchers.isDispatching());
         assertFalse(dispatchers.isDispatchingBinding());
     }
+    
+    @Test
+    public void testCaptureDispatchStateDuringBinding() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+
+        Property<String> property1 = Property.create("one");
+        Property<String> property2 = Property.create("two");
+        
+        property1.bind(property2);
+        
+        Runnable[] wrappedRunnable = new Runnable[1];
+        property1.onChanged(value -> wrappedRunnable[0] = dispatchers.wrapRunnableWithCurrentDispatchState(() -> {
+            assertTrue(dispatchers.isDispatching());
+            assertTrue(dispatchers.isDispatchingBinding());
+        }));
+        
+        property2.setValue("three");
+        
+        assertFalse(dispatchers.isDispatching());
+        assertFalse(dispatchers.isDispatchingBinding());
+        
+        wrappedRunnable[0].run();
+        
+        assertFalse(dispatchers.isDispatching());
+        assertFalse(dispatchers.isDispatchingBinding());
+    }
+    
+    @Test
+    public void testDispatchStateRestoredOutOfOrder() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        PropertyDispatcher<String> propertyDispatcher1 = Dispatcher.createPropertyDispatcher();
+        PropertyDispatcher<String> propertyDispatcher2 = Dispatcher.createPropertyDispatcher();
+        
+        propertyDispatcher1.setDispatching(true);
+        propertyDispatcher2.setDispatching(true);
+        propertyDispatcher1.setDispatching(false);
+        
+        assertTrue(dispatchers.isDispatching());
+        
+        Runnable wrappedRunnable = dispatchers.wrapRunnableWithCurrentDispatchState(() -> {
+            assertFalse(propertyDispatcher1.isDispatching());
+            assertTrue(propertyDispatcher2.isDispatching());
+        });
+        
+        propertyDispatcher2.setDispatching(false);
+        assertFalse(dispatchers.isDispatching());
+        
+        wrappedRunnable.run();
+        assertFalse(dispatchers.isDispatching());
+    }
+    
+    @Test
+    public void testCapturedDispatchersNotRetained() throws Exception {
+        WeakReference<PropertyDispatcher<String>> dispatcherReference = new WeakReference<>(captureWhileDispatching());
+        
+        for (int attempt = 0; attempt < 50 && dispatcherReference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        
+        assertNull(dispatcherReference.get());
+    }
+    
+    private static PropertyDispatcher<String> captureWhileDispatching() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        PropertyDispatcher<String> propertyDispatcher = PropertyDispatcher.create(dispatchers);
+        
+        propertyDispatcher.setDispatching(true);
+        dispatchers.wrapRunnableWithCurrentDispatchState(() -> {});
+        propertyDispatcher.setDispatching(false);
+        
+        return propertyDispatcher;
+    }
+    
+    @Test
+    public void testTransactionDefersObservers() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        Property<String> property1 = Property.create("one");
+        Property<String> property2 = Property.create("two");
+        
+        List<String> notifications = new ArrayList<>();
+        property1.onChanged(value -> notifications.add("property1:" + value));
+        property2.onChanged(value -> notifications.add("property2:" + value));
+        notifications.clear();
+        
+        dispatchers.transaction(() -> {
+            property1.setValue("three");
+            property2.setValue("four");
+            property1.setValue("five");
+            
+            assertEquals("five", property1.get());
+            assertTrue(notifications.isEmpty());
+        });
+        
+        assertEquals(Arrays.asList("property1:five", "property2:four"), notifications);
+    }
+    
+    @Test
+    public void testTransactionUpdatesBindingsImmediately() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        Property<Integer> source = Property.create(0);
+        Property<Integer> target = Property.create(0);
+        target.bind(source);
+        
+        List<String> notifications = new ArrayList<>();
+        source.onChanged(value -> notifications.add("source:" + value + ":" + target.get()));
+        target.onChanged(value -> notifications.add("target:" + value));
+        notifications.clear();
+        
+        dispatchers.transaction(() -> {
+            for (int value = 1; value <= 10; value++) {
+                source.setValue(value);
+                assertEquals(source.get(), target.get());
+            }
+        });
+        
+        assertEquals(Arrays.asList("target:10", "source:10:10"), notifications);
+    }
+    
+    @Test
+    public void testNestedTransactions() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        Property<String> property = Property.create("one");
+        
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        values.clear();
+        
+        dispatchers.transaction(() -> {
+            dispatchers.transaction(() -> property.setValue("two"));
+            assertTrue(values.isEmpty());
+            property.setValue("three");
+        });
+        
+        assertEquals(Arrays.asList("three"), values);
+    }
+    
+    @Test
+    public void testTransactionRevertedValueNotNotified() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        Property<String> property = Property.create("one");
+        
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        values.clear();
+        
+        dispatchers.transaction(() -> {
+            property.setValue("two");
+            property.setValue("one");
+        });
+        
+        assertTrue(values.isEmpty());
+    }
+    
+    @Test
+    public void testTransactionDrainedWhenExceptionThrown() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        Property<String> property = Property.create("one");
+        
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        values.clear();
+        
+        try {
+            dispatchers.transaction(() -> {
+                property.setValue("two");
+                throw new IllegalStateException();
+            });
+            fail("the exception should be rethrown");
+        } catch (IllegalStateException exception) {
+            // expected
+        }
+        
+        assertEquals(Arrays.asList("two"), values);
+        
+        property.setValue("three");
+        assertEquals(Arrays.asList("two", "three"), values);
+    }
+    
+    @Test
+    public void testDispatchersOfEventLoop() {
+        assertSame(EventLoop.SWING_EVENT_LOOP.getDispatchers(), Dispatchers.getInstance());
+        assertNotSame(EventLoop.SWING_EVENT_LOOP.getDispatchers(), EventLoop.JAVAFX_EVENT_LOOP.getDispatchers());
+    }
+    
+    @Test
+    public void testDispatchersConfinedToThread() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        PropertyDispatcher<String> dispatcher = Dispatcher.createPropertyDispatcher();
+        
+        Dispatchers[] otherDispatchers = new Dispatchers[1];
+        boolean[] otherIsDispatching = new boolean[1];
+        dispatcher.subscribe(PropertyObserver.create(value -> {
+            assertTrue(dispatchers.isDispatching());
+            doOnIoThread(() -> {
+                otherDispatchers[0] = Dispatchers.getInstance();
+                otherIsDispatching[0] = otherDispatchers[0].isDispatching();
+            });
+        }));
+        
+        dispatcher.dispatch("tacos");
+        
+        assertNotNull(otherDispatchers[0]);
+        assertNotSame(dispatchers, otherDispatchers[0]);
+        assertFalse(otherIsDispatching[0]);
+    }
 }
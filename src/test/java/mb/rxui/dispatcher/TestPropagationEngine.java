@@ -0,0 +1,89 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mb.rxui.SwingTestRunner;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyObserver;
+
+@RunWith(SwingTestRunner.class)
+public class TestPropagationEngine {
+    
+    @Test
+    public void testBoundDispatcherHasHigherRank() {
+        PropertyDispatcher<Integer> source = Dispatcher.createPropertyDispatcher();
+        PropertyDispatcher<Integer> target = Dispatcher.createPropertyDispatcher();
+        
+        source.subscribe(new PropertyObserver<Integer>() {
+            @Override
+            public void onChanged(Integer newValue) {
+                target.dispatch(newValue);
+            }
+            
+            @Override
+            public void onDisposed() {}
+            
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+        
+        source.dispatch(1);
+        
+        assertTrue(target.getRank() > source.getRank());
+    }
+    
+    @Test
+    public void testObserversDeferredUntilBindingsComplete() {
+        Property<Integer> source = Property.create(0);
+        Property<Integer> target = Property.create(0);
+        target.bind(source);
+        
+        List<String> notifications = new ArrayList<>();
+        source.onChanged(value -> notifications.add("source:" + value + ":" + target.get()));
+        target.onChanged(value -> notifications.add("target:" + value));
+        notifications.clear();
+        
+        source.setValue(5);
+        
+        assertEquals(Arrays.asList("target:5", "source:5:5"), notifications);
+    }
+    
+    @Test
+    public void testNotPropagatingAfterDispatch() {
+        PropagationEngine engine = Dispatchers.getInstance().getPropagationEngine();
+        Property<Integer> source = Property.create(0);
+        Property<Integer> target = Property.create(0);
+        target.bind(source);
+        
+        List<Boolean> propagating = new ArrayList<>();
+        target.onChanged(value -> propagating.add(engine.isPropagating()));
+        propagating.clear();
+        
+        source.setValue(1);
+        
+        assertEquals(Arrays.asList(true), propagating);
+        assertFalse(engine.isPropagating());
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.event.EventObserver;
+import mb.rxui.property.PropertyObserver;
+
+public class TestPropertyDispatcherCoalescing {
+
+    private PropertyDispatcher<Integer> dispatcher;
+    private EventDispatcher<List<Integer>> events;
+    private List<Integer> values;
+
+    @Before
+    public void setup() {
+        dispatcher = PropertyDispatcher.create(Dispatchers.getInstance());
+        events = EventDispatcher.create(Dispatchers.getInstance());
+        values = new ArrayList<>();
+
+        dispatcher.subscribe(PropertyObserver.create(values::add));
+        events.subscribe(EventObserver.create(event -> event.forEach(dispatcher::dispatch)));
+    }
+
+    @Test
+    public void testPausedDispatchesReplayed() {
+        assertFalse(dispatcher.isCoalescing());
+
+        events.dispatch(Arrays.asList(1, 2, 3, 4, 5));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), values);
+    }
+
+    @Test
+    public void testPausedDispatchesCoalesced() {
+        dispatcher.setCoalescing(true);
+        assertTrue(dispatcher.isCoalescing());
+
+        events.dispatch(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(Arrays.asList(5), values);
+
+        events.dispatch(Arrays.asList(6, 7));
+        assertEquals(Arrays.asList(5, 7), values);
+    }
+
+    @Test
+    public void testCoalescedToLastNotifiedValue() {
+        dispatcher.setCoalescing(true);
+        dispatcher.dispatch(1);
+        assertEquals(Arrays.asList(1), values);
+
+        events.dispatch(Arrays.asList(2, 1));
+        assertEquals(Arrays.asList(1), values);
+    }
+
+    @Test
+    public void testCoalescingKeepsObserverOrder() {
+        List<String> notifications = new ArrayList<>();
+        PropertyDispatcher<Integer> property = PropertyDispatcher.create(Dispatchers.getInstance());
+        property.setCoalescing(true);
+        property.subscribe(PropertyObserver.create(value -> notifications.add("first:" + value)));
+        property.subscribe(PropertyObserver.create(value -> notifications.add("second:" + value)));
+
+        EventDispatcher<List<Integer>> source = EventDispatcher.create(Dispatchers.getInstance());
+        source.subscribe(EventObserver.create(event -> event.forEach(property::dispatch)));
+        source.dispatch(Arrays.asList(1, 2, 3));
+
+        assertEquals(Arrays.asList("first:3", "second:3"), notifications);
+    }
+
+    @Test
+    public void testBindingsNotCoalesced() {
+        List<Integer> boundValues = new ArrayList<>();
+        dispatcher.setCoalescing(true);
+        dispatcher.subscribe(new PropertyObserver<Integer>() {
+            @Override
+            public void onChanged(Integer newValue) {
+                boundValues.add(newValue);
+            }
+
+            @Override
+            public void onDisposed() {}
+
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+
+        events.dispatch(Arrays.asList(1, 2, 3));
+
+        assertEquals(Arrays.asList(1, 2, 3), boundValues);
+        assertEquals(Arrays.asList(3), values);
+    }
+
+    @Test
+    public void testNotCoalescedWhenNotPaused() {
+        dispatcher.setCoalescing(true);
+
+        dispatcher.dispatch(1);
+        dispatcher.dispatch(2);
+        events.dispatch(Collections.emptyList());
+
+        assertEquals(Arrays.asList(1, 2), values);
+    }
+}
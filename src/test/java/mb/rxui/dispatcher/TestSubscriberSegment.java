@@ -0,0 +1,124 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import mb.rxui.dispatcher.SubscriberSegment.Slot;
+
+public class TestSubscriberSegment {
+    
+    @Test
+    public void testAddKeepsInsertionOrder() {
+        SubscriberSegment<String> segment = new SubscriberSegment<>();
+        
+        for (int index = 0; index < 10; index++)
+            segment.add("subscriber" + index);
+        
+        assertEquals(10, segment.size());
+        assertEquals(createExpected(0, 10, -1), getSubscribers(segment));
+    }
+    
+    @Test
+    public void testRemove() {
+        SubscriberSegment<String> segment = new SubscriberSegment<>();
+        List<Slot<String>> slots = new ArrayList<>();
+        
+        for (int index = 0; index < 10; index++)
+            slots.add(segment.add("subscriber" + index));
+        
+        slots.get(3).remove();
+        assertEquals(9, segment.size());
+        assertEquals(createExpected(0, 10, 3), getSubscribers(segment));
+        
+        // removing twice has no effect
+        slots.get(3).remove();
+        assertEquals(9, segment.size());
+    }
+    
+    @Test
+    public void testCompactionKeepsOrderAndSlots() {
+        SubscriberSegment<String> segment = new SubscriberSegment<>();
+        List<Slot<String>> slots = new ArrayList<>();
+        
+        for (int index = 0; index < 100; index++)
+            slots.add(segment.add("subscriber" + index));
+        
+        for (int index = 0; index < 90; index++)
+            slots.get(index).remove();
+        
+        assertEquals(10, segment.size());
+        assertTrue(segment.getEnd() < 100);
+        assertEquals(createExpected(90, 100, -1), getSubscribers(segment));
+        
+        slots.get(95).remove();
+        assertEquals(createExpected(90, 100, 95), getSubscribers(segment));
+    }
+    
+    @Test
+    public void testIterationUnaffectedByConcurrentModification() {
+        SubscriberSegment<String> segment = new SubscriberSegment<>();
+        List<Slot<String>> slots = new ArrayList<>();
+        
+        for (int index = 0; index < 8; index++)
+            slots.add(segment.add("subscriber" + index));
+        
+        Slot<String>[] snapshot = segment.getSlots();
+        int end = segment.getEnd();
+        
+        for (int index = 0; index < 7; index++)
+            slots.get(index).remove();
+        segment.add("subscriber8");
+        
+        assertEquals("subscriber7", snapshot[end - 1].getSubscriber());
+    }
+    
+    @Test
+    public void testClear() {
+        SubscriberSegment<String> segment = new SubscriberSegment<>();
+        Slot<String> slot = segment.add("subscriber");
+        
+        segment.clear();
+        assertEquals(0, segment.size());
+        assertEquals(0, segment.getEnd());
+        
+        // removing after a clear has no effect
+        slot.remove();
+        assertEquals(0, segment.size());
+    }
+    
+    private static List<String> createExpected(int start, int end, int removed) {
+        List<String> expected = new ArrayList<>();
+        for (int index = start; index < end; index++)
+            if (index != removed)
+                expected.add("subscriber" + index);
+        return expected;
+    }
+
+    private static List<String> getSubscribers(SubscriberSegment<String> segment) {
+        List<String> subscribers = new ArrayList<>();
+        Slot<String>[] slots = segment.getSlots();
+        
+        for (int index = 0; index < segment.getEnd(); index++)
+            if (slots[index] != null)
+                subscribers.add(slots[index].getSubscriber());
+        
+        return subscribers;
+    }
+}
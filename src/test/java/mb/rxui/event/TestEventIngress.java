@@ -0,0 +1,239 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event;
+
+import static mb.rxui.ThreadedTestHelper.awaitLatch;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.HeadlessEventLoop;
+import mb.rxui.ThreadedTestHelper;
+import mb.rxui.event.EventIngress.OverflowPolicy;
+
+public class TestEventIngress {
+    
+    private HeadlessEventLoop eventLoop;
+    private ThreadedTestHelper testHelper;
+    private AtomicReference<EventSubject<String>> subject;
+    private List<String> events;
+    
+    @Before
+    public void setup() {
+        eventLoop = HeadlessEventLoop.create("Test Ingress");
+        testHelper = new ThreadedTestHelper(eventLoop::invokeLater);
+        subject = new AtomicReference<>();
+        events = Collections.synchronizedList(new ArrayList<>());
+        
+        testHelper.runTest(() -> {
+            subject.set(EventSubject.create());
+            subject.get().onEvent(events::add);
+        });
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testEventsPublishedOnEventLoop() {
+        EventIngress<String> ingress = createIngress(10, OverflowPolicy.DROP_OLDEST);
+        List<Boolean> isInEventLoop = new ArrayList<>();
+        testHelper.runTest(() -> subject.get().onEvent(event -> isInEventLoop.add(eventLoop.isInEventLoop())));
+        
+        ingress.publish("tacos");
+        ingress.publish("burritos");
+        
+        testHelper.runTest(() -> {
+            assertEquals(Arrays.asList("tacos", "burritos"), events);
+            assertEquals(Arrays.asList(true, true), isInEventLoop);
+        });
+        assertEquals(0, ingress.getDroppedCount());
+    }
+    
+    @Test
+    public void testDropOldest() {
+        EventIngress<String> ingress = createIngress(2, OverflowPolicy.DROP_OLDEST);
+        
+        whileEventLoopBlocked(() -> {
+            ingress.publish("tacos");
+            ingress.publish("burritos");
+            ingress.publish("fajitas");
+            
+            assertEquals(2, ingress.getPendingCount());
+        });
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList("burritos", "fajitas"), events));
+        assertEquals(1, ingress.getDroppedCount());
+        assertEquals(0, ingress.getPendingCount());
+    }
+    
+    @Test
+    public void testLatestOnly() {
+        EventIngress<String> ingress = createIngress(10, OverflowPolicy.LATEST_ONLY);
+        
+        whileEventLoopBlocked(() -> {
+            ingress.publish("tacos");
+            ingress.publish("burritos");
+            ingress.publish("fajitas");
+        });
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList("fajitas"), events));
+        assertEquals(2, ingress.getDroppedCount());
+    }
+    
+    @Test
+    public void testConflateByKey() {
+        AtomicReference<EventIngress<String>> ingress = new AtomicReference<>();
+        testHelper.runTest(() -> ingress.set(subject.get().createIngress(2, event -> event.charAt(0))));
+        
+        whileEventLoopBlocked(() -> {
+            ingress.get().publish("tacos");
+            ingress.get().publish("burritos");
+            ingress.get().publish("tamales");
+            ingress.get().publish("fajitas");
+        });
+        
+        // tamales replaced tacos, then fajitas evicted tamales, the oldest key
+        testHelper.runTest(() -> assertEquals(Arrays.asList("burritos", "fajitas"), events));
+        assertEquals(2, ingress.get().getDroppedCount());
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testConflateByKeyRequiresKeyFunction() throws Throwable {
+        testHelper.runTestReThrowException(() -> subject.get().createIngress(2, OverflowPolicy.CONFLATE_BY_KEY));
+    }
+    
+    @Test
+    public void testBlock() throws Exception {
+        EventIngress<String> ingress = createIngress(1, OverflowPolicy.BLOCK);
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        
+        try {
+            CountDownLatch published = new CountDownLatch(1);
+            
+            whileEventLoopBlocked(() -> {
+                ingress.publish("tacos");
+                
+                producer.execute(() -> {
+                    ingress.publish("burritos");
+                    published.countDown();
+                });
+                
+                // blocked until the event loop drains
+                assertFalse(awaitLatchBriefly(published));
+            });
+            
+            assertTrue(awaitLatch(published));
+            testHelper.runTest(() -> assertEquals(Arrays.asList("tacos", "burritos"), events));
+            assertEquals(0, ingress.getDroppedCount());
+        } finally {
+            producer.shutdown();
+        }
+    }
+    
+    @Test
+    public void testBlockDropsOnEventLoop() {
+        EventIngress<String> ingress = createIngress(1, OverflowPolicy.BLOCK);
+        
+        testHelper.runTest(() -> {
+            ingress.publish("tacos");
+            ingress.publish("burritos");
+        });
+        
+        testHelper.runTest(() -> assertEquals(Arrays.asList("tacos"), events));
+        assertEquals(1, ingress.getDroppedCount());
+    }
+    
+    @Test
+    public void testDisposedWithSubject() {
+        EventIngress<String> ingress = createIngress(10, OverflowPolicy.DROP_OLDEST);
+        
+        testHelper.runTest(() -> subject.get().dispose());
+        ingress.publish("tacos");
+        
+        testHelper.runTest(() -> assertTrue(events.isEmpty()));
+        assertEquals(1, ingress.getDroppedCount());
+    }
+    
+    @Test
+    public void testManyProducers() throws Exception {
+        int producerCount = 4;
+        int eventsPerProducer = 10_000;
+        EventIngress<String> ingress = createIngress(100, OverflowPolicy.BLOCK);
+        ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        CountDownLatch latch = new CountDownLatch(producerCount);
+        
+        try {
+            for (int producer = 0; producer < producerCount; producer++) {
+                producers.execute(() -> {
+                    for (int index = 0; index < eventsPerProducer; index++)
+                        ingress.publish("tacos");
+                    latch.countDown();
+                });
+            }
+            
+            assertTrue(awaitLatch(latch));
+        } finally {
+            producers.shutdown();
+        }
+        
+        testHelper.runTest(() -> assertEquals(producerCount * eventsPerProducer, events.size()));
+        assertEquals(0, ingress.getDroppedCount());
+    }
+    
+    private EventIngress<String> createIngress(int capacity, OverflowPolicy policy) {
+        AtomicReference<EventIngress<String>> ingress = new AtomicReference<>();
+        testHelper.runTest(() -> ingress.set(subject.get().createIngress(capacity, policy)));
+        return ingress.get();
+    }
+    
+    private void whileEventLoopBlocked(Runnable runnable) {
+        CountDownLatch isBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        eventLoop.invokeLater(() -> {
+            isBlocked.countDown();
+            awaitLatch(release);
+        });
+        
+        try {
+            assertTrue(awaitLatch(isBlocked));
+            runnable.run();
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    private static boolean awaitLatchBriefly(CountDownLatch latch) {
+        try {
+            return latch.await(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+}
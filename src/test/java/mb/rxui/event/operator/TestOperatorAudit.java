@@ -0,0 +1,108 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubject;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorAudit {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testAudit() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> auditedEvents = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.audit(100, MILLISECONDS).observe(EventObserver.create(auditedEvents::add, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(49, MILLISECONDS);
+        assertTrue(auditedEvents.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos"), auditedEvents);
+        
+        // the window starts with the next event
+        eventLoop.advanceTimeBy(30, MILLISECONDS);
+        events.publish("nachos");
+        eventLoop.advanceTimeBy(99, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos"), auditedEvents);
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos", "nachos"), auditedEvents);
+        
+        events.publish("fajitas");
+        eventLoop.advanceTimeBy(10, MILLISECONDS);
+        events.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("burritos", "nachos"), auditedEvents);
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testContinuousInputIsNotStarved() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> auditedEvents = new ArrayList<>();
+        
+        events.audit(100, MILLISECONDS).onEvent(auditedEvents::add);
+        
+        for (int index = 0; index < 30; index++) {
+            events.publish(index);
+            eventLoop.advanceTimeBy(10, MILLISECONDS);
+        }
+        
+        assertEquals(Arrays.asList(9, 19, 29), auditedEvents);
+    }
+    
+    @Test
+    public void testDisposeClosesTheWindow() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> auditedEvents = new ArrayList<>();
+        
+        Subscription subscription = events.audit(100, MILLISECONDS).onEvent(auditedEvents::add);
+        events.publish("tacos");
+        subscription.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertTrue(auditedEvents.isEmpty());
+        assertFalse(events.hasObservers());
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubject;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorBuffer {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testBufferByCount() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> batches = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.buffer(2).observe(EventObserver.create(batches::add, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        assertTrue(batches.isEmpty());
+        
+        events.publish("burritos");
+        events.publish("fajitas");
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos")), batches);
+        
+        // the partial batch is flushed on completion
+        events.dispose();
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos"), Arrays.asList("fajitas")), batches);
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testBufferByTime() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> batches = new ArrayList<>();
+        
+        events.buffer(100, MILLISECONDS).onEvent(batches::add);
+        
+        // no empty batches are emitted
+        eventLoop.advanceTimeBy(500, MILLISECONDS);
+        assertTrue(batches.isEmpty());
+        
+        events.publish("tacos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(49, MILLISECONDS);
+        assertTrue(batches.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos")), batches);
+        
+        events.publish("fajitas");
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos"), Arrays.asList("fajitas")), batches);
+    }
+    
+    @Test
+    public void testBufferByTimeAndCount() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> batches = new ArrayList<>();
+        
+        events.buffer(100, MILLISECONDS, 2).onEvent(batches::add);
+        
+        events.publish("tacos");
+        events.publish("burritos");
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos")), batches);
+        
+        // the timespan of the full batch was cancelled
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("fajitas");
+        eventLoop.advanceTimeBy(99, MILLISECONDS);
+        assertEquals(1, batches.size());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos"), Arrays.asList("fajitas")), batches);
+    }
+    
+    @Test
+    public void testBufferByTimeWithLargeMaxCount() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<List<Integer>> batches = new ArrayList<>();
+        
+        events.buffer(1, SECONDS, 1_000_000).onEvent(batches::add);
+        
+        events.publish(1);
+        events.publish(2);
+        eventLoop.advanceTimeBy(1, SECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), batches);
+        
+        // a batch larger than the initial capacity grows
+        List<Integer> largeBatch = new ArrayList<>();
+        for (int event = 0; event < 100; event++) {
+            events.publish(event);
+            largeBatch.add(event);
+        }
+        eventLoop.advanceTimeBy(1, SECONDS);
+        
+        events.publish(3);
+        eventLoop.advanceTimeBy(1, SECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), largeBatch, Arrays.asList(3)), batches);
+    }
+    
+    @Test
+    public void testDisposeDiscardsTheBatch() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> batches = new ArrayList<>();
+        
+        Subscription subscription = events.buffer(100, MILLISECONDS).onEvent(batches::add);
+        events.publish("tacos");
+        subscription.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        events.dispose();
+        
+        assertTrue(batches.isEmpty());
+    }
+}
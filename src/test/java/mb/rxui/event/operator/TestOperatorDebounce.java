@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventStream;
+import mb.rxui.event.EventSubject;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorDebounce {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testDebounce() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> debouncedEvents = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.debounce(100, MILLISECONDS).observe(EventObserver.create(debouncedEvents::add, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(99, MILLISECONDS);
+        assertTrue(debouncedEvents.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos"), debouncedEvents);
+        
+        events.publish("fajitas");
+        eventLoop.advanceTimeBy(10, MILLISECONDS);
+        events.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("burritos"), debouncedEvents);
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testBurstSchedulesASingleTimer() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> debouncedEvents = new ArrayList<>();
+        
+        events.debounce(100, MILLISECONDS).onEvent(debouncedEvents::add);
+        
+        for (int index = 0; index < 50; index++) {
+            events.publish(index);
+            eventLoop.advanceTimeBy(1, MILLISECONDS);
+        }
+        
+        assertEquals(1, eventLoop.getQueuedCount());
+        assertTrue(debouncedEvents.isEmpty());
+        
+        // the timer is re-armed for the remaining time of the deadline
+        eventLoop.advanceTimeBy(98, MILLISECONDS);
+        assertEquals(1, eventLoop.getQueuedCount());
+        assertTrue(debouncedEvents.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(49), debouncedEvents);
+        assertEquals(0, eventLoop.getQueuedCount());
+    }
+    
+    @Test
+    public void testSubscriptionsAreDebouncedIndependently() {
+        EventSubject<String> events = EventSubject.create();
+        EventStream<String> debounced = events.debounce(100, MILLISECONDS);
+        List<String> debouncedEvents1 = new ArrayList<>();
+        List<String> debouncedEvents2 = new ArrayList<>();
+        
+        Subscription subscription = debounced.onEvent(debouncedEvents1::add);
+        debounced.onEvent(debouncedEvents2::add);
+        
+        events.publish("tacos");
+        subscription.dispose();
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        
+        assertTrue(debouncedEvents1.isEmpty());
+        assertEquals(Arrays.asList("tacos"), debouncedEvents2);
+    }
+}
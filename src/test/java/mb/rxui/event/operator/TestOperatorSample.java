@@ -0,0 +1,104 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubject;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorSample {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testSample() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> sampledEvents = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.sample(100, MILLISECONDS).observe(EventObserver.create(sampledEvents::add, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(49, MILLISECONDS);
+        assertTrue(sampledEvents.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos"), sampledEvents);
+        
+        // a period without events emits nothing
+        eventLoop.advanceTimeBy(500, MILLISECONDS);
+        assertEquals(Arrays.asList("burritos"), sampledEvents);
+        
+        events.publish("fajitas");
+        eventLoop.advanceTimeBy(10, MILLISECONDS);
+        events.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("burritos"), sampledEvents);
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testContinuousInputIsNotStarved() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> sampledEvents = new ArrayList<>();
+        
+        events.throttleLast(100, MILLISECONDS).onEvent(sampledEvents::add);
+        
+        for (int index = 0; index < 30; index++) {
+            events.publish(index);
+            eventLoop.advanceTimeBy(10, MILLISECONDS);
+        }
+        
+        assertEquals(Arrays.asList(9, 19, 29), sampledEvents);
+    }
+    
+    @Test
+    public void testDisposeStopsSampling() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> sampledEvents = new ArrayList<>();
+        
+        Subscription subscription = events.sample(100, MILLISECONDS).onEvent(sampledEvents::add);
+        events.publish("tacos");
+        subscription.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertTrue(sampledEvents.isEmpty());
+        assertFalse(events.hasObservers());
+    }
+}
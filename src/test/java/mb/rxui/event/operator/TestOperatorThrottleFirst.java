@@ -0,0 +1,102 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubject;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorThrottleFirst {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testThrottleFirst() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> throttledEvents = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.throttleFirst(100, MILLISECONDS).observe(EventObserver.create(throttledEvents::add, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        assertEquals(Arrays.asList("tacos"), throttledEvents);
+        
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(49, MILLISECONDS);
+        events.publish("fajitas");
+        assertEquals(Arrays.asList("tacos"), throttledEvents);
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        events.publish("nachos");
+        assertEquals(Arrays.asList("tacos", "nachos"), throttledEvents);
+        
+        events.dispose();
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testContinuousInputIsNotStarved() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> throttledEvents = new ArrayList<>();
+        
+        events.throttleFirst(100, MILLISECONDS).onEvent(throttledEvents::add);
+        
+        for (int index = 0; index < 30; index++) {
+            events.publish(index);
+            eventLoop.advanceTimeBy(10, MILLISECONDS);
+        }
+        
+        assertEquals(Arrays.asList(0, 10, 20), throttledEvents);
+    }
+    
+    @Test
+    public void testDisposeCancelsTheWindow() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> throttledEvents = new ArrayList<>();
+        
+        Subscription subscription = events.throttleFirst(100, MILLISECONDS).onEvent(throttledEvents::add);
+        events.publish("tacos");
+        subscription.dispose();
+        
+        assertFalse(events.hasObservers());
+        
+        events.throttleFirst(100, MILLISECONDS).onEvent(throttledEvents::add);
+        events.publish("burritos");
+        
+        assertEquals(Arrays.asList("tacos", "burritos"), throttledEvents);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventObserver;
+import mb.rxui.event.EventSubject;
+
+public class TestOperatorWindow {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testWindowByCount() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> windows = new ArrayList<>();
+        List<Integer> completedWindows = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        events.window(2).observe(EventObserver.create(window -> {
+            List<String> windowEvents = new ArrayList<>();
+            int index = windows.size();
+            windows.add(windowEvents);
+            window.observe(EventObserver.create(windowEvents::add, () -> completedWindows.add(index)));
+        }, () -> isCompleted[0] = true));
+        
+        events.publish("tacos");
+        events.publish("burritos");
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos")), windows);
+        assertEquals(Arrays.asList(0), completedWindows);
+        
+        events.publish("fajitas");
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos"), Arrays.asList("fajitas")), windows);
+        assertEquals(Arrays.asList(0), completedWindows);
+        
+        events.dispose();
+        assertEquals(Arrays.asList(0, 1), completedWindows);
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testWindowByTime() {
+        EventSubject<String> events = EventSubject.create();
+        List<List<String>> windows = new ArrayList<>();
+        List<Integer> completedWindows = new ArrayList<>();
+        
+        events.window(100, MILLISECONDS, 3).onEvent(window -> {
+            List<String> windowEvents = new ArrayList<>();
+            int index = windows.size();
+            windows.add(windowEvents);
+            window.observe(EventObserver.create(windowEvents::add, () -> completedWindows.add(index)));
+        });
+        
+        eventLoop.advanceTimeBy(500, MILLISECONDS);
+        assertTrue(windows.isEmpty());
+        
+        events.publish("tacos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceTimeBy(49, MILLISECONDS);
+        assertTrue(completedWindows.isEmpty());
+        
+        eventLoop.advanceTimeBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos")), windows);
+        assertEquals(Arrays.asList(0), completedWindows);
+        
+        events.publish("fajitas");
+        events.publish("nachos");
+        events.publish("quesadillas");
+        events.publish("enchiladas");
+        assertEquals(Arrays.asList(Arrays.asList("tacos", "burritos"), 
+                                   Arrays.asList("fajitas", "nachos", "quesadillas"),
+                                   Arrays.asList("enchiladas")), windows);
+        assertEquals(Arrays.asList(0, 1), completedWindows);
+        
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        assertEquals(Arrays.asList(0, 1, 2), completedWindows);
+    }
+}
@@ -13,12 +13,18 @@
  */
 package mb.rxui.event.publisher;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.swing.SwingUtilities;
 
 import org.junit.Before;
@@ -236,4 +242,69 @@ public class TestFlattenPublisher {
         events1.publish("tacos");
         verify(observer).onEvent("tacos");
     }
+    
+    @Test
+    public void testCompletedStreamsAreReleased() {
+        List<EventObserver<String>> nestedObservers = new ArrayList<>();
+        Subscription nestedSubscription = mock(Subscription.class);
+        EventStream<String> nestedStream = new EventStream<>(nestedObserver -> {
+            nestedObservers.add(nestedObserver);
+            return nestedSubscription;
+        });
+        
+        Subscription subscription = flattenedStream.observe(observer);
+        streamOfStreams.publish(nestedStream);
+        
+        nestedObservers.get(0).onCompleted();
+        subscription.dispose();
+        
+        // the subscription of the completed stream was already released
+        verify(nestedSubscription, never()).dispose();
+    }
+    
+    @Test
+    public void testMaxConcurrencyQueuesStreams() {
+        List<String> events = new ArrayList<>();
+        EventStream.flatten(streamOfStreams, 2).onEvent(events::add);
+        
+        streamOfStreams.publish(events1);
+        streamOfStreams.publish(events2);
+        streamOfStreams.publish(events3);
+        assertTrue(events1.hasObservers());
+        assertTrue(events2.hasObservers());
+        assertFalse(events3.hasObservers());
+        
+        events3.publish("nachos");
+        events2.publish("burritos");
+        
+        // completing an observed stream observes the next queued stream
+        events1.dispose();
+        assertTrue(events3.hasObservers());
+        
+        events3.publish("fajitas");
+        assertEquals(Arrays.asList("burritos", "fajitas"), events);
+    }
+    
+    @Test
+    public void testMaxConcurrencySkipsCompletedStreams() {
+        List<String> events = new ArrayList<>();
+        events2.dispose();
+        
+        Subscription subscription = streamOfStreams.flatMap(stream -> stream, 1).onEvent(events::add);
+        
+        streamOfStreams.publish(events1);
+        streamOfStreams.publish(events2);
+        streamOfStreams.publish(events3);
+        assertFalse(events3.hasObservers());
+        
+        // the already completed stream frees its slot immediately
+        events1.dispose();
+        assertTrue(events3.hasObservers());
+        
+        events3.publish("tacos");
+        assertEquals(Arrays.asList("tacos"), events);
+        
+        subscription.dispose();
+        assertFalse(events3.hasObservers());
+    }
 }
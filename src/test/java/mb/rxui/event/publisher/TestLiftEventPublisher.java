@@ -15,12 +15,20 @@ package mb.rxui.event.publisher;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import mb.rxui.event.EventObserver;
 import mb.rxui.event.EventSubscriber;
 import mb.rxui.event.operator.Operator;
+import mb.rxui.event.operator.OperatorFilter;
+import mb.rxui.event.operator.OperatorMap;
+import mb.rxui.event.operator.OperatorScan;
 import mb.rxui.subscription.Subscription;
 
 public class TestLiftEventPublisher {
@@ -64,4 +72,73 @@ public class TestLiftEventPublisher {
         subscription.dispose();
         Mockito.verify(sourceSubscriber).dispose();
     }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFusibleOperatorsAreFused() {
+        EventPublisher<String> publisher = Mockito.mock(EventPublisher.class);
+        Mockito.when(publisher.subscribe(Mockito.any())).thenReturn(new EventSubscriber<>(EventObserver.create(()->{})));
+        
+        EventPublisher<String> mapped = Mockito.spy(LiftEventPublisher.create(new OperatorMap<String, String>(String::toUpperCase), publisher));
+        EventPublisher<String> filtered = Mockito.spy(LiftEventPublisher.create(new OperatorFilter<String>(value -> value.startsWith("T")), mapped));
+        EventPublisher<Integer> lengths = LiftEventPublisher.create(new OperatorMap<String, Integer>(String::length), filtered);
+        
+        List<Integer> values = new ArrayList<>();
+        lengths.subscribe(EventObserver.create(values::add));
+        
+        // the intermediate publishers are skipped, the whole chain is a single subscriber of the source
+        Mockito.verify(mapped, Mockito.never()).subscribe(Mockito.any());
+        Mockito.verify(filtered, Mockito.never()).subscribe(Mockito.any());
+        
+        ArgumentCaptor<EventObserver<String>> sourceObserver = ArgumentCaptor.forClass(EventObserver.class);
+        Mockito.verify(publisher).subscribe(sourceObserver.capture());
+        
+        sourceObserver.getValue().onEvent("tacos");
+        sourceObserver.getValue().onEvent("burritos");
+        sourceObserver.getValue().onEvent("tamales");
+        
+        assertEquals(Arrays.asList(5, 7), values);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNonFusibleOperatorsAreNotFused() {
+        EventPublisher<String> publisher = Mockito.mock(EventPublisher.class);
+        Mockito.when(publisher.subscribe(Mockito.any())).thenReturn(new EventSubscriber<>(EventObserver.create(()->{})));
+        Operator<String, String> operator = Mockito.mock(Operator.class);
+        Mockito.when(operator.apply(Mockito.any())).thenReturn(new EventSubscriber<>(EventObserver.create(()->{})));
+        
+        EventPublisher<String> lifted = LiftEventPublisher.create(operator, publisher);
+        EventPublisher<String> mapped = LiftEventPublisher.create(new OperatorMap<String, String>(String::toUpperCase), lifted);
+        
+        mapped.subscribe(EventObserver.create(value -> {}));
+        
+        Mockito.verify(operator).apply(Mockito.any(EventSubscriber.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFusedStateIsNotShared() {
+        EventPublisher<Integer> publisher = Mockito.mock(EventPublisher.class);
+        Mockito.when(publisher.subscribe(Mockito.any())).thenReturn(new EventSubscriber<>(EventObserver.create(()->{})));
+        
+        EventPublisher<Integer> sums = 
+                LiftEventPublisher.create(new OperatorScan<Integer, Integer>((value, sum) -> value + sum, 0), 
+                                          LiftEventPublisher.create(new OperatorMap<Integer, Integer>(value -> value * 2), publisher));
+        
+        List<Integer> values1 = new ArrayList<>();
+        List<Integer> values2 = new ArrayList<>();
+        sums.subscribe(EventObserver.create(values1::add));
+        sums.subscribe(EventObserver.create(values2::add));
+        
+        ArgumentCaptor<EventObserver<Integer>> sourceObservers = ArgumentCaptor.forClass(EventObserver.class);
+        Mockito.verify(publisher, Mockito.times(2)).subscribe(sourceObservers.capture());
+        
+        sourceObservers.getAllValues().get(0).onEvent(1);
+        sourceObservers.getAllValues().get(0).onEvent(2);
+        sourceObservers.getAllValues().get(1).onEvent(3);
+        
+        assertEquals(Arrays.asList(0, 2, 6), values1);
+        assertEquals(Arrays.asList(0, 6), values2);
+    }
 }
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.dispatcher.PropertyDispatcher;
+import mb.rxui.property.FrameBatcher.PendingWrite;
+
+public class TestFrameBatcher {
+    
+    private VirtualTimeEventLoop eventLoop;
+    private FrameBatcher frameBatcher;
+    private int flushRequests;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+        flushRequests = 0;
+        frameBatcher = new FrameBatcher(() -> flushRequests++);
+        frameBatcher.setEnabled(true);
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testBoundValuesWrittenOncePerFrame() {
+        ViewSource<Integer> view = new ViewSource<>(0);
+        Property<Integer> viewProperty = Property.create(view::create);
+        Property<Integer> model = Property.create(0);
+        viewProperty.bind(model);
+        
+        List<Integer> values = new ArrayList<>();
+        viewProperty.onChanged(values::add);
+        
+        model.setValue(1);
+        model.setValue(2);
+        model.setValue(3);
+        
+        assertEquals(1, flushRequests);
+        assertEquals(Arrays.asList(0), view.writes);
+        assertEquals(Integer.valueOf(3), viewProperty.get());
+        
+        frameBatcher.flush();
+        
+        assertEquals(Arrays.asList(0, 3), view.writes);
+        assertEquals(Arrays.asList(0, 3), values);
+        assertEquals(Integer.valueOf(3), viewProperty.get());
+    }
+    
+    @Test
+    public void testModelPropertiesRemainSynchronous() {
+        Property<Integer> model = Property.create(0);
+        Property<Integer> boundModel = Property.create(0);
+        boundModel.bind(model);
+        
+        model.setValue(1);
+        
+        assertEquals(Integer.valueOf(1), boundModel.get());
+        assertEquals(0, flushRequests);
+    }
+    
+    @Test
+    public void testDirectWriteIsImmediateAndDiscardsPendingValue() {
+        ViewSource<Integer> view = new ViewSource<>(0);
+        Property<Integer> viewProperty = Property.create(view::create);
+        Property<Integer> model = Property.create(0);
+        viewProperty.bind(model);
+        
+        model.setValue(1);
+        viewProperty.setValue(5);
+        assertEquals(Arrays.asList(0, 5), view.writes);
+        
+        frameBatcher.flush();
+        assertEquals(Arrays.asList(0, 5), view.writes);
+    }
+    
+    @Test
+    public void testPendingValueEqualToViewNotWritten() {
+        ViewSource<Integer> view = new ViewSource<>(0);
+        Property<Integer> viewProperty = Property.create(view::create);
+        Property<Integer> model = Property.create(0);
+        viewProperty.bind(model);
+        
+        model.setValue(1);
+        model.setValue(0);
+        frameBatcher.flush();
+        
+        assertEquals(Arrays.asList(0), view.writes);
+        assertEquals(Integer.valueOf(0), viewProperty.get());
+    }
+    
+    @Test
+    public void testDisableWritesPendingValues() {
+        ViewSource<Integer> view = new ViewSource<>(0);
+        Property<Integer> viewProperty = Property.create(view::create);
+        Property<Integer> model = Property.create(0);
+        viewProperty.bind(model);
+        
+        model.setValue(1);
+        frameBatcher.setEnabled(false);
+        assertEquals(Arrays.asList(0, 1), view.writes);
+        
+        model.setValue(2);
+        assertEquals(Arrays.asList(0, 1, 2), view.writes);
+        assertEquals(1, flushRequests);
+    }
+    
+    @Test
+    public void testWritesDuringFlushDeferredToNextFrame() {
+        ViewSource<Integer> firstView = new ViewSource<>(0);
+        ViewSource<Integer> secondView = new ViewSource<>(0);
+        Property<Integer> firstProperty = Property.create(firstView::create);
+        Property<Integer> secondProperty = Property.create(secondView::create);
+        Property<Integer> model = Property.create(0);
+        firstProperty.bind(model);
+        secondProperty.bind(firstProperty);
+        
+        model.setValue(1);
+        frameBatcher.flush();
+        assertEquals(Arrays.asList(0, 1), firstView.writes);
+        assertEquals(Arrays.asList(0), secondView.writes);
+        assertEquals(2, flushRequests);
+        
+        frameBatcher.flush();
+        assertEquals(Arrays.asList(0, 1), secondView.writes);
+    }
+    
+    /**
+     * Simulates a view, i.e. a text field, that notifies its listener when its
+     * value is written.
+     */
+    private class ViewSource<M> {
+        private final List<M> writes = new ArrayList<>();
+        private M value;
+        
+        private ViewSource(M initialValue) {
+            this.value = initialValue;
+            writes.add(initialValue);
+        }
+        
+        private PropertySource<M> create(PropertyDispatcher<M> dispatcher) {
+            PendingWrite<M> pendingWrite = frameBatcher.createPendingWrite(() -> value, newValue -> {
+                value = newValue;
+                writes.add(newValue);
+                dispatcher.dispatch(newValue);
+            });
+            
+            return new PropertySource<M>() {
+                @Override
+                public void setValue(M newValue) {
+                    pendingWrite.setValue(newValue);
+                }
+                
+                @Override
+                public M get() {
+                    return pendingWrite.get();
+                }
+            };
+        }
+    }
+}
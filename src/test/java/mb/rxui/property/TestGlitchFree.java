@@ -43,7 +43,7 @@ public class TestGlitchFree {
         PropertyStream<Integer> combinedProperty = 
                 Property.combine(property1, property2, (a, b) -> a + b);
         
-        Consumer<Integer> consumer = Mockito.mock(Consumer.class);
+        Consumer<Integer> consumer = mockConsumer();
         combinedProperty.onChanged(consumer);
         
         verify(consumer).accept(0);
@@ -64,7 +64,7 @@ public class TestGlitchFree {
         
         PropertyStream<Integer> combinedProperty = combine(propertyTimes2, propertyTimes4, (a, b) -> a + b);
         
-        Consumer<Integer> consumer = Mockito.mock(Consumer.class);
+        Consumer<Integer> consumer = mockConsumer();
         InOrder inOrder = Mockito.inOrder(consumer);
 
         combinedProperty.onChanged(consumer);
@@ -88,7 +88,7 @@ public class TestGlitchFree {
         property2.bind(sourceProperty);
         
         PropertyStream<Integer> combinedProperty = combine(property, property2, (a, b) -> a + b);
-        Consumer<Integer> consumer = Mockito.mock(Consumer.class);
+        Consumer<Integer> consumer = mockConsumer();
         InOrder inOrder = Mockito.inOrder(consumer);
         
         combinedProperty.onChanged(consumer);
@@ -96,7 +96,7 @@ public class TestGlitchFree {
 
 
         PropertyStream<Integer> combinedTimes2 = combinedProperty.map(value -> value * 2);
-        Consumer<Integer> consumer2 = Mockito.mock(Consumer.class);
+        Consumer<Integer> consumer2 = mockConsumer();
         InOrder inOrder2 = Mockito.inOrder(consumer2);
 
         combine(combinedTimes2, property, (a, b) -> a + b).onChanged(consumer2);
@@ -111,4 +111,29 @@ public class TestGlitchFree {
         
         inOrder2.verify(consumer2).accept(10);
     }
+    
+    @Test
+    public void testNoIntermediateValueThroughPropertyBindings() {
+        Property<Integer> sourceProperty = Property.create(0);
+        Property<Integer> property = Property.create(0);
+        Property<Integer> property2 = Property.create(0);
+        
+        property.bind(sourceProperty);
+        property2.bind(sourceProperty);
+        
+        Consumer<Integer> consumer = mockConsumer();
+        combine(property, property2, (a, b) -> a + b).onChanged(consumer);
+        verify(consumer).accept(0);
+        
+        sourceProperty.setValue(2);
+        
+        // Assert that the combined property only ever sees the fully updated values.
+        verify(consumer).accept(4);
+        verifyNoMoreInteractions(consumer);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Consumer<Integer> mockConsumer() {
+        return Mockito.mock(Consumer.class);
+    }
 }
@@ -655,4 +655,26 @@ public class TestProperty {
         subscription.unsubscribe();
         assertFalse(property.hasObservers());
     }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatch() {
+        Property<Integer> property1 = Property.create(0);
+        Property<Integer> property2 = Property.create(0);
+        PropertyStream<Integer> sum = PropertyStream.combine(property1, property2, (value1, value2) -> value1 + value2);
+        
+        Consumer<Integer> onChanged = mock(Consumer.class);
+        sum.onChanged(onChanged);
+        Mockito.reset(onChanged);
+        
+        Property.batch(() -> {
+            for (int value = 1; value <= 5; value++) {
+                property1.setValue(value);
+                property2.setValue(value);
+            }
+        });
+        
+        verify(onChanged).accept(10);
+        verifyNoMoreInteractions(onChanged);
+    }
 }
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.junit.Before;
@@ -33,6 +34,7 @@ import mb.rxui.disposables.Disposable;
 import mb.rxui.property.PropertyBinding;
 import mb.rxui.property.Property;
 import mb.rxui.property.PropertyObserver;
+import mb.rxui.property.PropertySubscriber;
 
 @RunWith(SwingTestRunner.class)
 public class TestPropertyDispatcher {
@@ -163,4 +165,36 @@ public class TestPropertyDispatcher {
         inOrder.verify(onChanged).accept("tacos");
         inOrder.verify(observer).onChanged("tacos");
     }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSubscribeDuringDispatchNotNotifiedUntilNextDispatch() throws Exception {
+        PropertyObserver<String> observer = Mockito.mock(PropertyObserver.class);
+        dispatcher.subscribe(PropertyObserver.create(value -> dispatcher.subscribe(observer)));
+        
+        dispatcher.dispatch("tacos");
+        verify(observer, Mockito.never()).onChanged("tacos");
+        assertEquals(4, dispatcher.getSubscriberCount());
+        
+        dispatcher.dispatch("burritos");
+        verify(observer).onChanged("burritos");
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnsubscribeDuringDispatch() throws Exception {
+        PropertyObserver<String> observer = Mockito.mock(PropertyObserver.class);
+        
+        AtomicReference<PropertySubscriber<String>> subscriber = new AtomicReference<>();
+        dispatcher.subscribe(PropertyObserver.create(value -> subscriber.get().dispose()));
+        subscriber.set(dispatcher.subscribe(observer));
+        assertEquals(4, dispatcher.getSubscriberCount());
+        
+        dispatcher.dispatch("tacos");
+        assertEquals(3, dispatcher.getSubscriberCount());
+        
+        dispatcher.dispatch("burritos");
+        verify(onChanged).accept("burritos");
+        verify(observer, Mockito.never()).onChanged("burritos");
+    }
 }
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.opertator;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.property.operator.OperatorCachedSwitchMap;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorCachedSwitchMap {
+    
+    private VirtualTimeEventLoop eventLoop;
+    private Property<String> keyProperty;
+    private Map<String, Property<String>> details;
+    private Map<String, Integer> switchCounts;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+        keyProperty = Property.create("tacos");
+        details = new HashMap<>();
+        switchCounts = new HashMap<>();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    private PropertyStream<String> detailOf(String key) {
+        switchCounts.merge(key, 1, Integer::sum);
+        return details.computeIfAbsent(key, k -> Property.create(k + " details"));
+    }
+    
+    @Test
+    public void testSwitchFunctionIsCalledOncePerKey() {
+        List<String> values = new ArrayList<>();
+        PropertyStream<String> detail = keyProperty.switchMap(this::detailOf, 2);
+        
+        detail.onChanged(values::add);
+        keyProperty.setValue("burritos");
+        keyProperty.setValue("tacos");
+        keyProperty.setValue("burritos");
+        
+        assertEquals(Arrays.asList("tacos details", "burritos details", "tacos details", "burritos details"), values);
+        assertEquals(Integer.valueOf(1), switchCounts.get("tacos"));
+        assertEquals(Integer.valueOf(1), switchCounts.get("burritos"));
+        
+        // only the current stream is observed
+        details.get("burritos").setValue("spicy burritos");
+        details.get("tacos").setValue("spicy tacos");
+        assertEquals("spicy burritos", detail.get());
+        assertEquals("spicy burritos", values.get(values.size() - 1));
+        assertFalse(details.get("tacos").hasObservers());
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        List<String> evicted = new ArrayList<>();
+        PropertyStream<String> detail = keyProperty.switchMap(this::detailOf, 2, (key, stream) -> evicted.add(key));
+        
+        detail.onChanged(value -> {});
+        keyProperty.setValue("burritos");
+        keyProperty.setValue("tacos");
+        keyProperty.setValue("nachos");
+        
+        // burritos was used less recently than tacos
+        assertEquals(Arrays.asList("burritos"), evicted);
+        
+        keyProperty.setValue("burritos");
+        assertEquals(Arrays.asList("burritos", "tacos"), evicted);
+        assertEquals(Integer.valueOf(2), switchCounts.get("burritos"));
+    }
+    
+    @Test
+    public void testDisposeOnEvict() {
+        PropertyStream<String> detail = keyProperty.switchMap(this::detailOf, 1, OperatorCachedSwitchMap.disposeOnEvict());
+        
+        List<String> values = new ArrayList<>();
+        detail.onChanged(values::add);
+        
+        keyProperty.setValue("burritos");
+        assertEquals(Arrays.asList("tacos details", "burritos details"), values);
+        
+        // the evicted property was disposed, the current one was not
+        details.get("tacos").setValue("spicy tacos");
+        assertEquals("tacos details", details.get("tacos").get());
+        details.get("burritos").setValue("spicy burritos");
+        assertEquals(Arrays.asList("tacos details", "burritos details", "spicy burritos"), values);
+    }
+    
+    @Test
+    public void testEvictedStreamObserversReadSwitchedStream() {
+        PropertyStream<String> detail = keyProperty.switchMap(this::detailOf, 1, OperatorCachedSwitchMap.disposeOnEvict());
+        detail.onChanged(value -> {});
+        
+        List<String> readValues = new ArrayList<>();
+        details.get("tacos").onDisposed(() -> readValues.add(detail.get()));
+        
+        keyProperty.setValue("burritos");
+        assertEquals(Arrays.asList("burritos details"), readValues);
+        assertEquals(Integer.valueOf(1), switchCounts.get("burritos"));
+        
+        // the cache is still consistent
+        keyProperty.setValue("nachos");
+        assertEquals("nachos details", detail.get());
+        assertEquals(Integer.valueOf(1), switchCounts.get("nachos"));
+    }
+    
+    @Test
+    public void testDisposeSourceEvictsAll() {
+        List<String> evicted = new ArrayList<>();
+        Subscription subscription = keyProperty.switchMap(this::detailOf, 2, (key, stream) -> evicted.add(key))
+                                               .onChanged(value -> {});
+        keyProperty.setValue("burritos");
+        
+        keyProperty.dispose();
+        assertEquals(Arrays.asList("tacos", "burritos"), evicted);
+        assertTrue(subscription.isDisposed());
+        assertFalse(details.get("burritos").hasObservers());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        keyProperty.switchMap(this::detailOf, 0);
+    }
+}
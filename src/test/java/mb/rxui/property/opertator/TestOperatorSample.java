@@ -0,0 +1,96 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.opertator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorSample {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testSample() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        
+        PropertyStream<String> sampled = property.sample(100, MILLISECONDS);
+        sampled.onChanged(values::add);
+        assertEquals(Arrays.asList("tacos"), values);
+        
+        property.setValue("burritos");
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        property.setValue("fajitas");
+        assertEquals(Arrays.asList("tacos"), values);
+        assertEquals("fajitas", sampled.get());
+        
+        eventLoop.advanceTimeBy(50, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos", "fajitas"), values);
+        
+        eventLoop.advanceTimeBy(500, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos", "fajitas"), values);
+    }
+    
+    @Test
+    public void testContinuousChangesAreNotStarved() {
+        Property<Integer> property = Property.create(-1);
+        List<Integer> values = new ArrayList<>();
+        
+        property.throttleLast(100, MILLISECONDS).onChanged(values::add);
+        
+        for (int index = 0; index < 30; index++) {
+            property.setValue(index);
+            eventLoop.advanceTimeBy(10, MILLISECONDS);
+        }
+        
+        assertEquals(Arrays.asList(-1, 9, 19, 29), values);
+    }
+    
+    @Test
+    public void testDispose() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        
+        Subscription subscription = property.sample(100, MILLISECONDS).onChanged(values::add);
+        property.setValue("burritos");
+        subscription.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("tacos"), values);
+        assertFalse(property.hasObservers());
+    }
+}
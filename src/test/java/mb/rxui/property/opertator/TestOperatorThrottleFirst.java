@@ -0,0 +1,88 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.opertator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.subscription.Subscription;
+
+public class TestOperatorThrottleFirst {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testThrottleFirst() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        
+        PropertyStream<String> throttled = property.throttleFirst(100, MILLISECONDS);
+        throttled.onChanged(values::add);
+        assertEquals(Arrays.asList("tacos"), values);
+        
+        property.setValue("burritos");
+        property.setValue("fajitas");
+        assertEquals(Arrays.asList("tacos"), values);
+        assertEquals("fajitas", throttled.get());
+        
+        // the latest value held back is dispatched at the end of the window
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos", "fajitas"), values);
+        
+        property.setValue("nachos");
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos", "fajitas", "nachos"), values);
+        
+        eventLoop.advanceTimeBy(100, MILLISECONDS);
+        property.setValue("quesadillas");
+        assertEquals(Arrays.asList("tacos", "fajitas", "nachos", "quesadillas"), values);
+    }
+    
+    @Test
+    public void testDispose() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        boolean[] isDisposed = new boolean[1];
+        
+        Subscription subscription = property.throttleFirst(100, MILLISECONDS).observe(values::add, () -> isDisposed[0] = true);
+        property.setValue("burritos");
+        property.dispose();
+        eventLoop.advanceTimeBy(1000, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("tacos"), values);
+        assertTrue(isDisposed[0]);
+        assertTrue(subscription.isDisposed());
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+
+public class TestDoubleProperty {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testNaNIsNotDispatchedTwice() {
+        DoubleProperty tacos = DoubleProperty.create(1.0);
+        List<Double> values = new ArrayList<>();
+        
+        tacos.onChanged(values::add);
+        tacos.setValue(Double.NaN);
+        tacos.setValue(Double.NaN);
+        
+        assertEquals(Arrays.asList(1.0, Double.NaN), values);
+    }
+    
+    @Test
+    public void testNegativeZeroIsDispatched() {
+        DoubleProperty tacos = DoubleProperty.create(0.0);
+        List<Double> values = new ArrayList<>();
+        
+        tacos.onChanged(values::add);
+        tacos.setValue(-0.0);
+        
+        assertEquals(Arrays.asList(0.0, -0.0), values);
+    }
+    
+    @Test
+    public void testMapToObj() {
+        DoubleProperty tacos = DoubleProperty.create(1.5);
+        List<String> values = new ArrayList<>();
+        
+        tacos.mapToObj(price -> "$" + price).onChanged(values::add);
+        tacos.setValue(2.5);
+        
+        assertEquals(Arrays.asList("$1.5", "$2.5"), values);
+    }
+    
+    @Test
+    public void testBind() {
+        DoubleProperty tacos = DoubleProperty.create(1.5);
+        DoubleProperty burritos = DoubleProperty.create(10.0);
+        Property<Double> nachos = Property.create(0.5);
+        
+        burritos.bind(tacos);
+        tacos.setValue(2.5);
+        assertEquals(2.5, burritos.getAsDouble(), 0);
+        
+        burritos.bind(nachos);
+        assertEquals(0.5, burritos.getAsDouble(), 0);
+    }
+    
+    @Test
+    public void testCombine() {
+        DoubleProperty price = DoubleProperty.create(2.5);
+        DoubleProperty quantity = DoubleProperty.create(2.0);
+        List<Double> values = new ArrayList<>();
+        int[] disposeCount = new int[1];
+        
+        DoublePropertyStream.combine(price, quantity, (a, b) -> a * b).observe(values::add, () -> disposeCount[0]++);
+        
+        quantity.setValue(4.0);
+        assertEquals(Arrays.asList(5.0, 10.0), values);
+        
+        price.dispose();
+        quantity.dispose();
+        assertEquals(1, disposeCount[0]);
+    }
+    
+    @Test
+    public void testScan() {
+        DoubleProperty tacos = DoubleProperty.create(1.5);
+        List<Double> values = new ArrayList<>();
+        
+        tacos.scan(Double::sum, 0.5).onEvent(values::add);
+        tacos.setValue(2.0);
+        
+        assertEquals(Arrays.asList(0.5, 2.0, 4.0), values);
+    }
+    
+    @Test
+    public void testEventStreamMapAndFilter() {
+        EventSubject<Double> prices = EventSubject.create();
+        List<Double> values = new ArrayList<>();
+        
+        DoubleEventStream.from(prices, Double::doubleValue)
+                         .filter(price -> !Double.isNaN(price))
+                         .map(price -> price * 2)
+                         .onEvent(values::add);
+        
+        prices.publish(1.5);
+        prices.publish(Double.NaN);
+        prices.publish(2.5);
+        assertEquals(Arrays.asList(3.0, 5.0), values);
+    }
+    
+    @Test
+    public void testBoxedRoundTrip() {
+        DoubleProperty tacos = DoubleProperty.create(1.5);
+        
+        PropertyStream<Double> boxed = tacos.boxed();
+        DoublePropertyStream unboxed = DoublePropertyStream.from(boxed, Double::doubleValue);
+        
+        List<Double> values = new ArrayList<>();
+        unboxed.onChanged(values::add);
+        tacos.setValue(2.5);
+        
+        assertEquals(Arrays.asList(1.5, 2.5), values);
+        assertEquals(Double.valueOf(2.5), boxed.get());
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+import mb.rxui.subscription.Subscription;
+
+public class TestIntProperty {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testOnChanged() {
+        IntProperty tacos = IntProperty.create(1);
+        List<Integer> values = new ArrayList<>();
+        
+        Subscription subscription = tacos.onChanged(values::add);
+        assertEquals(Arrays.asList(1), values);
+        
+        tacos.setValue(2);
+        tacos.setValue(2);
+        tacos.setValue(3);
+        assertEquals(Arrays.asList(1, 2, 3), values);
+        assertEquals(3, tacos.getAsInt());
+        
+        subscription.dispose();
+        tacos.setValue(4);
+        assertEquals(Arrays.asList(1, 2, 3), values);
+        
+        tacos.reset();
+        assertEquals(1, tacos.getAsInt());
+    }
+    
+    @Test
+    public void testDispose() {
+        IntProperty tacos = IntProperty.create(1);
+        int[] disposeCount = new int[1];
+        
+        tacos.onDisposed(() -> disposeCount[0]++);
+        assertTrue(tacos.hasObservers());
+        
+        tacos.dispose();
+        assertEquals(1, disposeCount[0]);
+        assertFalse(tacos.hasObservers());
+        
+        // once disposed a property is frozen
+        tacos.setValue(2);
+        assertEquals(1, tacos.getAsInt());
+        
+        // subscribing to a disposed property emits the last value and disposes
+        List<Integer> values = new ArrayList<>();
+        tacos.observe(values::add, () -> disposeCount[0]++);
+        assertEquals(Arrays.asList(1), values);
+        assertEquals(2, disposeCount[0]);
+    }
+    
+    @Test
+    public void testMapAndCombine() {
+        IntProperty tacos = IntProperty.create(1);
+        IntProperty burritos = IntProperty.create(10);
+        List<Integer> values = new ArrayList<>();
+        
+        IntPropertyStream total = IntPropertyStream.combine(tacos.map(count -> count * 2), burritos, Integer::sum);
+        total.onChanged(values::add);
+        assertEquals(12, total.getAsInt());
+        
+        tacos.setValue(2);
+        burritos.setValue(20);
+        assertEquals(Arrays.asList(12, 14, 24), values);
+    }
+    
+    @Test
+    public void testCombineIsGlitchFree() {
+        IntProperty tacos = IntProperty.create(1);
+        IntPropertyStream doubled = tacos.map(count -> count * 2);
+        IntPropertyStream tripled = tacos.map(count -> count * 3);
+        List<Integer> values = new ArrayList<>();
+        
+        IntPropertyStream.combine(doubled, tripled, Integer::sum).onChanged(values::add);
+        
+        tacos.setValue(2);
+        assertEquals(Arrays.asList(5, 10), values);
+    }
+    
+    @Test
+    public void testBatchCoalescesChanges() {
+        IntProperty tacos = IntProperty.create(1);
+        List<Integer> values = new ArrayList<>();
+        
+        tacos.onChanged(values::add);
+        
+        Property.batch(() -> {
+            tacos.setValue(2);
+            tacos.setValue(3);
+            tacos.setValue(4);
+        });
+        
+        assertEquals(Arrays.asList(1, 4), values);
+    }
+    
+    @Test
+    public void testBind() {
+        IntProperty tacos = IntProperty.create(1);
+        IntProperty burritos = IntProperty.create(10);
+        Property<Integer> nachos = Property.create(100);
+        EventSubject<Integer> fajitas = EventSubject.create();
+        
+        burritos.bind(tacos);
+        assertEquals(1, burritos.getAsInt());
+        
+        tacos.setValue(2);
+        assertEquals(2, burritos.getAsInt());
+        
+        burritos.bind(nachos);
+        assertEquals(100, burritos.getAsInt());
+        
+        burritos.bind(IntEventStream.from(fajitas, Integer::intValue));
+        fajitas.publish(1000);
+        assertEquals(1000, burritos.getAsInt());
+    }
+    
+    @Test
+    public void testSetValueFromCallbackIsIgnored() {
+        IntProperty tacos = IntProperty.create(1);
+        IntProperty burritos = IntProperty.create(10);
+        
+        tacos.onChanged(burritos::setValue);
+        assertEquals(1, burritos.getAsInt());
+        
+        // only a binding can set a property while dispatching
+        tacos.setValue(2);
+        assertEquals(1, burritos.getAsInt());
+        
+        burritos.bind(tacos.map(count -> count * 10));
+        tacos.setValue(3);
+        assertEquals(30, burritos.getAsInt());
+    }
+    
+    @Test
+    public void testBoxedInterop() {
+        IntProperty tacos = IntProperty.create(1);
+        List<String> values = new ArrayList<>();
+        
+        PropertyStream<Integer> boxed = tacos.boxed();
+        boxed.map(String::valueOf).onChanged(values::add);
+        
+        tacos.setValue(2);
+        assertEquals(Arrays.asList("1", "2"), values);
+        
+        Property<String> burritos = Property.create("burritos");
+        IntPropertyStream length = IntPropertyStream.from(burritos, String::length);
+        assertEquals(8, length.getAsInt());
+        
+        burritos.setValue("tacos");
+        assertEquals(5, length.getAsInt());
+    }
+    
+    @Test
+    public void testScan() {
+        IntProperty tacos = IntProperty.create(1);
+        List<Integer> values = new ArrayList<>();
+        
+        tacos.scan(Integer::sum, 0).onEvent(values::add);
+        
+        tacos.setValue(2);
+        tacos.setValue(3);
+        assertEquals(Arrays.asList(0, 1, 3, 6), values);
+    }
+    
+    @Test
+    public void testCombineIsDisposedWithBothStreams() {
+        IntProperty tacos = IntProperty.create(1);
+        IntProperty burritos = IntProperty.create(10);
+        int[] disposeCount = new int[1];
+        
+        IntPropertyStream.combine(tacos, burritos, Integer::sum).onDisposed(() -> disposeCount[0]++);
+        
+        tacos.dispose();
+        assertEquals(0, disposeCount[0]);
+        
+        burritos.dispose();
+        assertEquals(1, disposeCount[0]);
+    }
+    
+    @Test
+    public void testEventStreamMapAndFilter() {
+        EventSubject<Integer> orders = EventSubject.create();
+        List<Integer> values = new ArrayList<>();
+        boolean[] isCompleted = new boolean[1];
+        
+        IntEventStream.from(orders, Integer::intValue)
+                      .filter(count -> count % 2 == 0)
+                      .map(count -> count * 10)
+                      .observe(IntEventObserver.create(values::add, () -> isCompleted[0] = true));
+        
+        orders.publish(1);
+        orders.publish(2);
+        orders.publish(3);
+        orders.publish(4);
+        assertEquals(Arrays.asList(20, 40), values);
+        
+        orders.dispose();
+        assertTrue(isCompleted[0]);
+    }
+    
+    @Test
+    public void testEventStreamBoxedRoundTrip() {
+        EventSubject<Integer> orders = EventSubject.create();
+        List<Integer> values = new ArrayList<>();
+        
+        IntEventStream.from(orders, Integer::intValue).boxed().onEvent(values::add);
+        
+        orders.publish(1);
+        orders.publish(1);
+        assertEquals(Arrays.asList(1, 1), values);
+    }
+}
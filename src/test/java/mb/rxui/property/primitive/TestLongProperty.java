@@ -0,0 +1,140 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package mb.rxui.property.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import mb.rxui.VirtualTimeEventLoop;
+import mb.rxui.event.EventSubject;
+import mb.rxui.property.Property;
+import mb.rxui.property.PropertyStream;
+
+public class TestLongProperty {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testOnChanged() {
+        LongProperty tacos = LongProperty.create(1L);
+        List<Long> values = new ArrayList<>();
+        
+        tacos.onChanged(values::add);
+        tacos.setValue(Long.MAX_VALUE);
+        tacos.setValue(Long.MAX_VALUE);
+        tacos.setValue(2L);
+        
+        assertEquals(Arrays.asList(1L, Long.MAX_VALUE, 2L), values);
+        assertEquals(2L, tacos.getAsLong());
+        
+        tacos.reset();
+        assertEquals(1L, tacos.getAsLong());
+    }
+    
+    @Test
+    public void testBind() {
+        LongProperty tacos = LongProperty.create(1L);
+        LongProperty burritos = LongProperty.create(10L);
+        Property<Long> nachos = Property.create(100L);
+        EventSubject<Long> fajitas = EventSubject.create();
+        
+        burritos.bind(tacos.map(count -> count * 2));
+        tacos.setValue(2L);
+        assertEquals(4L, burritos.getAsLong());
+        
+        burritos.bind(nachos);
+        assertEquals(100L, burritos.getAsLong());
+        
+        burritos.bind(LongEventStream.from(fajitas, Long::longValue));
+        fajitas.publish(1000L);
+        assertEquals(1000L, burritos.getAsLong());
+    }
+    
+    @Test
+    public void testCombine() {
+        LongProperty tacos = LongProperty.create(1L);
+        LongProperty burritos = LongProperty.create(10L);
+        List<Long> values = new ArrayList<>();
+        int[] disposeCount = new int[1];
+        
+        LongPropertyStream.combine(tacos, burritos, Math::max).observe(values::add, () -> disposeCount[0]++);
+        
+        tacos.setValue(20L);
+        burritos.setValue(5L);
+        assertEquals(Arrays.asList(10L, 20L), values);
+        
+        tacos.dispose();
+        assertEquals(0, disposeCount[0]);
+        burritos.dispose();
+        assertEquals(1, disposeCount[0]);
+    }
+    
+    @Test
+    public void testScan() {
+        LongProperty tacos = LongProperty.create(1L);
+        List<Long> values = new ArrayList<>();
+        
+        tacos.scan(Long::sum, 0L).onEvent(values::add);
+        tacos.setValue(2L);
+        
+        assertEquals(Arrays.asList(0L, 1L, 3L), values);
+    }
+    
+    @Test
+    public void testEventStreamMapAndFilter() {
+        EventSubject<Long> orders = EventSubject.create();
+        List<Long> values = new ArrayList<>();
+        
+        LongEventStream.from(orders, Long::longValue)
+                       .map(count -> count * 10)
+                       .filter(count -> count > 15)
+                       .onEvent(values::add);
+        
+        orders.publish(1L);
+        orders.publish(2L);
+        assertEquals(Arrays.asList(20L), values);
+    }
+    
+    @Test
+    public void testBoxedRoundTrip() {
+        LongProperty tacos = LongProperty.create(1L);
+        
+        PropertyStream<Long> boxed = tacos.boxed();
+        LongPropertyStream unboxed = LongPropertyStream.from(boxed, Long::longValue);
+        
+        List<Long> values = new ArrayList<>();
+        unboxed.onChanged(values::add);
+        tacos.setValue(2L);
+        
+        assertEquals(Arrays.asList(1L, 2L), values);
+        assertEquals(Long.valueOf(2L), boxed.get());
+    }
+}
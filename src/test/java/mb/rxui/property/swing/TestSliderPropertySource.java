@@ -13,10 +13,12 @@
  */
 package mb.rxui.property.swing;
 
+import static mb.rxui.property.swing.SliderIntPropertySource.createSliderIntProperty;
 import static mb.rxui.property.swing.SliderPropertySource.createSliderProperty;
 import static org.junit.Assert.assertEquals;
 
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import javax.swing.JSlider;
 
@@ -27,6 +29,7 @@ import org.mockito.Mockito;
 
 import mb.rxui.SwingTestRunner;
 import mb.rxui.property.Property;
+import mb.rxui.property.primitive.IntProperty;
 
 @RunWith(SwingTestRunner.class)
 public class TestSliderPropertySource {
@@ -73,4 +76,25 @@ public class TestSliderPropertySource {
 
         Assert.assertEquals(25, slider.getValue());
     }
+    
+    @Test
+    public void testSliderIntPropertySource() throws Exception {
+        JSlider slider = new JSlider();
+        int listenerCount = slider.getChangeListeners().length;
+        IntProperty valueProperty = createSliderIntProperty(slider);
+
+        IntConsumer onChanged = Mockito.mock(IntConsumer.class);
+        valueProperty.onChanged(onChanged);
+        Mockito.verify(onChanged).accept(50);
+
+        slider.setValue(75);
+        Mockito.verify(onChanged).accept(75);
+        assertEquals(75, valueProperty.getAsInt());
+        
+        valueProperty.setValue(25);
+        assertEquals(25, slider.getValue());
+        
+        valueProperty.dispose();
+        assertEquals(listenerCount, slider.getChangeListeners().length);
+    }
 }
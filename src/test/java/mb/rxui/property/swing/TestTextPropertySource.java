@@ -103,4 +103,31 @@ public class TestTextPropertySource {
             Mockito.verify(onChanged).accept("acos");
         });
     }
+    
+    @Test
+    public void testFrameAlignedBinding() throws Exception {
+        JTextField textField = new JTextField();
+        
+        testHelper.runTest(() -> {
+            SwingPropertySource.setFrameAligned(true);
+            
+            Property<String> model = Property.create("");
+            Property<String> textProperty = TextPropertySource.createTextProperty(textField);
+            textProperty.bind(model);
+            
+            model.setValue("tacos");
+            model.setValue("burritos");
+            
+            assertEquals("", textField.getText());
+            assertEquals("burritos", textProperty.get());
+        });
+        
+        testHelper.runTest(() -> {
+            try {
+                assertEquals("burritos", textField.getText());
+            } finally {
+                SwingPropertySource.setFrameAligned(false);
+            }
+        });
+    }
 }